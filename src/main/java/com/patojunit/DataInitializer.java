@@ -4,69 +4,101 @@ import com.patojunit.model.Role;
 import com.patojunit.model.UserSec;
 import com.patojunit.repository.IRoleRepository;
 import com.patojunit.repository.IUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
 import java.util.Set;
 
+/**
+ * Roles ADMIN y USER y los usuarios iniciales, si no existen. Los dos hashes BCrypt son lo más
+ * caro del arranque; con {@code datos-iniciales.en-segundo-plano=true} (perfil {@code rapido})
+ * el alta corre en un hilo propio y la aplicación queda lista sin esperarla.
+ */
+@Slf4j
 @Component
 @Profile("!test")
-@Transactional
 public class DataInitializer implements CommandLineRunner {
 
     private final IUserRepository userRepository;
     private final IRoleRepository roleRepository;
+    private final PasswordEncoder encoder;
+    private final TransactionTemplate transaccion;
+    private final boolean enSegundoPlano;
 
-    public DataInitializer(IUserRepository userRepository, IRoleRepository roleRepository) {
+    public DataInitializer(IUserRepository userRepository, IRoleRepository roleRepository, PasswordEncoder encoder,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${datos-iniciales.en-segundo-plano:false}") boolean enSegundoPlano) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
+        this.encoder = encoder;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.enSegundoPlano = enSegundoPlano;
     }
 
     @Override
     public void run(String... args) {
+        if (!enSegundoPlano) {
+            sembrar();
+            return;
+        }
+        Thread hilo = new Thread(() -> {
+            try {
+                sembrar();
+            } catch (RuntimeException e) {
+                log.error("[DataInitializer] No se pudieron crear los datos iniciales", e);
+            }
+        }, "datos-iniciales");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
 
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    void sembrar() {
+        transaccion.executeWithoutResult(estado -> {
 
-        Role adminRole = roleRepository.findByName("ADMIN")
-                .orElseGet(() -> {
-                    Role role = new Role();
-                    role.setName("ADMIN");
-                    return roleRepository.save(role);
-                });
+            Role adminRole = roleRepository.findByName("ADMIN")
+                    .orElseGet(() -> {
+                        Role role = new Role();
+                        role.setName("ADMIN");
+                        return roleRepository.save(role);
+                    });
 
-        Role userRole = roleRepository.findByName("USER")
-                .orElseGet(() -> {
-                    Role role = new Role();
-                    role.setName("USER");
-                    return roleRepository.save(role);
-                });
+            Role userRole = roleRepository.findByName("USER")
+                    .orElseGet(() -> {
+                        Role role = new Role();
+                        role.setName("USER");
+                        return roleRepository.save(role);
+                    });
 
-        userRepository.findByUsername("admin").orElseGet(() -> {
-            UserSec admin = new UserSec();
-            admin.setUsername("admin");
-            admin.setPassword(encoder.encode("admin_1234"));
-            admin.setEnabled(true);
-            admin.setAccountNotExpired(true);
-            admin.setCredentialNotExpired(true);
-            admin.setAccountNotLocked(true);
-            admin.setRolesList(Set.of(adminRole, userRole));
-            return userRepository.save(admin);
-        });
+            userRepository.findByUsername("admin").orElseGet(() -> {
+                UserSec admin = new UserSec();
+                admin.setUsername("admin");
+                admin.setPassword(encoder.encode("admin_1234"));
+                admin.setEnabled(true);
+                admin.setAccountNotExpired(true);
+                admin.setCredentialNotExpired(true);
+                admin.setAccountNotLocked(true);
+                admin.setRolesList(Set.of(adminRole, userRole));
+                return userRepository.save(admin);
+            });
 
-        userRepository.findByUsername("user").orElseGet(() -> {
-            UserSec user = new UserSec();
-            user.setUsername("user");
-            user.setPassword(encoder.encode("user_123"));
-            user.setEnabled(true);
-            user.setAccountNotExpired(true);
-            user.setCredentialNotExpired(true);
-            user.setAccountNotLocked(true);
-            user.setRolesList(Collections.singleton(userRole));
-            return userRepository.save(user);
+            userRepository.findByUsername("user").orElseGet(() -> {
+                UserSec user = new UserSec();
+                user.setUsername("user");
+                user.setPassword(encoder.encode("user_123"));
+                user.setEnabled(true);
+                user.setAccountNotExpired(true);
+                user.setCredentialNotExpired(true);
+                user.setAccountNotLocked(true);
+                user.setRolesList(Collections.singleton(userRole));
+                return userRepository.save(user);
+            });
         });
     }
 }
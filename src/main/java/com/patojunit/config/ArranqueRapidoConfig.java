@@ -0,0 +1,32 @@
+package com.patojunit.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+/**
+ * Beans que se crean al arrancar aunque {@code spring.main.lazy-initialization} esté activo
+ * (perfil {@code rapido}). Migrar y validar el esquema, levantar Hibernate y armar la cadena de
+ * seguridad lleva casi todo el arranque: diferido, lo pagaría el primer request y además un
+ * esquema inválido se descubriría recién ahí. El resto (servicios, controladores, caches) se
+ * crea en su primer uso. Sin lazy-initialization el filtro no tiene efecto.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ArranqueRapidoConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter beansCriticosDeArranque() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                Flyway.class,
+                FlywayMigrationInitializer.class,
+                EntityManagerFactory.class,
+                SecurityFilterChain.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.patojunit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dimensiona el pool de Hikari según los núcleos disponibles, en lugar del tamaño fijo de 10
+ * que trae por defecto. Se usa la fórmula de HikariCP ({@code núcleos * 2 + discos}) acotada
+ * por la concurrencia esperada: más conexiones que hilos que las pidan solo ocupan la base.
+ *
+ * Si {@code datasource.pool.tamanio-maximo} es mayor a 0, ese valor manda. El pool queda de
+ * tamaño fijo (mínimo ocioso = máximo) para no abrir conexiones en medio de un pico.
+ *
+ * Lo que se configure en {@code spring.datasource.hikari.maximum-pool-size} o
+ * {@code minimum-idle} tiene prioridad y no se pisa. Configurar a la vez
+ * {@code maximum-pool-size} y {@code datasource.pool.tamanio-maximo} corta el arranque: no hay
+ * forma de saber cuál de los dos se quiso.
+ */
+@Slf4j
+@Component
+public class DataSourcePoolConfig implements BeanPostProcessor {
+
+    private final int tamanioMaximo;
+    private final int conexionesPorNucleo;
+    private final int discos;
+    private final int concurrenciaEsperada;
+    private final int nucleos;
+    private final boolean maximoDeHikari;
+    private final boolean minimoDeHikari;
+
+    @Autowired
+    public DataSourcePoolConfig(Environment environment,
+                                @Value("${datasource.pool.tamanio-maximo:0}") int tamanioMaximo,
+                                @Value("${datasource.pool.conexiones-por-nucleo:2}") int conexionesPorNucleo,
+                                @Value("${datasource.pool.discos:1}") int discos,
+                                @Value("${datasource.pool.concurrencia-esperada:50}") int concurrenciaEsperada) {
+        this(tamanioMaximo, conexionesPorNucleo, discos, concurrenciaEsperada,
+                Runtime.getRuntime().availableProcessors(),
+                configurado(environment, "spring.datasource.hikari.maximum-pool-size"),
+                configurado(environment, "spring.datasource.hikari.minimum-idle"));
+    }
+
+    DataSourcePoolConfig(int tamanioMaximo, int conexionesPorNucleo, int discos,
+                         int concurrenciaEsperada, int nucleos) {
+        this(tamanioMaximo, conexionesPorNucleo, discos, concurrenciaEsperada, nucleos, false, false);
+    }
+
+    DataSourcePoolConfig(int tamanioMaximo, int conexionesPorNucleo, int discos,
+                         int concurrenciaEsperada, int nucleos,
+                         boolean maximoDeHikari, boolean minimoDeHikari) {
+        if (maximoDeHikari && tamanioMaximo > 0) {
+            throw new IllegalStateException("Configurar solo uno de spring.datasource.hikari.maximum-pool-size "
+                    + "y datasource.pool.tamanio-maximo");
+        }
+        this.maximoDeHikari = maximoDeHikari;
+        this.minimoDeHikari = minimoDeHikari;
+        this.tamanioMaximo = tamanioMaximo;
+        this.conexionesPorNucleo = conexionesPorNucleo;
+        this.discos = discos;
+        this.concurrenciaEsperada = concurrenciaEsperada;
+        this.nucleos = nucleos;
+    }
+
+    int calcularTamanio() {
+        if (tamanioMaximo > 0) {
+            return tamanioMaximo;
+        }
+        int porNucleos = nucleos * conexionesPorNucleo + discos;
+        return Math.max(2, Math.min(porNucleos, concurrenciaEsperada));
+    }
+
+    /**
+     * Corre después del binding de {@code spring.datasource.hikari.*} y antes de que el pool
+     * abra su primera conexión, que es cuando Hikari deja de aceptar cambios de configuración.
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+            if (maximoDeHikari) {
+                log.info("[DataSource] Pool '{}' con el máximo de spring.datasource.hikari: {} conexiones.",
+                        hikari.getPoolName(), hikari.getMaximumPoolSize());
+            } else {
+                int tamanio = calcularTamanio();
+                hikari.setMaximumPoolSize(tamanio);
+                log.info("[DataSource] Pool '{}' dimensionado en {} conexiones ({} núcleos, concurrencia esperada {}).",
+                        hikari.getPoolName(), tamanio, nucleos, concurrenciaEsperada);
+            }
+            if (!minimoDeHikari) {
+                hikari.setMinimumIdle(hikari.getMaximumPoolSize());
+            }
+        }
+        return bean;
+    }
+
+    /** Con el Binder, para reconocer también {@code maximumPoolSize} o {@code SPRING_DATASOURCE_HIKARI_...}. */
+    private static boolean configurado(Environment environment, String propiedad) {
+        return Binder.get(environment).bind(propiedad, Integer.class).isBound();
+    }
+}
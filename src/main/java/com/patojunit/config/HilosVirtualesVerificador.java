@@ -0,0 +1,39 @@
+package com.patojunit.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Informa al arrancar con qué hilos se atienden los requests y las tareas programadas.
+ * El perfil {@code virtual} solo tiene efecto en Java 21+; en una JVM anterior Spring Boot
+ * ignora la propiedad sin avisar, y acá se deja constancia con un warning.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HilosVirtualesVerificador implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String PROPIEDAD = "spring.threads.virtual.enabled";
+
+    private final Environment environment;
+
+    public boolean usaHilosVirtuales() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        int version = Runtime.version().feature();
+        if (usaHilosVirtuales()) {
+            log.info("[Hilos] Requests y tareas programadas sobre hilos virtuales (Java {}).", version);
+        } else if (environment.getProperty(PROPIEDAD, Boolean.class, false)) {
+            log.warn("[Hilos] {}=true requiere Java 21 o superior; la JVM es Java {} y se usan hilos de plataforma.",
+                    PROPIEDAD, version);
+        }
+    }
+}
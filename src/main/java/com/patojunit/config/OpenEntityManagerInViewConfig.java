@@ -0,0 +1,34 @@
+package com.patojunit.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view para toda la API salvo /auth/**, en reemplazo del de Spring Boot
+ * (spring.jpa.open-in-view=false). Con open-in-view el request retiene su conexión JDBC desde
+ * la primera consulta hasta escribir la respuesta; en el login eso incluye el hash BCrypt, y una
+ * ráfaga de logins dejaba el pool de conexiones sin lugar para el resto del tráfico.
+ * El login no lo necesita: el usuario se carga con sus roles y permisos en una sola consulta.
+ *
+ * Sin JPA en el contexto (tests {@code @WebMvcTest}) no se registra nada.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        entityManagerFactory.ifAvailable(emf -> {
+            OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+            interceptor.setEntityManagerFactory(emf);
+            registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/auth/**");
+        });
+    }
+}
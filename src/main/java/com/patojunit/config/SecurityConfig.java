@@ -1,14 +1,22 @@
 package com.patojunit.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.patojunit.config.filter.JwtTokenValidator;
+import com.patojunit.exception.LoginSaturadoException;
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.security.JwtAuthenticationCache;
+import com.patojunit.helpers.security.LoginHashExecutor;
+import com.patojunit.helpers.security.PasswordEncoderAcotado;
 import com.patojunit.utils.JwtUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,9 +25,14 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 
 @Configuration
 @EnableWebSecurity
@@ -29,6 +42,8 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 public class SecurityConfig {
 
     private final JwtUtils jwtUtils;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+    private final MetricasService metricas;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
@@ -36,12 +51,14 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .httpBasic(Customizer.withDefaults())
+                .httpBasic(basic -> basic.authenticationEntryPoint(entryPointBasic()))
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(new JwtTokenValidator(jwtUtils), BasicAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenValidator(jwtUtils, jwtAuthenticationCache, metricas), BasicAuthenticationFilter.class)
                 .build();
     }
 
@@ -49,10 +66,15 @@ public class SecurityConfig {
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
+    /**
+     * Proveedor de HTTP Basic. BCrypt corre en el pool de login, como en /auth/login, así que
+     * una ráfaga de requests con Basic recibe 429 en lugar de ocupar los hilos de Tomcat.
+     */
     @Bean
-    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService){
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         LoginHashExecutor loginHashExecutor){
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(new PasswordEncoderAcotado(passwordEncoder(), loginHashExecutor));
         provider.setUserDetailsService(userDetailsService);
 
 
@@ -64,5 +86,23 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    /** 401 con el desafío Basic de siempre; 429 con Retry-After si el pool de login está saturado. */
+    private static AuthenticationEntryPoint entryPointBasic() {
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("Realm");
+        ObjectMapper objectMapper = new ObjectMapper();
+        return (request, response, ex) -> {
+            if (!(ex instanceof LoginSaturadoException)) {
+                basic.commence(request, response, ex);
+                return;
+            }
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", ex.getMessage()));
+        };
+    }
+
 
 }
\ No newline at end of file
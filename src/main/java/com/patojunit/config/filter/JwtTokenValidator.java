@@ -1,15 +1,18 @@
 package com.patojunit.config.filter;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
+import com.patojunit.helpers.logger.CamposLog;
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.security.JwtAuthenticationCache;
 import com.patojunit.utils.JwtUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.MDC;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,10 +22,16 @@ import java.io.IOException;
 public class JwtTokenValidator extends OncePerRequestFilter {
 
 
+    private static final String METRICA = "seguridad.jwt.filtro";
+
     private JwtUtils jwtUtils;
+    private JwtAuthenticationCache authenticationCache;
+    private MetricasService metricas;
 
-    public JwtTokenValidator(JwtUtils jwtUtils) {
+    public JwtTokenValidator(JwtUtils jwtUtils, JwtAuthenticationCache authenticationCache, MetricasService metricas) {
         this.jwtUtils = jwtUtils;
+        this.authenticationCache = authenticationCache;
+        this.metricas = metricas;
     }
 
     @Override
@@ -36,20 +45,30 @@ public class JwtTokenValidator extends OncePerRequestFilter {
         if (jwtToken != null && jwtToken.startsWith("Bearer ")) {
             jwtToken = jwtToken.substring(7);
 
-            DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
-            String username = jwtUtils.extractUsername(decodedJWT);
-
-            String authorities = jwtUtils.getSpecificClaim(decodedJWT, "authorities").asString();
-            var authoritiesList = AuthorityUtils.commaSeparatedStringToAuthorityList(authorities);
-
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, authoritiesList);
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Solo se mide la validación del token, no el resto de la cadena de filtros
+            Timer.Sample muestra = metricas.iniciar();
+            String resultado = MetricasService.ERROR;
+            try {
+                JwtAuthenticationCache.Entrada entrada =
+                        authenticationCache.obtener(jwtToken, jwtUtils::validateToken);
+
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(entrada.principal(), null, entrada.authorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                MDC.put(CamposLog.USER, entrada.username());
+                resultado = MetricasService.EXITO;
+            } finally {
+                metricas.registrar(muestra, METRICA, "validarToken", resultado, metricas.rolActual());
+            }
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(CamposLog.USER);
+        }
     }
 
 
@@ -36,6 +36,12 @@ public class ProductoController {
         return productoService.get(id);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/codigo/{codigo}")
+    public ProductoUserGetDTO getProductoPorCodigo(@PathVariable String codigo){
+        return productoService.getPorCodigo(codigo);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/crear")
     public ProductoUserGetDTO crearProducto(@Valid @RequestBody ProductoCrearEditarDTO producto){
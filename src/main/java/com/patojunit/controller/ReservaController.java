@@ -1,13 +1,21 @@
 package com.patojunit.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.dto.request.ReservaFiltroDTO;
+import com.patojunit.dto.response.ReservaLoteResultadoDTO;
+import com.patojunit.dto.response.ReservaPaginaDTO;
 import com.patojunit.dto.response.ReservaUserGetDTO;
 import com.patojunit.service.interfaces.IReservaService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -16,6 +24,7 @@ import java.util.List;
 public class ReservaController {
 
     private final IReservaService reservaService;
+    private final ObjectMapper objectMapper;
 
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/eliminar/{id}")
@@ -26,8 +35,26 @@ public class ReservaController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/get")
-    public List<ReservaUserGetDTO> getAllReservas(){
-        return reservaService.getAll();
+    public ReservaPaginaDTO getAllReservas(@Valid ReservaFiltroDTO filtro){
+        return reservaService.buscar(filtro);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/exportar", produces = "application/x-ndjson")
+    public void exportarReservas(@Valid ReservaFiltroDTO filtro, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter writer = response.getWriter();
+
+        reservaService.exportar(filtro, dto -> {
+            try {
+                writer.write(objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -36,12 +63,24 @@ public class ReservaController {
         return reservaService.get(id);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/codigo/{codigo}")
+    public ReservaUserGetDTO getReservaPorCodigo(@PathVariable String codigo){
+        return reservaService.getPorCodigo(codigo);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @PostMapping("/crear")
     public ReservaUserGetDTO crearReserva(@Valid @RequestBody ReservaCrearEditarDTO reserva){
         return reservaService.crear(reserva);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @PostMapping("/crear-lote")
+    public ReservaLoteResultadoDTO crearReservasEnLote(@RequestBody List<ReservaCrearEditarDTO> reservas){
+        return reservaService.crearLote(reservas);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/editar/{id}")
     public ReservaUserGetDTO editarReserva(@PathVariable Long id, @Valid @RequestBody ReservaCrearEditarDTO reserva){
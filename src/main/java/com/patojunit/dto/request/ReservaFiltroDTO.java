@@ -0,0 +1,63 @@
+package com.patojunit.dto.request;
+
+import com.patojunit.model.enums.EstadoReserva;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros y cursor para el listado paginado de reservas.
+ * La paginación es por keyset: se envía el último id (y fechaInicio, si se ordena por fecha)
+ * recibido en la página anterior.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservaFiltroDTO {
+
+    private EstadoReserva estado;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime desde;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime hasta;
+
+    private Boolean pagado;
+
+    private String username;
+
+    @Pattern(regexp = "id|fechaInicio", message = "Solo se puede ordenar por id o fechaInicio")
+    private String ordenarPor = "id";
+
+    private Long cursorId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime cursorFecha;
+
+    @Min(value = 1, message = "El límite debe ser al menos 1")
+    @Max(value = 500, message = "El límite no puede superar 500")
+    private Integer limite = 50;
+
+    public boolean ordenarPorFecha() {
+        return "fechaInicio".equals(ordenarPor);
+    }
+
+    /**
+     * Ordenando por fecha el cursor son los dos valores: solo con el id, la consulta lo
+     * ignoraría y devolvería otra vez la primera página.
+     */
+    @AssertTrue(message = "Al ordenar por fechaInicio, cursorId y cursorFecha se envían juntos")
+    public boolean isCursorCompleto() {
+        return !ordenarPorFecha() || (cursorId == null) == (cursorFecha == null);
+    }
+}
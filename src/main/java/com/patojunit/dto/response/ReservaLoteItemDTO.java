@@ -0,0 +1,22 @@
+package com.patojunit.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservaLoteItemDTO {
+
+    /** Posición del ítem en la lista recibida. */
+    private int indice;
+
+    private boolean creada;
+
+    private ReservaUserGetDTO reserva;
+
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.patojunit.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservaLoteResultadoDTO {
+
+    private int creadas;
+
+    private int rechazadas;
+
+    private List<ReservaLoteItemDTO> resultados = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.patojunit.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservaPaginaDTO {
+
+    private List<ReservaUserGetDTO> contenido = new ArrayList<>();
+
+    private boolean hayMas;
+
+    private Long siguienteCursorId;
+
+    private LocalDateTime siguienteCursorFecha;
+}
@@ -0,0 +1,18 @@
+package com.patojunit.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * El pool de verificación de contraseñas está lleno. Se responde 429 para que el cliente
+ * reintente más tarde en lugar de quedar esperando un hilo.
+ *
+ * Es una {@link AuthenticationException} para que, con HTTP Basic, el filtro de Spring Security
+ * la entregue al entry point (ver {@link com.patojunit.config.SecurityConfig}) en lugar de
+ * terminar como error 500.
+ */
+public class LoginSaturadoException extends AuthenticationException {
+
+    public LoginSaturadoException() {
+        super("Demasiados inicios de sesión en curso. Intentá nuevamente en unos segundos.");
+    }
+}
@@ -24,9 +24,9 @@ public class ProductoFactory {
         return producto;
     }
 
+    /** El código se asigna en el alta y no cambia: es la referencia externa del producto. */
     public void actualizarProductoDesdeDTO(Producto producto, ProductoCrearEditarDTO dto) {
         mapper.actualizarEntidadDesdeDTO(producto, dto);
-        producto.setCodigoProducto(codigoService.generarCodigoProducto(dto.getNombre()));
         producto.setFechaUltimaActualizacion(LocalDateTime.now());
     }
 }
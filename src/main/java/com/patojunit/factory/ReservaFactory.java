@@ -5,15 +5,19 @@ import com.patojunit.dto.request.ProductoCantidadCrearEditarDTO;
 import com.patojunit.helpers.reserva.ReservaCodigoService;
 import com.patojunit.helpers.reserva.ReservaMapper;
 import com.patojunit.validation.ReservaValidator;
+import com.patojunit.model.Producto;
 import com.patojunit.model.ProductoCantidad;
 import com.patojunit.model.Reserva;
 import com.patojunit.model.UserSec;
 import com.patojunit.model.enums.EstadoReserva;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
@@ -24,24 +28,43 @@ public class ReservaFactory {
     private final ReservaValidator validator;
 
     public Reserva crearReserva(ReservaCrearEditarDTO dto, UserSec usuario) {
+        Reserva reserva = crearReservaBase(dto, usuario);
+        reserva.setProductos(mapearProductos(dto.getProductos(), p -> mapper.toProductoCantidad(p, reserva)));
+        return reserva;
+    }
+
+    /**
+     * Igual que {@link #crearReserva(ReservaCrearEditarDTO, UserSec)}, pero con los productos ya
+     * cargados: no consulta la base por cada línea.
+     */
+    public Reserva crearReserva(ReservaCrearEditarDTO dto, UserSec usuario, Map<Long, Producto> productos) {
+        Reserva reserva = crearReservaBase(dto, usuario);
+        reserva.setProductos(mapearProductos(dto.getProductos(), p -> {
+            Producto producto = productos.get(p.getIdProducto());
+            if (producto == null) {
+                throw new EntityNotFoundException("No existe producto con ID " + p.getIdProducto());
+            }
+            return mapper.toProductoCantidad(p, reserva, producto);
+        }));
+        return reserva;
+    }
+
+    private Reserva crearReservaBase(ReservaCrearEditarDTO dto, UserSec usuario) {
         Reserva reserva = mapper.toEntity(dto);
         reserva.setUsuario(usuario);
         reserva.setEstado(EstadoReserva.PENDIENTE);
         reserva.setFechaInicio(dto.getFechaInicio());
-        reserva.setCodigoReserva(codigoService.generarCodigoReserva(usuario.getId()));
-
-        List<ProductoCantidad> productos = mapearProductos(dto.getProductos(), reserva);
-        reserva.setProductos(productos);
-
+        reserva.setCodigoReserva(codigoService.generarCodigoReserva());
         return reserva;
     }
 
-    private List<ProductoCantidad> mapearProductos(List<ProductoCantidadCrearEditarDTO> productosDTO, Reserva reserva) {
+    private List<ProductoCantidad> mapearProductos(List<ProductoCantidadCrearEditarDTO> productosDTO,
+                                                   Function<ProductoCantidadCrearEditarDTO, ProductoCantidad> mapeo) {
         List<ProductoCantidad> lista = new ArrayList<>();
 
         for (ProductoCantidadCrearEditarDTO dto : productosDTO) {
             validator.validarProductoYaReservado(dto, lista);
-            lista.add(mapper.toProductoCantidad(dto, reserva));
+            lista.add(mapeo.apply(dto));
         }
 
         return lista;
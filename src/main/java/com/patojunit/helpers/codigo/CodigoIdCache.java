@@ -0,0 +1,135 @@
+package com.patojunit.helpers.codigo;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Traducción de código de negocio ({@code RES-…}, {@code PROD-…}) a id, para que las búsquedas
+ * por código terminen en una lectura por clave primaria o en el cache del catálogo.
+ *
+ * Un código no cambia ni se reasigna a otra fila (los ids salen de secuencias), así que las
+ * entradas no vencen: si la fila se borró, la búsqueda por id falla y el llamador la descarta.
+ * Al superar el máximo se expulsa el código consultado hace más tiempo. Las ausencias no se
+ * guardan.
+ *
+ * Reservas y productos comparten la instancia, así que las métricas llevan el prefijo del código
+ * ({@code prefijo=RES|PROD}); cualquier otro código, que puede venir de la URL, cuenta como
+ * {@code otro} para no abrir una serie por valor.
+ */
+@Component
+public class CodigoIdCache {
+
+    private static final class Entrada {
+        private final Long id;
+        private volatile long ultimoAcceso;
+
+        private Entrada(Long id, long acceso) {
+            this.id = id;
+            this.ultimoAcceso = acceso;
+        }
+    }
+
+    private record Contadores(String prefijo, String inicio, LongAdder aciertos, LongAdder fallos) {
+
+        private Contadores(String prefijo) {
+            this(prefijo, prefijo + "-", new LongAdder(), new LongAdder());
+        }
+    }
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    /** Reloj lógico para el orden de uso; evita leer la hora en cada acierto. */
+    private final AtomicLong accesos = new AtomicLong();
+    private final List<Contadores> contadoresPorPrefijo = List.of(new Contadores("RES"), new Contadores("PROD"));
+    private final Contadores contadoresOtros = new Contadores("otro");
+
+    private final int maxEntradas;
+
+    public CodigoIdCache(MeterRegistry registry,
+                         @Value("${codigos.cache.max-entries:1000}") int maxEntradas) {
+        this.maxEntradas = maxEntradas;
+        contadoresPorPrefijo.forEach(c -> registrar(registry, c));
+        registrar(registry, contadoresOtros);
+        Gauge.builder("codigos.cache.tamanio", entradas, Map::size)
+                .description("Códigos de reserva y producto con su id en el cache")
+                .register(registry);
+    }
+
+    public Optional<Long> obtenerId(String codigo, Function<String, Optional<Long>> cargar) {
+        Contadores contadores = contadores(codigo);
+        Entrada entrada = entradas.get(codigo);
+        if (entrada != null) {
+            entrada.ultimoAcceso = accesos.incrementAndGet();
+            contadores.aciertos().increment();
+            return Optional.of(entrada.id);
+        }
+
+        contadores.fallos().increment();
+        Optional<Long> id = cargar.apply(codigo);
+        id.ifPresent(valor -> guardar(codigo, new Entrada(valor, accesos.incrementAndGet())));
+        return id;
+    }
+
+    public void descartar(String codigo) {
+        entradas.remove(codigo);
+    }
+
+    public long getAciertos() {
+        return contadoresPorPrefijo.stream().mapToLong(c -> c.aciertos().sum()).sum()
+                + contadoresOtros.aciertos().sum();
+    }
+
+    public long getFallos() {
+        return contadoresPorPrefijo.stream().mapToLong(c -> c.fallos().sum()).sum()
+                + contadoresOtros.fallos().sum();
+    }
+
+    public int getTamanio() {
+        return entradas.size();
+    }
+
+    private Contadores contadores(String codigo) {
+        for (Contadores contadores : contadoresPorPrefijo) {
+            if (codigo.startsWith(contadores.inicio())) {
+                return contadores;
+            }
+        }
+        return contadoresOtros;
+    }
+
+    private static void registrar(MeterRegistry registry, Contadores contadores) {
+        FunctionCounter.builder("codigos.cache.consultas", contadores.aciertos(), LongAdder::sum)
+                .description("Códigos resueltos a id desde el cache")
+                .tags("prefijo", contadores.prefijo(), "resultado", "acierto")
+                .register(registry);
+        FunctionCounter.builder("codigos.cache.consultas", contadores.fallos(), LongAdder::sum)
+                .description("Códigos que no estaban en cache y se buscaron en la base")
+                .tags("prefijo", contadores.prefijo(), "resultado", "fallo")
+                .register(registry);
+    }
+
+    private void guardar(String codigo, Entrada entrada) {
+        if (entradas.size() >= maxEntradas && !entradas.containsKey(codigo)) {
+            expulsarMenosUsada();
+        }
+        entradas.put(codigo, entrada);
+    }
+
+    /** O(n), pero solo al insertar con el cache lleno; las lecturas no reordenan nada. */
+    private void expulsarMenosUsada() {
+        entradas.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().ultimoAcceso))
+                .ifPresent(e -> entradas.remove(e.getKey(), e.getValue()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.patojunit.helpers.codigo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identificadores de 64 bits al estilo Snowflake, ordenados por tiempo y únicos por nodo sin
+ * consultar la base ni la fuente de entropía:
+ *
+ * <pre>
+ *   41 bits  milisegundos desde 2024-01-01 (alcanza hasta ~2093)
+ *   10 bits  nodo ({@code codigos.nodo}, 0..1023; distinto en cada instancia)
+ *   12 bits  secuencia dentro del milisegundo
+ * </pre>
+ *
+ * El par (milisegundo, secuencia) vive en un solo {@link AtomicLong} y avanza con CAS, sin locks.
+ * Si en un milisegundo se agotan las 4096 secuencias, el incremento pasa al milisegundo siguiente
+ * en lugar de esperar; lo mismo si el reloj retrocede: el generador nunca vuelve atrás.
+ *
+ * {@link #siguienteCodigo()} lo codifica en base 32 de Crockford con ancho fijo de 13 caracteres,
+ * así el orden alfabético de los códigos es el orden de creación.
+ *
+ * Sin {@code codigos.nodo} se usa el nodo 0 y se avisa al arrancar: alcanza con una instancia,
+ * pero dos instancias en el mismo nodo pueden generar el mismo código.
+ */
+@Slf4j
+@Component
+public class GeneradorCodigos {
+
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int BITS_NODO = 10;
+    static final int BITS_SECUENCIA = 12;
+    static final long MAX_NODO = (1L << BITS_NODO) - 1;
+    static final long MASCARA_SECUENCIA = (1L << BITS_SECUENCIA) - 1;
+
+    static final int LARGO_CODIGO = 13;
+    private static final char[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /** (milisegundos desde EPOCH) << BITS_SECUENCIA | secuencia del último id entregado. */
+    private final AtomicLong estado = new AtomicLong();
+
+    private final long nodo;
+    private final Clock clock;
+
+    @Autowired
+    public GeneradorCodigos(@Value("${codigos.nodo:}") Long nodo) {
+        this(nodoConfigurado(nodo), Clock.systemUTC());
+    }
+
+    GeneradorCodigos(long nodo, Clock clock) {
+        if (nodo < 0 || nodo > MAX_NODO) {
+            throw new IllegalArgumentException("codigos.nodo debe estar entre 0 y " + MAX_NODO + ": " + nodo);
+        }
+        this.nodo = nodo;
+        this.clock = clock;
+    }
+
+    static long nodoConfigurado(Long nodo) {
+        if (nodo == null) {
+            log.warn("[Codigos] codigos.nodo (CODIGOS_NODO) sin definir: se usa el nodo 0. "
+                    + "Con más de una instancia cada una necesita el suyo, o los códigos pueden repetirse.");
+            return 0;
+        }
+        return nodo;
+    }
+
+    public long siguienteId() {
+        long actual;
+        long siguiente;
+        do {
+            actual = estado.get();
+            long ahora = clock.millis() - EPOCH;
+            // Con la secuencia agotada, actual + 1 acarrea al milisegundo siguiente.
+            siguiente = ahora > (actual >>> BITS_SECUENCIA)
+                    ? ahora << BITS_SECUENCIA
+                    : actual + 1;
+        } while (!estado.compareAndSet(actual, siguiente));
+
+        long milisegundos = siguiente >>> BITS_SECUENCIA;
+        return (milisegundos << (BITS_NODO + BITS_SECUENCIA))
+                | (nodo << BITS_SECUENCIA)
+                | (siguiente & MASCARA_SECUENCIA);
+    }
+
+    public String siguienteCodigo() {
+        return codificar(siguienteId());
+    }
+
+    static String codificar(long id) {
+        char[] salida = new char[LARGO_CODIGO];
+        long resto = id;
+        for (int i = LARGO_CODIGO - 1; i >= 0; i--) {
+            salida[i] = ALFABETO[(int) (resto & 31)];
+            resto >>>= 5;
+        }
+        return new String(salida);
+    }
+}
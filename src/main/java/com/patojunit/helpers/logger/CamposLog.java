@@ -0,0 +1,17 @@
+package com.patojunit.helpers.logger;
+
+/**
+ * Nombres de los campos fijos de los eventos de log en JSON (ver logback-spring.xml).
+ * {@link #USER} viaja en el MDC; el resto como pares clave-valor de SLF4J.
+ */
+public final class CamposLog {
+
+    public static final String OP = "op";
+    public static final String RESERVA_ID = "reservaId";
+    public static final String PRODUCTO_ID = "productoId";
+    public static final String USER = "user";
+    public static final String DURATION_MS = "durationMs";
+
+    private CamposLog() {
+    }
+}
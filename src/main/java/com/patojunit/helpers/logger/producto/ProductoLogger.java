@@ -4,61 +4,99 @@ import com.patojunit.model.Producto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import static com.patojunit.helpers.logger.CamposLog.OP;
+import static com.patojunit.helpers.logger.CamposLog.PRODUCTO_ID;
+
 /**
  * Centraliza todos los logs relacionados con la entidad Producto.
  * Mantiene consistencia entre operaciones (crear, editar, eliminar, stock, errores).
+ *
+ * Cada método consulta el nivel antes de armar argumentos: con el nivel apagado no se
+ * formatea, no se concatena ni se reserva memoria para los parámetros.
  */
 @Slf4j
 @Component
 public class ProductoLogger {
 
+    private static final String PREFIJO = "[ProductoLogger] ";
+
     /**
      * Log de creación exitosa de producto.
      */
     public void logCreacionExitosa(Producto producto) {
-        log.info("[ProductoLogger] Producto creado exitosamente: ID={}, Nombre='{}', Stock={}",
-                producto.getId(), producto.getNombre(), producto.getStockDisponible());
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue(OP, "crear")
+                .addKeyValue(PRODUCTO_ID, producto.getId())
+                .log("[ProductoLogger] Producto creado exitosamente: ID={}, Nombre='{}', Stock={}",
+                        producto.getId(), producto.getNombre(), producto.getStockDisponible());
     }
 
     /**
      * Log de edición exitosa de producto.
      */
     public void logEdicionExitosa(Producto producto) {
-        log.info("[ProductoLogger] Producto editado correctamente: ID={}, Nombre='{}', Nuevo stock={}",
-                producto.getId(), producto.getNombre(), producto.getStockDisponible());
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue(OP, "editar")
+                .addKeyValue(PRODUCTO_ID, producto.getId())
+                .log("[ProductoLogger] Producto editado correctamente: ID={}, Nombre='{}', Nuevo stock={}",
+                        producto.getId(), producto.getNombre(), producto.getStockDisponible());
     }
 
     /**
      * Log de eliminación exitosa.
      */
     public void logEliminacionExitosa(Long idProducto) {
-        log.warn("[ProductoLogger] Producto eliminado exitosamente: ID={}", idProducto);
+        log.atWarn()
+                .addKeyValue(OP, "eliminar")
+                .addKeyValue(PRODUCTO_ID, idProducto)
+                .log("[ProductoLogger] Producto eliminado exitosamente: ID={}", idProducto);
     }
 
     /**
      * Log al descontar stock.
      */
     public void logDescuentoStock(Producto producto, int cantidad) {
-        log.debug("[ProductoLogger] Stock descontado para producto ID={}, Nombre='{}', Cantidad descontada={}, Stock restante={}",
-                producto.getId(), producto.getNombre(), cantidad, producto.getStockDisponible());
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.atDebug()
+                .addKeyValue(OP, "descontarStock")
+                .addKeyValue(PRODUCTO_ID, producto.getId())
+                .log("[ProductoLogger] Stock descontado para producto ID={}, Nombre='{}', Cantidad descontada={}, Stock restante={}",
+                        producto.getId(), producto.getNombre(), cantidad, producto.getStockDisponible());
     }
 
     /**
      * Log al reponer stock.
      */
     public void logReposicionStock(Producto producto, int cantidad) {
-        log.debug("[ProductoLogger] Stock repuesto para producto ID={}, Nombre='{}', Cantidad repuesta={}, Stock actual={}",
-                producto.getId(), producto.getNombre(), cantidad, producto.getStockDisponible());
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.atDebug()
+                .addKeyValue(OP, "reponerStock")
+                .addKeyValue(PRODUCTO_ID, producto.getId())
+                .log("[ProductoLogger] Stock repuesto para producto ID={}, Nombre='{}', Cantidad repuesta={}, Stock actual={}",
+                        producto.getId(), producto.getNombre(), cantidad, producto.getStockDisponible());
     }
 
     /**
      * Log de error controlado.
      */
     public void logError(Producto producto, Exception e) {
-        log.error("[ProductoLogger] Error en producto ID={}, Nombre='{}'. Causa: {}",
-                producto != null ? producto.getId() : "desconocido",
-                producto != null ? producto.getNombre() : "desconocido",
-                e.getMessage(), e);
+        log.atError()
+                .addKeyValue(PRODUCTO_ID, producto != null ? producto.getId() : null)
+                .setCause(e)
+                .log("[ProductoLogger] Error en producto ID={}, Nombre='{}'. Causa: {}",
+                        producto != null ? producto.getId() : "desconocido",
+                        producto != null ? producto.getNombre() : "desconocido",
+                        e.getMessage());
     }
 
     /**
@@ -70,15 +108,31 @@ public class ProductoLogger {
 
     /**
      * Log informativo para acciones genéricas (por ejemplo, validaciones).
+     * La variante de un argumento evita el array de varargs en el caso más común.
      */
+    public void logAccion(String mensaje, Object arg) {
+        if (log.isInfoEnabled()) {
+            log.info(PREFIJO + mensaje, arg);
+        }
+    }
+
     public void logAccion(String mensaje, Object... args) {
-        log.info("[ProductoLogger] " + mensaje, args);
+        if (log.isInfoEnabled()) {
+            log.info(PREFIJO + mensaje, args);
+        }
     }
 
+    /**
+     * {@code mensaje} usa el formato de {@link String#format}; solo se aplica si el nivel está activo.
+     */
     public void logAccion(Producto producto, String mensaje, Object... args) {
-        log.info("[ProductoLogger] Producto='{}' (ID={}) - {}",
-                producto.getNombre(), producto.getId(),
-                String.format(mensaje, args));
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue(PRODUCTO_ID, producto.getId())
+                .log("[ProductoLogger] Producto='{}' (ID={}) - {}",
+                        producto.getNombre(), producto.getId(), String.format(mensaje, args));
     }
 
 
@@ -86,6 +140,8 @@ public class ProductoLogger {
      * Log de advertencia (sin cortar la ejecución).
      */
     public void logAdvertencia(String mensaje, Object... args) {
-        log.warn("[ProductoLogger] " + mensaje, args);
+        if (log.isWarnEnabled()) {
+            log.warn(PREFIJO + mensaje, args);
+        }
     }
 }
@@ -6,61 +6,112 @@ import com.patojunit.model.enums.EstadoReserva;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import static com.patojunit.helpers.logger.CamposLog.OP;
+import static com.patojunit.helpers.logger.CamposLog.RESERVA_ID;
+
+/**
+ * Logs de la entidad Reserva. Los eventos llevan {@code op} y {@code reservaId} como campos
+ * del JSON; los que tienen más de dos parámetros consultan el nivel antes de armar el array.
+ */
 @Component
 @Slf4j
 public class ReservaLogger {
 
     public void logCreacionInicio(UserSec usuario) {
-        log.info("[ReservaService] Iniciando creación de reserva para el usuario '{}'", usuario.getUsername());
+        log.atInfo()
+                .addKeyValue(OP, "crear")
+                .log("[ReservaService] Iniciando creación de reserva para el usuario '{}'", usuario.getUsername());
     }
 
     public void logCreacionExitosa(Reserva reserva) {
-        log.info("[ReservaService] Reserva creada exitosamente (ID={}, usuario={}, estado={}, fechaInicio={}, fechaFin={})",
-                reserva.getId(),
-                reserva.getUsuario().getUsername(),
-                reserva.getEstado(),
-                reserva.getFechaInicio(),
-                reserva.getFechaFin());
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue(OP, "crear")
+                .addKeyValue(RESERVA_ID, reserva.getId())
+                .log("[ReservaService] Reserva creada exitosamente (ID={}, usuario={}, estado={}, fechaInicio={}, fechaFin={})",
+                        reserva.getId(),
+                        reserva.getUsuario().getUsername(),
+                        reserva.getEstado(),
+                        reserva.getFechaInicio(),
+                        reserva.getFechaFin());
     }
 
     public void logEdicionInicio(Long id) {
-        log.debug("[ReservaService] Iniciando edición de la reserva ID={}", id);
+        log.atDebug()
+                .addKeyValue(OP, "editar")
+                .addKeyValue(RESERVA_ID, id)
+                .log("[ReservaService] Iniciando edición de la reserva ID={}", id);
     }
 
     public void logEdicionExitosa(Reserva reserva) {
-        log.info("[ReservaService] Reserva ID={} editada correctamente (nuevo estado={}, nuevo total={})",
-                reserva.getId(),
-                reserva.getEstado(),
-                reserva.getPrecioTotal());
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue(OP, "editar")
+                .addKeyValue(RESERVA_ID, reserva.getId())
+                .log("[ReservaService] Reserva ID={} editada correctamente (nuevo estado={}, nuevo total={})",
+                        reserva.getId(),
+                        reserva.getEstado(),
+                        reserva.getPrecioTotal());
     }
 
     public void logCancelacionInicio(Long id) {
-        log.warn("[ReservaService] Cancelando reserva ID={} ...", id);
+        log.atWarn()
+                .addKeyValue(OP, "cancelar")
+                .addKeyValue(RESERVA_ID, id)
+                .log("[ReservaService] Cancelando reserva ID={} ...", id);
     }
 
     public void logCancelacionExitosa(Reserva reserva) {
-        log.warn("[ReservaService] Reserva ID={} cancelada exitosamente. Stock restablecido.", reserva.getId());
+        log.atWarn()
+                .addKeyValue(OP, "cancelar")
+                .addKeyValue(RESERVA_ID, reserva.getId())
+                .log("[ReservaService] Reserva ID={} cancelada exitosamente. Stock restablecido.", reserva.getId());
     }
 
     public void logEliminacionInicio(Long id) {
-        log.warn("[ReservaService] Eliminando reserva ID={} ...", id);
+        log.atWarn()
+                .addKeyValue(OP, "eliminar")
+                .addKeyValue(RESERVA_ID, id)
+                .log("[ReservaService] Eliminando reserva ID={} ...", id);
     }
 
     public void logEliminacionExitosa(Long id) {
-        log.info("[ReservaService] Reserva ID={} eliminada correctamente del sistema.", id);
+        log.atInfo()
+                .addKeyValue(OP, "eliminar")
+                .addKeyValue(RESERVA_ID, id)
+                .log("[ReservaService] Reserva ID={} eliminada correctamente del sistema.", id);
     }
 
     public void logProductosEliminados(Long reservaId, int cantidadProductos) {
-        log.debug("[ReservaService] {} productos eliminados de la reserva ID={}", cantidadProductos, reservaId);
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.atDebug()
+                .addKeyValue(OP, "eliminarProductos")
+                .addKeyValue(RESERVA_ID, reservaId)
+                .log("[ReservaService] {} productos eliminados de la reserva ID={}", cantidadProductos, reservaId);
     }
 
     public void logCambioEstado(Reserva reserva, EstadoReserva estadoAnterior, EstadoReserva nuevoEstado) {
-        log.debug("[ReservaService] Estado de reserva ID={} cambiado de {} → {}",
-                reserva.getId(), estadoAnterior, nuevoEstado);
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.atDebug()
+                .addKeyValue(OP, "cambiarEstado")
+                .addKeyValue(RESERVA_ID, reserva.getId())
+                .log("[ReservaService] Estado de reserva ID={} cambiado de {} → {}",
+                        reserva.getId(), estadoAnterior, nuevoEstado);
     }
 
     public void logError(Reserva reserva, Exception e) {
-        log.error("[ReservaService] Error en la reserva ID={}: {}", reserva.getId(), e.getMessage(), e);
+        log.atError()
+                .addKeyValue(RESERVA_ID, reserva.getId())
+                .setCause(e)
+                .log("[ReservaService] Error en la reserva ID={}: {}", reserva.getId(), e.getMessage());
     }
 
     public void logErrorGeneral(String mensaje, Exception e) {
@@ -0,0 +1,97 @@
+package com.patojunit.helpers.metricas;
+
+import com.patojunit.helpers.logger.CamposLog;
+import com.patojunit.helpers.security.JwtRoleValidator;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers de las operaciones de negocio, etiquetados por operación ({@code op}), resultado
+ * ({@code exito}/{@code error}) y rol del usuario autenticado. Cada timer también lleva la
+ * cuenta de invocaciones, así que no hace falta un contador aparte por operación.
+ *
+ * Los histogramas de percentiles se habilitan por nombre de métrica en application.properties
+ * y se publican en /actuator/prometheus. Con DEBUG activo cada medición también deja un
+ * evento de log con {@code op} y {@code durationMs}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetricasService {
+
+    public static final String EXITO = "exito";
+    public static final String ERROR = "error";
+    public static final String ROL_SISTEMA = "SISTEMA";
+
+    private final MeterRegistry registry;
+    private final JwtRoleValidator jwtRoleValidator;
+
+    private final Map<String, Meter.MeterProvider<Timer>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Ejecuta la acción y registra su duración. El resultado es {@code error} si lanza una
+     * excepción, que se propaga sin cambios.
+     */
+    public <T> T medir(String metrica, String operacion, Supplier<T> accion) {
+        Timer.Sample muestra = iniciar();
+        String resultado = ERROR;
+        try {
+            T valor = accion.get();
+            resultado = EXITO;
+            return valor;
+        } finally {
+            registrar(muestra, metrica, operacion, resultado, rolActual());
+        }
+    }
+
+    public void medir(String metrica, String operacion, Runnable accion) {
+        medir(metrica, operacion, () -> {
+            accion.run();
+            return null;
+        });
+    }
+
+    /** Para código que no entra en un {@link Supplier}, como un filtro con excepciones checked. */
+    public Timer.Sample iniciar() {
+        return Timer.start(registry);
+    }
+
+    public void registrar(Timer.Sample muestra, String metrica, String operacion, String resultado, String rol) {
+        long nanos = muestra.stop(timers
+                .computeIfAbsent(metrica, nombre -> Timer.builder(nombre).withRegistry(registry))
+                .withTags(Tags.of("op", operacion, "resultado", resultado, "rol", rol)));
+
+        // TRACE y no DEBUG: es un evento por medición (filtro JWT, precio, cada servicio), varios por request
+        if (log.isTraceEnabled()) {
+            long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+            log.atTrace()
+                    .addKeyValue(CamposLog.OP, metrica + "." + operacion)
+                    .addKeyValue(CamposLog.DURATION_MS, ms)
+                    .addKeyValue("resultado", resultado)
+                    .log("[Metricas] {}.{} terminó con {} en {} ms", metrica, operacion, resultado, ms);
+        }
+    }
+
+    public void contar(String metrica, String operacion, String resultado, long cantidad) {
+        if (cantidad > 0) {
+            registry.counter(metrica, "op", operacion, "resultado", resultado).increment(cantidad);
+        }
+    }
+
+    public String rolActual() {
+        if (jwtRoleValidator.isAdmin()) {
+            return "ADMIN";
+        }
+        return jwtRoleValidator.isUser() ? "USER" : "ANONIMO";
+    }
+}
@@ -0,0 +1,198 @@
+package com.patojunit.helpers.producto;
+
+import com.patojunit.dto.response.ProductoUserGetDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache del catálogo de productos ya mapeado a DTO, separado por vista (usuario o admin),
+ * porque un usuario nunca debe recibir el DTO con datos de administración.
+ *
+ * Las lecturas no toman locks. Al superar el máximo se expulsa la entrada usada hace más
+ * tiempo, y cada entrada vence a los {@code ttl} segundos aunque nadie la invalide.
+ *
+ * Las invalidaciones se aplican al confirmar la transacción que modificó el producto. Una
+ * carga que empezó antes de una invalidación no se guarda, para no volver a cachear un valor viejo.
+ *
+ * Aciertos, fallos, tasa de aciertos, descartes y tamaño se publican como {@code producto.catalogo.cache.*}.
+ */
+@Component
+public class ProductoCatalogoCache {
+
+    public enum Vista { USER, ADMIN }
+
+    /** {@code idProducto == null} identifica la lista completa del catálogo. */
+    private record Clave(Vista vista, Long idProducto) {
+    }
+
+    private static final class Entrada {
+        private final Object valor;
+        private final long expiraEn;
+        private volatile long ultimoAcceso;
+
+        private Entrada(Object valor, long expiraEn, long ahora) {
+            this.valor = valor;
+            this.expiraEn = expiraEn;
+            this.ultimoAcceso = ahora;
+        }
+    }
+
+    private final Map<Clave, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong generacion = new AtomicLong();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+    private final LongAdder expiraciones = new LongAdder();
+    private final LongAdder invalidaciones = new LongAdder();
+
+    private final int maxEntradas;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    @Autowired
+    public ProductoCatalogoCache(MeterRegistry registry,
+                                 @Value("${producto.catalogo.cache.max-entries:2000}") int maxEntradas,
+                                 @Value("${producto.catalogo.cache.ttl-seconds:60}") long ttlSegundos) {
+        this(registry, maxEntradas, ttlSegundos, Clock.systemUTC());
+    }
+
+    ProductoCatalogoCache(MeterRegistry registry, int maxEntradas, long ttlSegundos, Clock clock) {
+        this.maxEntradas = maxEntradas;
+        this.ttlMillis = ttlSegundos * 1000;
+        this.clock = clock;
+
+        FunctionCounter.builder("producto.catalogo.cache.consultas", aciertos, LongAdder::sum)
+                .description("Lecturas servidas desde el cache")
+                .tag("resultado", "acierto")
+                .register(registry);
+        FunctionCounter.builder("producto.catalogo.cache.consultas", fallos, LongAdder::sum)
+                .description("Lecturas que cargaron desde la base")
+                .tag("resultado", "fallo")
+                .register(registry);
+        Gauge.builder("producto.catalogo.cache.tasa.aciertos", this, ProductoCatalogoCache::tasaDeAciertos)
+                .description("Aciertos sobre el total de lecturas desde el arranque")
+                .register(registry);
+        registrarDescartes(registry, "expulsion", expulsiones, "Entradas expulsadas por superar el máximo");
+        registrarDescartes(registry, "expiracion", expiraciones, "Entradas vencidas por TTL");
+        registrarDescartes(registry, "invalidacion", invalidaciones, "Invalidaciones por cambios en productos");
+        Gauge.builder("producto.catalogo.cache.tamanio", entradas, Map::size)
+                .description("Entradas guardadas en el cache")
+                .register(registry);
+    }
+
+    private static void registrarDescartes(MeterRegistry registry, String motivo, LongAdder contador, String descripcion) {
+        FunctionCounter.builder("producto.catalogo.cache.descartes", contador, LongAdder::sum)
+                .description(descripcion)
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+
+    public ProductoUserGetDTO obtener(Long idProducto, Vista vista, Supplier<ProductoUserGetDTO> cargar) {
+        return leer(new Clave(vista, idProducto), cargar);
+    }
+
+    public List<ProductoUserGetDTO> obtenerCatalogo(Vista vista, Supplier<List<ProductoUserGetDTO>> cargar) {
+        return leer(new Clave(vista, null), () -> List.copyOf(cargar.get()));
+    }
+
+    /** Un producto cambió: se descartan sus dos vistas y las listas que lo contienen. */
+    public void invalidar(Long idProducto) {
+        alConfirmarTransaccion(() -> {
+            generacion.incrementAndGet();
+            for (Vista vista : Vista.values()) {
+                entradas.remove(new Clave(vista, idProducto));
+                entradas.remove(new Clave(vista, null));
+            }
+            invalidaciones.increment();
+        });
+    }
+
+    public void invalidarTodo() {
+        alConfirmarTransaccion(() -> {
+            generacion.incrementAndGet();
+            entradas.clear();
+            invalidaciones.increment();
+        });
+    }
+
+    private double tasaDeAciertos() {
+        long a = aciertos.sum();
+        long f = fallos.sum();
+        return a + f == 0 ? 0.0 : (double) a / (a + f);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T leer(Clave clave, Supplier<T> cargar) {
+        long ahora = clock.millis();
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null) {
+            if (entrada.expiraEn > ahora) {
+                entrada.ultimoAcceso = ahora;
+                aciertos.increment();
+                return (T) entrada.valor;
+            }
+            if (entradas.remove(clave, entrada)) {
+                expiraciones.increment();
+            }
+        }
+
+        fallos.increment();
+        long generacionInicial = generacion.get();
+        T valor = cargar.get();
+        // Si hubo una invalidación durante la carga, el valor puede ser anterior al cambio
+        if (generacion.get() == generacionInicial) {
+            guardar(clave, new Entrada(valor, ahora + ttlMillis, ahora));
+        }
+        return valor;
+    }
+
+    private void guardar(Clave clave, Entrada entrada) {
+        if (entradas.size() >= maxEntradas && !entradas.containsKey(clave)) {
+            expulsarMenosUsada();
+        }
+        entradas.put(clave, entrada);
+    }
+
+    /**
+     * Recorre las entradas para encontrar la de acceso más antiguo. Es O(n), pero solo ocurre
+     * al insertar con el cache lleno y evita que cada lectura tenga que reordenar una lista.
+     */
+    private void expulsarMenosUsada() {
+        entradas.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().ultimoAcceso))
+                .ifPresent(e -> {
+                    if (entradas.remove(e.getKey(), e.getValue())) {
+                        expulsiones.increment();
+                    }
+                });
+    }
+
+    private void alConfirmarTransaccion(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
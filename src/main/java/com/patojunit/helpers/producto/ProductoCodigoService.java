@@ -1,18 +1,24 @@
 package com.patojunit.helpers.producto;
 
+import com.patojunit.helpers.codigo.GeneradorCodigos;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
+/**
+ * Código visible del producto: {@code PROD-}, las tres primeras letras del nombre y un id de
+ * {@link GeneradorCodigos}. El prefijo es solo para lectura; la unicidad la da el id.
+ */
 @Component
+@RequiredArgsConstructor
 public class ProductoCodigoService {
 
+    private final GeneradorCodigos generador;
+
     public String generarCodigoProducto(String nombre) {
         String prefijo = nombre.length() >= 3
                 ? nombre.substring(0, 3).toUpperCase()
                 : nombre.toUpperCase();
 
-        String sufijo = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-        return "PROD-" + prefijo + "-" + sufijo;
+        return "PROD-" + prefijo + "-" + generador.siguienteCodigo();
     }
 }
@@ -5,14 +5,13 @@ import com.patojunit.dto.response.ProductoAdminGetDTO;
 import com.patojunit.dto.response.ProductoUserGetDTO;
 import com.patojunit.model.Producto;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class ProductoMapper {
 
-    private final ModelMapper modelMapper;
+    private final ProductoStockLedger stockLedger;
 
     public Producto toEntity(ProductoCrearEditarDTO dto) {
         Producto producto = new Producto();
@@ -25,16 +24,25 @@ public class ProductoMapper {
 
     public ProductoUserGetDTO toUserGetDTO(Producto producto) {
         ProductoUserGetDTO dto = new ProductoUserGetDTO();
-        dto.setId(producto.getId());
-        dto.setNombre(producto.getNombre());
-        dto.setPrecioHora(producto.getPrecioHora());
-        dto.setStockDisponible(producto.getStockDisponible());
-        dto.setCodigoProducto(producto.getCodigoProducto());
+        copiarDatosComunes(producto, dto);
         return dto;
     }
 
     public ProductoAdminGetDTO toAdminGetDTO(Producto producto) {
-        return modelMapper.map(producto,ProductoAdminGetDTO.class);
+        ProductoAdminGetDTO dto = new ProductoAdminGetDTO();
+        copiarDatosComunes(producto, dto);
+        dto.setFechaAlta(producto.getFechaAlta());
+        dto.setFechaUltimaActualizacion(producto.getFechaUltimaActualizacion());
+        dto.setCantidadReservadaActual(producto.getCantidadReservadaActual());
+        return dto;
+    }
+
+    private void copiarDatosComunes(Producto producto, ProductoUserGetDTO dto) {
+        dto.setId(producto.getId());
+        dto.setNombre(producto.getNombre());
+        dto.setPrecioHora(producto.getPrecioHora());
+        dto.setStockDisponible(stockLedger.stockDisponible(producto));
+        dto.setCodigoProducto(producto.getCodigoProducto());
     }
 
     public void actualizarEntidadDesdeDTO(Producto producto, ProductoCrearEditarDTO dto) {
@@ -0,0 +1,349 @@
+package com.patojunit.helpers.producto;
+
+import com.patojunit.model.Producto;
+import com.patojunit.repository.IProductoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock disponible en memoria por producto, con escritura diferida a la base.
+ *
+ * Cada producto tiene su propia celda: los descuentos y reposiciones se aplican con CAS
+ * sobre un {@link AtomicLong}, sin locks ni UPDATE por operación. Un volcado periódico
+ * escribe la diferencia acumulada de cada producto con un único UPDATE, y la
+ * reconciliación incorpora los cambios hechos en la tabla por fuera del ledger.
+ *
+ * Los descuentos se ven enseguida (reservan el stock); si la transacción que los pidió se
+ * revierte, se devuelven. Las reposiciones recién se aplican al confirmar la transacción.
+ *
+ * Está deshabilitado por defecto; en ese caso el stock se sigue modificando con UPDATE
+ * atómicos desde {@link ProductoStockService}. Movimientos, volcados y reconciliaciones se
+ * publican como {@code producto.stock.ledger.*}.
+ */
+@Slf4j
+@Component
+public class ProductoStockLedger {
+
+    private static final String MENSAJE_STOCK_NEGATIVO = "Error de stock: no puede quedar stock negativo.";
+
+    private final IProductoRepository productoRepository;
+    private final TransactionTemplate transaccionPropia;
+    private final boolean habilitado;
+
+    private final Map<Long, Celda> celdas = new ConcurrentHashMap<>();
+    // Volcado y reconciliación nunca corren a la vez: ambos leen y escriben "confirmado"
+    private final ReentrantLock volcado = new ReentrantLock();
+
+    private final LongAdder descuentos = new LongAdder();
+    private final LongAdder reposiciones = new LongAdder();
+    private final LongAdder rechazos = new LongAdder();
+    private final LongAdder updatesVolcados = new LongAdder();
+    private final LongAdder diferenciasReconciliadas = new LongAdder();
+
+    /**
+     * @param disponible valor vigente, el único que modifican las operaciones
+     * @param confirmado último valor escrito en la base; solo lo toca quien tiene el lock de volcado
+     */
+    private record Celda(AtomicLong disponible, AtomicLong confirmado) {
+        Celda(long stockPersistido) {
+            this(new AtomicLong(stockPersistido), new AtomicLong(stockPersistido));
+        }
+    }
+
+    @Autowired
+    public ProductoStockLedger(IProductoRepository productoRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${producto.stock.ledger.habilitado:false}") boolean habilitado) {
+        this.productoRepository = productoRepository;
+        this.transaccionPropia = new TransactionTemplate(transactionManager);
+        this.transaccionPropia.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.habilitado = habilitado;
+
+        registrarMovimientos(registry, "descuento", descuentos, "Descuentos aceptados en memoria");
+        registrarMovimientos(registry, "reposicion", reposiciones, "Reposiciones aplicadas al confirmar");
+        registrarMovimientos(registry, "rechazo", rechazos, "Descuentos rechazados por falta de stock");
+        FunctionCounter.builder("producto.stock.ledger.updates", updatesVolcados, LongAdder::sum)
+                .description("UPDATE escritos por el volcado, uno por producto con diferencia")
+                .register(registry);
+        FunctionCounter.builder("producto.stock.ledger.reconciliaciones", diferenciasReconciliadas, LongAdder::sum)
+                .description("Cambios hechos en la tabla por fuera del ledger e incorporados")
+                .register(registry);
+        Gauge.builder("producto.stock.ledger.productos", celdas, Map::size)
+                .description("Productos con celda en memoria")
+                .register(registry);
+    }
+
+    private static void registrarMovimientos(MeterRegistry registry, String tipo, LongAdder contador, String descripcion) {
+        FunctionCounter.builder("producto.stock.ledger.movimientos", contador, LongAdder::sum)
+                .description(descripcion)
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Stock disponible para mostrar. Si el producto todavía no tuvo movimientos en el ledger,
+     * el valor de la entidad coincide con la base.
+     */
+    public int stockDisponible(Producto producto) {
+        if (!habilitado || producto.getId() == null) {
+            return producto.getStockDisponible();
+        }
+        Celda celda = celdas.get(producto.getId());
+        return celda == null ? producto.getStockDisponible() : (int) celda.disponible().get();
+    }
+
+    public void descontar(Long idProducto, int cantidad) {
+        Celda celda = celda(idProducto);
+        long actual;
+        do {
+            actual = celda.disponible().get();
+            if (actual < cantidad) {
+                rechazos.increment();
+                throw new IllegalArgumentException(MENSAJE_STOCK_NEGATIVO);
+            }
+        } while (!celda.disponible().compareAndSet(actual, actual - cantidad));
+
+        descuentos.increment();
+        alRevertirTransaccion(() -> celda.disponible().addAndGet(cantidad));
+    }
+
+    public void reponer(Long idProducto, int cantidad) {
+        Celda celda = celda(idProducto);
+        alConfirmarTransaccion(() -> {
+            celda.disponible().addAndGet(cantidad);
+            reposiciones.increment();
+        });
+    }
+
+    /** El producto fue eliminado: lo pendiente ya no tiene fila donde escribirse. */
+    public void descartar(Long idProducto) {
+        alConfirmarTransaccion(() -> celdas.remove(idProducto));
+    }
+
+    /**
+     * Escribe en la base la diferencia acumulada de cada producto, un UPDATE por producto y
+     * en una transacción propia. Si falla, la diferencia queda pendiente para el próximo volcado.
+     */
+    @Scheduled(fixedDelayString = "${producto.stock.ledger.volcado-ms:1000}")
+    public void volcar() {
+        if (!habilitado) {
+            return;
+        }
+        volcado.lock();
+        try {
+            volcarPendientes(celdas);
+        } finally {
+            volcado.unlock();
+        }
+    }
+
+    /** Vuelca solo un producto, p. ej. antes de que un administrador lo edite. */
+    public void volcar(Long idProducto) {
+        if (!habilitado) {
+            return;
+        }
+        volcado.lock();
+        try {
+            Celda celda = celdas.get(idProducto);
+            if (celda != null) {
+                volcarPendientes(Map.of(idProducto, celda));
+            }
+        } finally {
+            volcado.unlock();
+        }
+    }
+
+    /**
+     * Compara cada celda con la tabla después de volcarla. Cualquier diferencia restante
+     * viene de un cambio hecho por fuera del ledger (edición del producto, carga manual)
+     * y se suma al valor en memoria.
+     */
+    @Scheduled(fixedDelayString = "${producto.stock.ledger.reconciliacion-ms:300000}")
+    public void reconciliar() {
+        if (!habilitado) {
+            return;
+        }
+        volcado.lock();
+        try {
+            volcarPendientes(celdas);
+            celdas.forEach(this::reconciliarCelda);
+        } finally {
+            volcado.unlock();
+        }
+    }
+
+    /** Reconciliación de un solo producto, p. ej. después de que un administrador lo editó. */
+    public void reconciliar(Long idProducto) {
+        if (!habilitado) {
+            return;
+        }
+        alConfirmarTransaccion(() -> {
+            volcado.lock();
+            try {
+                Celda celda = celdas.get(idProducto);
+                if (celda != null) {
+                    volcarPendientes(Map.of(idProducto, celda));
+                    reconciliarCelda(idProducto, celda);
+                }
+            } finally {
+                volcado.unlock();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        volcar();
+    }
+
+    public long getDescuentos() {
+        return descuentos.sum();
+    }
+
+    public long getReposiciones() {
+        return reposiciones.sum();
+    }
+
+    public long getRechazos() {
+        return rechazos.sum();
+    }
+
+    public long getUpdatesVolcados() {
+        return updatesVolcados.sum();
+    }
+
+    public long getDiferenciasReconciliadas() {
+        return diferenciasReconciliadas.sum();
+    }
+
+    public int getCantidadProductos() {
+        return celdas.size();
+    }
+
+    /**
+     * La lectura va fuera de {@code computeIfAbsent}: no bloquea otras claves del mapa mientras
+     * espera a la base. Si dos hilos leen a la vez, se queda la primera celda.
+     *
+     * Usa la conexión del llamador y no una transacción propia: con el pool ocupado por
+     * transacciones que esperan una segunda conexión no arrancaría ninguna. La consulta no hace
+     * flush automático ({@link IProductoRepository#findStockDisponibleById}), y con el ledger
+     * habilitado nada escribe stock_disponible dentro de la transacción antes de llegar acá,
+     * así que el valor leído es el confirmado.
+     */
+    private Celda celda(Long idProducto) {
+        Celda celda = celdas.get(idProducto);
+        if (celda != null) {
+            return celda;
+        }
+        Celda nueva = new Celda(leerStockPersistido(idProducto));
+        Celda previa = celdas.putIfAbsent(idProducto, nueva);
+        return previa == null ? nueva : previa;
+    }
+
+    private int leerStockPersistido(Long idProducto) {
+        return productoRepository.findStockDisponibleById(idProducto)
+                .orElseThrow(() -> new EntityNotFoundException("No existe producto con ID " + idProducto));
+    }
+
+    /** Debe llamarse con el lock de volcado tomado. */
+    private void volcarPendientes(Map<Long, Celda> aVolcar) {
+        // TreeMap: mismo orden de UPDATE que el scheduler por lotes, sin deadlocks entre ambos
+        Map<Long, Long> vistos = new TreeMap<>();
+        aVolcar.forEach((id, celda) -> {
+            long disponible = celda.disponible().get();
+            if (disponible != celda.confirmado().get()) {
+                vistos.put(id, disponible);
+            }
+        });
+        if (vistos.isEmpty()) {
+            return;
+        }
+
+        try {
+            transaccionPropia.executeWithoutResult(status -> vistos.forEach((id, disponible) -> {
+                int delta = (int) (disponible - aVolcar.get(id).confirmado().get());
+                // reponerStock con delta negativo descuenta, sin la condición de stock suficiente:
+                // el ledger ya la verificó al aceptar cada descuento
+                productoRepository.reponerStock(id, delta);
+            }));
+        } catch (RuntimeException e) {
+            log.error("[StockLedger] Falló el volcado de {} productos; se reintenta en el próximo ciclo.",
+                    vistos.size(), e);
+            return;
+        }
+
+        // Lo que llegó después de leer "disponible" queda como diferencia para el próximo volcado
+        vistos.forEach((id, disponible) -> aVolcar.get(id).confirmado().set(disponible));
+        updatesVolcados.add(vistos.size());
+    }
+
+    /** Debe llamarse con el lock de volcado tomado y la celda recién volcada. */
+    private void reconciliarCelda(Long idProducto, Celda celda) {
+        Integer persistido = productoRepository.findStockDisponibleById(idProducto).orElse(null);
+        if (persistido == null) {
+            celdas.remove(idProducto, celda);
+            return;
+        }
+
+        long diferencia = persistido - celda.confirmado().get();
+        if (diferencia != 0) {
+            log.warn("[StockLedger] Producto ID={} cambió por fuera del ledger ({} unidades); se incorpora.",
+                    idProducto, diferencia);
+            celda.disponible().addAndGet(diferencia);
+            celda.confirmado().set(persistido);
+            diferenciasReconciliadas.increment();
+        }
+    }
+
+    private void alConfirmarTransaccion(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    private void alRevertirTransaccion(Runnable compensacion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensacion.run();
+                }
+            }
+        });
+    }
+}
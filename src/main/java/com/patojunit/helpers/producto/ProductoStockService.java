@@ -2,28 +2,68 @@ package com.patojunit.helpers.producto;
 
 import com.patojunit.model.Producto;
 import com.patojunit.repository.IProductoRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+/**
+ * Modifica el stock con UPDATE atómicos en la base en lugar de leer, modificar y guardar
+ * la entidad: dos operaciones concurrentes sobre el mismo producto no pueden perder
+ * actualizaciones ni dejar stock negativo.
+ *
+ * Con el {@link ProductoStockLedger} habilitado, los movimientos se aplican en memoria y
+ * se escriben a la base en diferido.
+ */
 @Component
 @RequiredArgsConstructor
 public class ProductoStockService {
 
     private final IProductoRepository productoRepository;
     private final ProductoValidator validator;
+    private final EntityManager entityManager;
+    private final ProductoStockLedger stockLedger;
+    private final ProductoCatalogoCache catalogoCache;
 
     public void descontarStock(Producto producto, int cantidad) {
-        int nuevoStock = producto.getStockDisponible() - cantidad;
-        validator.validarStockNoNegativo(nuevoStock);
+        catalogoCache.invalidar(producto.getId());
+        if (stockLedger.isHabilitado()) {
+            // La entidad queda con el valor persistido: modificarla haría que Hibernate
+            // escriba el stock absoluto al confirmar y pise lo que vuelca el ledger
+            stockLedger.descontar(producto.getId(), cantidad);
+            return;
+        }
 
-        producto.setStockDisponible(nuevoStock);
-        producto.setCantidadReservadaActual(producto.getCantidadReservadaActual() + cantidad);
-        productoRepository.save(producto);
+        validator.validarStockNoNegativo(producto.getStockDisponible() - cantidad);
+
+        // El valor en memoria puede estar desactualizado: la condición real la evalúa el UPDATE
+        if (productoRepository.descontarStock(producto.getId(), cantidad) == 0) {
+            throw new IllegalArgumentException("Error de stock: no puede quedar stock negativo.");
+        }
+        sincronizar(producto, -cantidad);
     }
 
     public void reponerStock(Producto producto, int cantidad) {
-        producto.setCantidadReservadaActual(producto.getCantidadReservadaActual() - cantidad);
-        producto.setStockDisponible(producto.getStockDisponible() + cantidad);
-        productoRepository.save(producto);
+        if (stockLedger.isHabilitado()) {
+            stockLedger.reponer(producto.getId(), cantidad);
+        } else {
+            productoRepository.reponerStock(producto.getId(), cantidad);
+            sincronizar(producto, cantidad);
+        }
+        // Después de reponer: el ledger suma al confirmar, y las dos acciones corren en el orden
+        // en que se registraron. Invalidando antes, una lectura en el medio cacheaba el stock viejo.
+        catalogoCache.invalidar(producto.getId());
+    }
+
+    /**
+     * Deja la entidad en memoria igual a la fila actualizada. Si está gestionada se recarga
+     * (también toma la nueva versión); si no, se aplica el mismo delta.
+     */
+    private void sincronizar(Producto producto, int deltaStock) {
+        if (entityManager.contains(producto)) {
+            entityManager.refresh(producto);
+            return;
+        }
+        producto.setStockDisponible(producto.getStockDisponible() + deltaStock);
+        producto.setCantidadReservadaActual(producto.getCantidadReservadaActual() - deltaStock);
     }
 }
@@ -0,0 +1,62 @@
+package com.patojunit.helpers.reserva;
+
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.repository.IProductoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Resuelve precios por hora y calcula importes de un conjunto de líneas de reserva.
+ * Usa el Producto ya asociado a cada línea y, solo para los que no están cargados,
+ * hace una única consulta en lote.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingEngine {
+
+    private final IProductoRepository productoRepository;
+
+    public Map<Long, BigDecimal> resolverPrecios(Collection<ProductoCantidad> productos) {
+        Map<Long, BigDecimal> precios = new HashMap<>();
+        Set<Long> pendientes = new HashSet<>();
+
+        for (ProductoCantidad pc : productos) {
+            Producto producto = pc.getProducto();
+            if (Hibernate.isInitialized(producto) && producto.getPrecioHora() != null) {
+                precios.put(producto.getId(), producto.getPrecioHora());
+            } else {
+                pendientes.add(producto.getId());
+            }
+        }
+        pendientes.removeAll(precios.keySet());
+
+        if (!pendientes.isEmpty()) {
+            productoRepository.findAllById(pendientes)
+                    .forEach(p -> precios.put(p.getId(), p.getPrecioHora()));
+        }
+        return precios;
+    }
+
+    public BigDecimal calcularTotal(Collection<ProductoCantidad> productos, BigDecimal horas) {
+        Map<Long, BigDecimal> precios = resolverPrecios(productos);
+        return productos.stream()
+                .map(pc -> calcularSubtotal(precios, pc, horas))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal calcularSubtotal(Map<Long, BigDecimal> precios, ProductoCantidad pc, BigDecimal horas) {
+        BigDecimal precioHora = precios.get(pc.getProducto().getId());
+        if (precioHora == null) {
+            throw new EntityNotFoundException("No existe producto con ID " + pc.getProducto().getId());
+        }
+        return precioHora
+                .multiply(horas)
+                .multiply(BigDecimal.valueOf(pc.getCantidad()));
+    }
+}
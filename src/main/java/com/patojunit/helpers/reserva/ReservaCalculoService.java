@@ -1,9 +1,7 @@
 package com.patojunit.helpers.reserva;
 
-import com.patojunit.dto.response.ProductoUserGetDTO;
-import com.patojunit.model.ProductoCantidad;
+import com.patojunit.helpers.metricas.MetricasService;
 import com.patojunit.model.Reserva;
-import com.patojunit.service.interfaces.IProductoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -14,13 +12,16 @@ import java.time.Duration;
 @RequiredArgsConstructor
 public class ReservaCalculoService {
 
-    private final IProductoService productoService;
+    private static final String METRICA = "reserva.precio";
+
+    private final PricingEngine pricingEngine;
+    private final MetricasService metricas;
 
     public BigDecimal calcularPrecioTotal(Reserva reserva) {
-        BigDecimal horas = calcularDuracionEnHoras(reserva);
-        return reserva.getProductos().stream()
-                .map(pc -> calcularSubtotalProducto(pc, horas))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return metricas.medir(METRICA, "calcularPrecioTotal", () -> {
+            BigDecimal horas = calcularDuracionEnHoras(reserva);
+            return pricingEngine.calcularTotal(reserva.getProductos(), horas);
+        });
     }
 
     private BigDecimal calcularDuracionEnHoras(Reserva reserva) {
@@ -30,11 +31,4 @@ public class ReservaCalculoService {
         long horas = Duration.between(reserva.getFechaInicio(), reserva.getFechaFin()).toHours();
         return BigDecimal.valueOf(horas);
     }
-
-    private BigDecimal calcularSubtotalProducto(ProductoCantidad pc, BigDecimal horas) {
-        ProductoUserGetDTO producto = productoService.get(pc.getProducto().getId());
-        return producto.getPrecioHora()
-                .multiply(horas)
-                .multiply(BigDecimal.valueOf(pc.getCantidad()));
-    }
-}
\ No newline at end of file
+}
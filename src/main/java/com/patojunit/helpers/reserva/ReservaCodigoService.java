@@ -1,14 +1,20 @@
 package com.patojunit.helpers.reserva;
 
+import com.patojunit.helpers.codigo.GeneradorCodigos;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
+/**
+ * Código visible de la reserva: {@code RES-} y un id de {@link GeneradorCodigos}, único por nodo
+ * y ordenado por fecha de alta.
+ */
 @Component
+@RequiredArgsConstructor
 public class ReservaCodigoService {
 
-    public String generarCodigoReserva(Long idCliente) {
-        String sufijo = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-        return "RES-" + idCliente + "-" + sufijo;
+    private final GeneradorCodigos generador;
+
+    public String generarCodigoReserva() {
+        return "RES-" + generador.siguienteCodigo();
     }
 }
@@ -0,0 +1,260 @@
+package com.patojunit.helpers.reserva;
+
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IReservaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Índice en memoria de la ocupación de cada producto, en tramos de una hora.
+ * Solo contempla reservas PENDIENTE o ACTIVA, y permite rechazar solapamientos
+ * al momento de crear o editar una reserva sin recorrer la tabla de reservas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservaDisponibilidadIndex {
+
+    private static final Set<EstadoReserva> ESTADOS_QUE_OCUPAN =
+            EnumSet.of(EstadoReserva.PENDIENTE, EstadoReserva.ACTIVA);
+
+    private final IReservaRepository reservaRepository;
+
+    /** idProducto -> (hora -> unidades ocupadas en esa hora). */
+    private final Map<Long, NavigableMap<LocalDateTime, Integer>> ocupacionPorProducto = new HashMap<>();
+
+    /** idReserva -> tramos que esa reserva aporta al índice. */
+    private final Map<Long, List<Tramo>> tramosPorReserva = new HashMap<>();
+
+    /**
+     * Última clave de retención asignada. Las retenciones usan ids negativos, que nunca
+     * coinciden con una reserva persistida.
+     */
+    private long ultimaRetencion;
+
+    /**
+     * Reconstruye el índice a partir de las reservas vigentes al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        List<Reserva> vigentes = reservaRepository.findByEstadoIn(ESTADOS_QUE_OCUPAN);
+        synchronized (this) {
+            ocupacionPorProducto.clear();
+            tramosPorReserva.clear();
+            vigentes.forEach(r -> aplicar(r.getId(), calcularTramos(r)));
+        }
+        log.info("[DisponibilidadIndex] Índice reconstruido con {} reservas vigentes.", vigentes.size());
+    }
+
+    /**
+     * Verifica que cada producto de la reserva tenga unidades libres en todas las horas
+     * del rango solicitado. Si la reserva ya existe, su propia ocupación no se cuenta.
+     *
+     * Si hay disponibilidad, la ocupación queda retenida hasta que termine la transacción en
+     * curso: otra validación concurrente ya la cuenta, aunque la reserva todavía no se haya
+     * confirmado. Al confirmar, {@link #registrar} la reemplaza por la de la reserva persistida;
+     * si hay rollback simplemente se libera. Sin transacción no se retiene nada.
+     */
+    public synchronized void validarDisponibilidad(Reserva reserva) {
+        verificar(reserva);
+        liberarAlTerminarTransaccion(List.of(retener(reserva)));
+    }
+
+    /**
+     * Valida un lote de reservas nuevas en orden: cada una cuenta también la ocupación de las
+     * anteriores del lote que resultaron aceptadas. Devuelve el motivo de rechazo por posición
+     * en la lista; las aceptadas no aparecen. La ocupación de las aceptadas queda retenida
+     * hasta que termine la transacción, igual que en {@link #validarDisponibilidad}.
+     */
+    public synchronized Map<Integer, String> validarDisponibilidadLote(List<Reserva> reservas) {
+        Map<Integer, String> rechazos = new HashMap<>();
+        List<Long> retenciones = new ArrayList<>();
+        for (int i = 0; i < reservas.size(); i++) {
+            Reserva reserva = reservas.get(i);
+            try {
+                verificar(reserva);
+            } catch (IllegalArgumentException e) {
+                rechazos.put(i, e.getMessage());
+                continue;
+            }
+            retenciones.add(retener(reserva));
+        }
+        liberarAlTerminarTransaccion(retenciones);
+        return rechazos;
+    }
+
+    private void verificar(Reserva reserva) {
+        List<Tramo> propios = reserva.getId() != null
+                ? tramosPorReserva.getOrDefault(reserva.getId(), List.of())
+                : List.of();
+
+        for (ProductoCantidad pc : reserva.getProductos()) {
+            Producto producto = pc.getProducto();
+            int capacidad = producto.getStockDisponible() + producto.getCantidadReservadaActual();
+            if (pc.getCantidad() > capacidad) {
+                throw sinDisponibilidad(producto);
+            }
+
+            NavigableMap<LocalDateTime, Integer> ocupacion = ocupacionPorProducto
+                    .getOrDefault(producto.getId(), Collections.emptyNavigableMap())
+                    .subMap(inicioDeHora(reserva.getFechaInicio()), true, finDeHora(reserva.getFechaFin()), false);
+
+            for (Map.Entry<LocalDateTime, Integer> hora : ocupacion.entrySet()) {
+                int ocupadas = hora.getValue() - ocupacionPropia(propios, producto.getId(), hora.getKey());
+                if (ocupadas + pc.getCantidad() > capacidad) {
+                    throw sinDisponibilidad(producto);
+                }
+            }
+        }
+    }
+
+    /**
+     * Registra (o reemplaza) la ocupación de una reserva persistida. Si la reserva ya no
+     * está PENDIENTE ni ACTIVA, se la quita del índice. El cambio se aplica al confirmarse
+     * la transacción en curso, para no dejar ocupación de reservas que hicieron rollback.
+     */
+    public void registrar(Reserva reserva) {
+        Long id = reserva.getId();
+        List<Tramo> tramos = ESTADOS_QUE_OCUPAN.contains(reserva.getEstado())
+                ? calcularTramos(reserva)
+                : List.of();
+
+        alConfirmarTransaccion(() -> {
+            synchronized (this) {
+                remover(id);
+                aplicar(id, tramos);
+            }
+        });
+    }
+
+    public void quitar(Long idReserva) {
+        alConfirmarTransaccion(() -> {
+            synchronized (this) {
+                remover(idReserva);
+            }
+        });
+    }
+
+    public synchronized int ocupacion(Long idProducto, LocalDateTime hora) {
+        return ocupacionPorProducto
+                .getOrDefault(idProducto, Collections.emptyNavigableMap())
+                .getOrDefault(inicioDeHora(hora), 0);
+    }
+
+    private Long retener(Reserva reserva) {
+        Long retencion = --ultimaRetencion;
+        aplicar(retencion, calcularTramos(reserva));
+        return retencion;
+    }
+
+    /**
+     * Las retenciones se liberan al terminar la transacción, confirmada o no. Si se confirmó,
+     * el {@code afterCommit} de {@link #registrar} ya sumó la reserva persistida: hasta este
+     * punto la ocupación se cuenta dos veces, lo que solo puede rechazar de más, nunca aceptar
+     * de más.
+     */
+    private void liberarAlTerminarTransaccion(List<Long> retenciones) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            retenciones.forEach(this::remover);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (ReservaDisponibilidadIndex.this) {
+                    retenciones.forEach(ReservaDisponibilidadIndex.this::remover);
+                }
+            }
+        });
+    }
+
+    private void aplicar(Long idReserva, List<Tramo> tramos) {
+        if (idReserva == null || tramos.isEmpty()) return;
+
+        tramos.forEach(t -> {
+            NavigableMap<LocalDateTime, Integer> ocupacion =
+                    ocupacionPorProducto.computeIfAbsent(t.idProducto(), k -> new TreeMap<>());
+            for (LocalDateTime h = t.inicio(); h.isBefore(t.fin()); h = h.plusHours(1)) {
+                ocupacion.merge(h, t.cantidad(), Integer::sum);
+            }
+        });
+        tramosPorReserva.put(idReserva, tramos);
+    }
+
+    private void remover(Long idReserva) {
+        List<Tramo> tramos = tramosPorReserva.remove(idReserva);
+        if (tramos == null) return;
+
+        tramos.forEach(t -> {
+            NavigableMap<LocalDateTime, Integer> ocupacion = ocupacionPorProducto.get(t.idProducto());
+            if (ocupacion == null) return;
+            for (LocalDateTime h = t.inicio(); h.isBefore(t.fin()); h = h.plusHours(1)) {
+                ocupacion.computeIfPresent(h, (k, v) -> v - t.cantidad() > 0 ? v - t.cantidad() : null);
+            }
+            if (ocupacion.isEmpty()) {
+                ocupacionPorProducto.remove(t.idProducto());
+            }
+        });
+    }
+
+    private List<Tramo> calcularTramos(Reserva reserva) {
+        if (reserva.getFechaInicio() == null || reserva.getFechaFin() == null) return List.of();
+
+        LocalDateTime inicio = inicioDeHora(reserva.getFechaInicio());
+        LocalDateTime fin = finDeHora(reserva.getFechaFin());
+        return reserva.getProductos().stream()
+                .map(pc -> new Tramo(pc.getProducto().getId(), inicio, fin, pc.getCantidad()))
+                .toList();
+    }
+
+    private int ocupacionPropia(List<Tramo> propios, Long idProducto, LocalDateTime hora) {
+        return propios.stream()
+                .filter(t -> t.idProducto().equals(idProducto))
+                .filter(t -> !hora.isBefore(t.inicio()) && hora.isBefore(t.fin()))
+                .mapToInt(Tramo::cantidad)
+                .sum();
+    }
+
+    private void alConfirmarTransaccion(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    private static LocalDateTime inicioDeHora(LocalDateTime fecha) {
+        return fecha.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime finDeHora(LocalDateTime fecha) {
+        LocalDateTime truncada = fecha.truncatedTo(ChronoUnit.HOURS);
+        return truncada.equals(fecha) ? truncada : truncada.plusHours(1);
+    }
+
+    private static IllegalArgumentException sinDisponibilidad(Producto producto) {
+        return new IllegalArgumentException(
+                "No hay disponibilidad suficiente de '" + producto.getNombre() + "' para el horario solicitado.");
+    }
+
+    private record Tramo(Long idProducto, LocalDateTime inicio, LocalDateTime fin, int cantidad) {}
+}
@@ -3,10 +3,10 @@ package com.patojunit.helpers.reserva;
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
 import com.patojunit.dto.request.ProductoCantidadCrearEditarDTO;
 import com.patojunit.dto.response.*;
+import com.patojunit.helpers.usuario.UsuarioMapper;
 import com.patojunit.model.*;
 import com.patojunit.service.operations.ProductoOperationService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -15,10 +15,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReservaMapper {
 
-    private final ModelMapper modelMapper;
-
     private final ProductoOperationService productoOperationService;
 
+    private final UsuarioMapper usuarioMapper;
+
     public Reserva toEntity(ReservaCrearEditarDTO dto) {
         Reserva r = new Reserva();
         r.setFechaInicio(dto.getFechaInicio());
@@ -34,8 +34,14 @@ public class ReservaMapper {
     }
 
     public ProductoCantidad toProductoCantidad(ProductoCantidadCrearEditarDTO dto, Reserva reserva) {
+        return toProductoCantidad(dto, reserva, productoOperationService.getEntity(dto.getIdProducto()));
+    }
+
+    /**
+     * Variante con el producto ya resuelto, para cuando se cargaron todos juntos (alta en lote).
+     */
+    public ProductoCantidad toProductoCantidad(ProductoCantidadCrearEditarDTO dto, Reserva reserva, Producto producto) {
         ProductoCantidad pc = new ProductoCantidad();
-        Producto producto = productoOperationService.getEntity(dto.getIdProducto());
         pc.setProducto(producto);
         pc.setCantidad(dto.getCantidad());
         pc.setReserva(reserva);
@@ -44,6 +50,21 @@ public class ReservaMapper {
 
     public ReservaUserGetDTO toUserGetDTO(Reserva reserva) {
         ReservaUserGetDTO dto = new ReservaUserGetDTO();
+        copiarDatosComunes(reserva, dto);
+        return dto;
+    }
+
+    /**
+     * Copia solo los campos declarados en el DTO; no recorre el resto del grafo de la entidad.
+     */
+    public ReservaAdminGetDTO toAdminGetDTO(Reserva reserva) {
+        ReservaAdminGetDTO dto = new ReservaAdminGetDTO();
+        copiarDatosComunes(reserva, dto);
+        dto.setUsuario(usuarioMapper.toGetDTO(reserva.getUsuario()));
+        return dto;
+    }
+
+    private void copiarDatosComunes(Reserva reserva, ReservaUserGetDTO dto) {
         dto.setId(reserva.getId());
         dto.setCodigoReserva(reserva.getCodigoReserva());
         dto.setEstado(reserva.getEstado() != null ? reserva.getEstado().toString() : null);
@@ -52,11 +73,6 @@ public class ReservaMapper {
         dto.setFechaFin(reserva.getFechaFin());
         dto.setPrecioTotal(reserva.getPrecioTotal());
         dto.setProductos(mapearProductos(reserva));
-        return dto;
-    }
-
-    public ReservaAdminGetDTO toAdminGetDTO(Reserva reserva) {
-        return modelMapper.map(reserva,ReservaAdminGetDTO.class);
     }
 
     private List<ProductoCantidadGetDTO> mapearProductos(Reserva reserva) {
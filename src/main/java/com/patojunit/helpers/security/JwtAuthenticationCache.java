@@ -0,0 +1,144 @@
+package com.patojunit.helpers.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache acotado de tokens JWT ya verificados. Evita repetir el parseo y la verificación HMAC
+ * en cada request para un mismo token: guarda el usuario y sus authorities hasta que el token
+ * expire (o hasta el TTL máximo configurado, lo que ocurra primero).
+ *
+ * La clave es el SHA-256 del token, así el cache no retiene tokens en claro. Aciertos, fallos
+ * y tamaño se publican como {@code seguridad.jwt.cache.*}.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    private final int maxEntradas;
+    private final long ttlMaximoMillis;
+    private final Clock clock;
+
+    @Autowired
+    public JwtAuthenticationCache(MeterRegistry registry,
+                                  @Value("${security.jwt.cache.max-entries:10000}") int maxEntradas,
+                                  @Value("${security.jwt.cache.max-ttl-seconds:300}") long ttlMaximoSegundos) {
+        this(maxEntradas, ttlMaximoSegundos, Clock.systemUTC());
+        FunctionCounter.builder("seguridad.jwt.cache.consultas", aciertos, LongAdder::sum)
+                .description("Tokens resueltos desde el cache, sin verificar la firma")
+                .tag("resultado", "acierto")
+                .register(registry);
+        FunctionCounter.builder("seguridad.jwt.cache.consultas", fallos, LongAdder::sum)
+                .description("Tokens que no estaban en cache (o expiraron) y se verificaron")
+                .tag("resultado", "fallo")
+                .register(registry);
+        Gauge.builder("seguridad.jwt.cache.tamanio", entradas, Map::size)
+                .description("Tokens verificados guardados en el cache")
+                .register(registry);
+    }
+
+    JwtAuthenticationCache(int maxEntradas, long ttlMaximoSegundos, Clock clock) {
+        this.maxEntradas = maxEntradas;
+        this.ttlMaximoMillis = ttlMaximoSegundos * 1000;
+        this.clock = clock;
+    }
+
+    /** {@code principal} lleva los roles ya resueltos; se arma una vez por token, no por request. */
+    public record Entrada(String username, List<GrantedAuthority> authorities, UsuarioAutenticado principal, long expiraEn) {
+    }
+
+    /**
+     * Devuelve la autenticación asociada al token. Si no está en cache (o expiró) invoca al
+     * verificador, que debe lanzar excepción ante un token inválido; en ese caso no se cachea nada.
+     */
+    public Entrada obtener(String token, Function<String, DecodedJWT> verificador) {
+        long ahora = clock.millis();
+        String clave = hash(token);
+
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && entrada.expiraEn() > ahora) {
+            aciertos.increment();
+            return entrada;
+        }
+
+        fallos.increment();
+        if (entrada != null) {
+            entradas.remove(clave, entrada);
+        }
+
+        DecodedJWT decoded = verificador.apply(token);
+        String username = decoded.getSubject();
+        List<GrantedAuthority> authorities = List.copyOf(
+                AuthorityUtils.commaSeparatedStringToAuthorityList(decoded.getClaim("authorities").asString()));
+        Entrada nueva = new Entrada(
+                username,
+                authorities,
+                UsuarioAutenticado.desde(username, authorities),
+                calcularExpiracion(decoded.getExpiresAt(), ahora));
+
+        guardar(clave, nueva, ahora);
+        return nueva;
+    }
+
+    public void invalidarTodo() {
+        entradas.clear();
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public int getTamanio() {
+        return entradas.size();
+    }
+
+    private long calcularExpiracion(Date expiresAt, long ahora) {
+        long limite = ahora + ttlMaximoMillis;
+        return expiresAt == null ? limite : Math.min(expiresAt.getTime(), limite);
+    }
+
+    private void guardar(String clave, Entrada entrada, long ahora) {
+        if (entradas.size() >= maxEntradas) {
+            entradas.values().removeIf(e -> e.expiraEn() <= ahora);
+        }
+        // Si sigue lleno no se cachea: el token se verificará de nuevo en la próxima request.
+        if (entradas.size() < maxEntradas) {
+            entradas.put(clave, entrada);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
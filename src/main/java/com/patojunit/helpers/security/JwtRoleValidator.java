@@ -2,24 +2,37 @@ package com.patojunit.helpers.security;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+/**
+ * Con JWT el principal es un {@link UsuarioAutenticado} y la consulta es un AND de bits.
+ * Con HTTP Basic (o en tests con {@code @WithMockUser}) el principal no trae los roles
+ * resueltos y se recorren las authorities comparando nombres, sin crear objetos.
+ */
 @Component
 public class JwtRoleValidator {
 
     public boolean isAdmin() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        return tieneRol(UsuarioAutenticado.ADMIN);
     }
 
     public boolean isUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER"));
+        return tieneRol(UsuarioAutenticado.USER);
     }
 
     public String getUsername() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return (auth != null) ? auth.getName() : null;
     }
+
+    private static boolean tieneRol(int rol) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return false;
+        }
+        if (auth.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return usuario.tieneRol(rol);
+        }
+        return (UsuarioAutenticado.calcularRoles(auth.getAuthorities()) & rol) != 0;
+    }
 }
@@ -0,0 +1,117 @@
+package com.patojunit.helpers.security;
+
+import com.patojunit.exception.LoginSaturadoException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool propio para la verificación BCrypt del login. Cada hash ocupa un núcleo decenas de
+ * milisegundos; con un pool acotado (hilos + cola fija) una ráfaga de logins no puede tomar
+ * todos los hilos de Tomcat ni toda la CPU: lo que no entra en la cola se rechaza en el acto
+ * con {@link LoginSaturadoException} (429) y el resto del tráfico sigue atendiéndose.
+ *
+ * Como mucho {@code hilos + cola} requests quedan esperando un resultado; la espera también
+ * tiene tope ({@code seguridad.login.espera-ms}).
+ */
+@Slf4j
+@Component
+public class LoginHashExecutor implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long esperaMillis;
+    private final LongAdder rechazos = new LongAdder();
+
+    @Autowired
+    public LoginHashExecutor(PasswordEncoder passwordEncoder,
+                             MeterRegistry registry,
+                             @Value("${seguridad.login.hilos:0}") int hilos,
+                             @Value("${seguridad.login.cola:16}") int cola,
+                             @Value("${seguridad.login.espera-ms:2000}") long esperaMillis) {
+        this(passwordEncoder, hilos, cola, esperaMillis);
+        new ExecutorServiceMetrics(executor, "seguridad.login", Tags.empty()).bindTo(registry);
+        FunctionCounter.builder("seguridad.login.rechazos", rechazos, LongAdder::sum)
+                .description("Logins rechazados con 429 por pool de BCrypt saturado")
+                .register(registry);
+    }
+
+    /** {@code hilos <= 0} usa un hilo por núcleo; {@code cola <= 0} no encola (solo entra si hay un hilo libre). */
+    LoginHashExecutor(PasswordEncoder passwordEncoder, int hilos, int cola, long esperaMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.esperaMillis = esperaMillis;
+
+        int tamanio = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> espera = cola > 0 ? new ArrayBlockingQueue<>(cola) : new SynchronousQueue<>();
+        CustomizableThreadFactory fabrica = new CustomizableThreadFactory("login-bcrypt-");
+        fabrica.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(tamanio, tamanio, 0L, TimeUnit.MILLISECONDS,
+                espera, fabrica, new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("[Login] Pool BCrypt: {} hilos, cola de {}, espera máxima {} ms", tamanio, Math.max(cola, 0), esperaMillis);
+    }
+
+    /**
+     * Compara la contraseña con el hash en el pool de login y espera el resultado.
+     *
+     * @throws LoginSaturadoException si la cola está llena o el resultado no llega a tiempo
+     */
+    public boolean verificar(String password, String hash) {
+        Future<Boolean> resultado;
+        try {
+            resultado = executor.submit(() -> passwordEncoder.matches(password, hash));
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            throw new LoginSaturadoException();
+        }
+
+        try {
+            return resultado.get(esperaMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            rechazos.increment();
+            throw new LoginSaturadoException();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginSaturadoException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public long getRechazos() {
+        return rechazos.sum();
+    }
+
+    int enCola() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,32 @@
+package com.patojunit.helpers.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Encoder para {@code DaoAuthenticationProvider} (HTTP Basic): la comparación con el hash corre
+ * en el pool de {@link LoginHashExecutor}, igual que en /auth/login. Una ráfaga de requests con
+ * Basic no ocupa hilos de Tomcat calculando BCrypt; si el pool está saturado se responde 429.
+ */
+@RequiredArgsConstructor
+public class PasswordEncoderAcotado implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final LoginHashExecutor loginHashExecutor;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegado.encode(rawPassword);
+    }
+
+    /** @throws com.patojunit.exception.LoginSaturadoException si el pool de login está saturado */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return loginHashExecutor.verificar(rawPassword == null ? null : rawPassword.toString(), encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,82 @@
+package com.patojunit.helpers.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Collection;
+
+/**
+ * Principal de los requests autenticados con JWT: el username y los roles como bits, resueltos
+ * una vez por token. Preguntar por un rol es leer un int, sin recorrer las authorities ni crear
+ * objetos, así que se puede consultar por cada elemento de un listado.
+ *
+ * {@link #getName()} devuelve el username, que es lo que Spring usa en {@code Authentication.getName()}.
+ */
+public final class UsuarioAutenticado implements Principal, Serializable {
+
+    public static final int ADMIN = 1;
+    public static final int USER = 1 << 1;
+
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+    private static final String ROLE_USER = "ROLE_USER";
+
+    private final String username;
+    private final int roles;
+
+    public UsuarioAutenticado(String username, int roles) {
+        this.username = username;
+        this.roles = roles;
+    }
+
+    public static UsuarioAutenticado desde(String username, Collection<? extends GrantedAuthority> authorities) {
+        return new UsuarioAutenticado(username, calcularRoles(authorities));
+    }
+
+    /** Recorre las authorities una vez y devuelve los bits de los roles conocidos. */
+    public static int calcularRoles(Collection<? extends GrantedAuthority> authorities) {
+        int roles = 0;
+        for (GrantedAuthority authority : authorities) {
+            String nombre = authority.getAuthority();
+            if (ROLE_ADMIN.equals(nombre)) {
+                roles |= ADMIN;
+            } else if (ROLE_USER.equals(nombre)) {
+                roles |= USER;
+            }
+        }
+        return roles;
+    }
+
+    public boolean tieneRol(int rol) {
+        return (roles & rol) != 0;
+    }
+
+    public boolean esAdmin() {
+        return tieneRol(ADMIN);
+    }
+
+    public boolean esUser() {
+        return tieneRol(USER);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof UsuarioAutenticado otro && roles == otro.roles && username.equals(otro.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * username.hashCode() + roles;
+    }
+
+    /** El username, como el principal String que había antes: JwtUtils.createToken lo usa así. */
+    @Override
+    public String toString() {
+        return username;
+    }
+}
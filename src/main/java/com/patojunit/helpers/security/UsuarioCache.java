@@ -0,0 +1,194 @@
+package com.patojunit.helpers.security;
+
+import com.patojunit.model.UserSec;
+import com.patojunit.repository.IUserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de usuarios por username: id, hash de la contraseña, estado de la cuenta y authorities
+ * (roles y permisos) ya resueltas. Lo usan el login, la autenticación HTTP Basic y el alta de
+ * reservas, que antes iban a la base en cada request.
+ *
+ * Las entradas vencen a los {@code ttl} segundos. Los cambios de usuarios, roles y permisos
+ * invalidan al confirmar su transacción; una carga que empezó antes de una invalidación no se guarda.
+ */
+@Component
+public class UsuarioCache {
+
+    /** Copia inmutable del usuario; no retiene la entidad ni la sesión de JPA. */
+    public record Usuario(Long id,
+                          String username,
+                          String password,
+                          boolean enabled,
+                          boolean accountNotExpired,
+                          boolean credentialNotExpired,
+                          boolean accountNotLocked,
+                          List<GrantedAuthority> authorities) {
+
+        /**
+         * Un {@link User} nuevo por llamada: Spring Security borra la contraseña del principal
+         * después de autenticar, y eso no debe tocar la copia cacheada.
+         */
+        public UserDetails toUserDetails() {
+            return new User(username, password, enabled, accountNotExpired,
+                    credentialNotExpired, accountNotLocked, authorities);
+        }
+    }
+
+    private record Entrada(Usuario usuario, long expiraEn) {
+    }
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong generacion = new AtomicLong();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    private final IUserRepository userRepository;
+    private final int maxEntradas;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    @Autowired
+    public UsuarioCache(MeterRegistry registry,
+                        IUserRepository userRepository,
+                        @Value("${security.usuario.cache.max-entries:10000}") int maxEntradas,
+                        @Value("${security.usuario.cache.ttl-seconds:300}") long ttlSegundos) {
+        this(userRepository, maxEntradas, ttlSegundos, Clock.systemUTC());
+        FunctionCounter.builder("seguridad.usuario.cache.consultas", aciertos, LongAdder::sum)
+                .description("Usuarios resueltos desde el cache, sin ir a la base")
+                .tag("resultado", "acierto")
+                .register(registry);
+        FunctionCounter.builder("seguridad.usuario.cache.consultas", fallos, LongAdder::sum)
+                .description("Usuarios que no estaban en cache (o expiraron) y se leyeron de la base")
+                .tag("resultado", "fallo")
+                .register(registry);
+        Gauge.builder("seguridad.usuario.cache.tamanio", entradas, Map::size)
+                .description("Usuarios guardados en el cache")
+                .register(registry);
+    }
+
+    UsuarioCache(IUserRepository userRepository, int maxEntradas, long ttlSegundos, Clock clock) {
+        this.userRepository = userRepository;
+        this.maxEntradas = maxEntradas;
+        this.ttlMillis = ttlSegundos * 1000;
+        this.clock = clock;
+    }
+
+    /** Vacío si el usuario no existe; la ausencia no se cachea. */
+    public Optional<Usuario> obtener(String username) {
+        long ahora = clock.millis();
+        Entrada entrada = entradas.get(username);
+        if (entrada != null && entrada.expiraEn() > ahora) {
+            aciertos.increment();
+            return Optional.of(entrada.usuario());
+        }
+
+        fallos.increment();
+        if (entrada != null) {
+            entradas.remove(username, entrada);
+        }
+
+        long generacionInicial = generacion.get();
+        Optional<Usuario> cargado = userRepository.findByUsername(username).map(UsuarioCache::copiar);
+        if (cargado.isPresent() && generacion.get() == generacionInicial) {
+            guardar(username, new Entrada(cargado.get(), ahora + ttlMillis), ahora);
+        }
+        return cargado;
+    }
+
+    public void invalidar(String username) {
+        alConfirmarTransaccion(() -> {
+            generacion.incrementAndGet();
+            entradas.remove(username);
+        });
+    }
+
+    public void invalidarPorId(Long id) {
+        alConfirmarTransaccion(() -> {
+            generacion.incrementAndGet();
+            entradas.values().removeIf(e -> Objects.equals(e.usuario().id(), id));
+        });
+    }
+
+    /** Para cambios de roles o permisos, que pueden afectar a cualquier usuario. */
+    public void invalidarTodo() {
+        alConfirmarTransaccion(() -> {
+            generacion.incrementAndGet();
+            entradas.clear();
+        });
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public int getTamanio() {
+        return entradas.size();
+    }
+
+    private static Usuario copiar(UserSec userSec) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        userSec.getRolesList()
+                .forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_".concat(role.getName()))));
+        userSec.getRolesList().stream()
+                .flatMap(role -> role.getPermissionsList().stream())
+                .forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.getPermissionName())));
+
+        return new Usuario(userSec.getId(),
+                userSec.getUsername(),
+                userSec.getPassword(),
+                userSec.isEnabled(),
+                userSec.isAccountNotExpired(),
+                userSec.isCredentialNotExpired(),
+                userSec.isAccountNotLocked(),
+                List.copyOf(authorities));
+    }
+
+    private void guardar(String username, Entrada entrada, long ahora) {
+        if (entradas.size() >= maxEntradas) {
+            entradas.values().removeIf(e -> e.expiraEn() <= ahora);
+        }
+        // Si sigue lleno no se cachea: el usuario se vuelve a leer en la próxima request.
+        if (entradas.size() < maxEntradas) {
+            entradas.put(username, entrada);
+        }
+    }
+
+    private void alConfirmarTransaccion(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.patojunit.helpers.usuario;
+
+import com.patojunit.dto.response.UsuarioGetDTO;
+import com.patojunit.model.UserSec;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UsuarioMapper {
+
+    public UsuarioGetDTO toGetDTO(UserSec usuario) {
+        if (usuario == null) return null;
+        return new UsuarioGetDTO(usuario.getId(), usuario.getUsername());
+    }
+}
@@ -14,10 +14,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "uk_producto_codigo", columnList = "codigo_producto", unique = true),
+        @Index(name = "idx_producto_nombre", columnList = "nombre")
+})
 public final class Producto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "producto_seq")
+    @SequenceGenerator(name = "producto_seq", sequenceName = "producto_seq", allocationSize = 10)
     private Long id;
 
     private String codigoProducto;
@@ -33,4 +38,7 @@ public final class Producto {
     private int stockDisponible;
 
     private int cantidadReservadaActual;
+
+    @Version
+    private long version;
 }
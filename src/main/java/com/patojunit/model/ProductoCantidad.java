@@ -11,10 +11,12 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_producto_cantidad_producto", columnList = "id_producto"))
 public class ProductoCantidad {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "producto_cantidad_seq")
+    @SequenceGenerator(name = "producto_cantidad_seq", sequenceName = "producto_cantidad_seq", allocationSize = 250)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,9 +18,18 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_reserva_usuario", columnList = "usuario_id, id"),
+        @Index(name = "idx_reserva_fecha_inicio", columnList = "fecha_inicio, id"),
+        @Index(name = "idx_reserva_estado", columnList = "estado, id"),
+        @Index(name = "idx_reserva_estado_fecha_inicio", columnList = "estado, fecha_inicio"),
+        @Index(name = "idx_reserva_estado_fecha_fin", columnList = "estado, fecha_fin"),
+        @Index(name = "uk_reserva_codigo", columnList = "codigo_reserva", unique = true)
+})
 public class Reserva {
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserva_seq")
+    @SequenceGenerator(name = "reserva_seq", sequenceName = "reserva_seq", allocationSize = 50)
     private Long id;
 
     private String codigoReserva;
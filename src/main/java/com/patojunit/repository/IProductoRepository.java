@@ -1,10 +1,53 @@
 package com.patojunit.repository;
 
 import com.patojunit.model.Producto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface IProductoRepository extends JpaRepository<Producto, Long> {
     boolean existsByNombre(String nombre);
+
+    @Query("SELECT p.id FROM Producto p WHERE p.codigoProducto = :codigo")
+    Optional<Long> findIdByCodigoProducto(@Param("codigo") String codigoProducto);
+
+    /**
+     * Stock tal como está en la tabla, para el ledger. Sin flush automático: la consulta no
+     * escribe los cambios pendientes de la transacción que la llama.
+     */
+    @Query("SELECT p.stockDisponible FROM Producto p WHERE p.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<Integer> findStockDisponibleById(@Param("id") Long id);
+
+    /**
+     * Descuenta stock solo si alcanza. Devuelve 0 si el stock no era suficiente.
+     * Incrementa la versión para que una edición concurrente de la entidad falle en lugar de pisar el stock.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Producto p
+            SET p.stockDisponible = p.stockDisponible - :cantidad,
+                p.cantidadReservadaActual = p.cantidadReservadaActual + :cantidad,
+                p.version = p.version + 1
+            WHERE p.id = :id AND p.stockDisponible >= :cantidad
+            """)
+    int descontarStock(@Param("id") Long id, @Param("cantidad") int cantidad);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Producto p
+            SET p.stockDisponible = p.stockDisponible + :cantidad,
+                p.cantidadReservadaActual = p.cantidadReservadaActual - :cantidad,
+                p.version = p.version + 1
+            WHERE p.id = :id
+            """)
+    int reponerStock(@Param("id") Long id, @Param("cantidad") int cantidad);
 }
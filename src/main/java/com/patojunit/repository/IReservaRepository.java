@@ -2,20 +2,149 @@ package com.patojunit.repository;
 
 import com.patojunit.model.Reserva;
 import com.patojunit.model.enums.EstadoReserva;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IReservaRepository extends JpaRepository<Reserva,Long> {
-    List<Reserva> findByUsuario_Username(String username);
-    boolean existsByProductos_Producto_Id(Long id);
+
+    /** Proyección liviana con lo necesario para programar las transiciones de una reserva. */
+    interface Vencimiento {
+        Long getId();
+        EstadoReserva getEstado();
+        LocalDateTime getFechaInicio();
+        LocalDateTime getFechaFin();
+    }
+
+    String SELECT_RESERVAS = "SELECT r FROM Reserva r LEFT JOIN FETCH r.usuario u ";
+
+    String SELECT_RESERVAS_CON_PRODUCTOS = SELECT_RESERVAS
+            + "LEFT JOIN FETCH r.productos pc LEFT JOIN FETCH pc.producto ";
+
+    String FILTRO_RESERVAS = """
+            WHERE (:estado IS NULL OR r.estado = :estado)
+              AND (:desde IS NULL OR r.fechaInicio >= :desde)
+              AND (:hasta IS NULL OR r.fechaInicio < :hasta)
+              AND (:pagado IS NULL OR r.pagado = :pagado)
+              AND (:username IS NULL OR u.username = :username)
+            """;
+
+    /**
+     * El id del usuario sale de una subconsulta por username: con el join que armaba el método
+     * derivado, H2 no reordena las tablas (hay LEFT JOIN del entity graph) y recorría todas las
+     * reservas en lugar de entrar por idx_reserva_usuario.
+     */
+    @EntityGraph(attributePaths = {"productos", "productos.producto", "usuario"})
+    @Query("SELECT r FROM Reserva r WHERE r.usuario.id = (SELECT u.id FROM UserSec u WHERE u.username = :username)")
+    List<Reserva> findByUsuario_Username(@Param("username") String username);
+
+    @Override
+    @EntityGraph(attributePaths = {"productos", "productos.producto", "usuario"})
+    List<Reserva> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"productos", "productos.producto", "usuario"})
+    Optional<Reserva> findById(Long id);
+
+    @Query("SELECT r.id FROM Reserva r WHERE r.codigoReserva = :codigo")
+    Optional<Long> findIdByCodigoReserva(@Param("codigo") String codigoReserva);
+
+    /** Solo mira producto_cantidad por idx_producto_cantidad_producto, sin pasar por reserva. */
+    @Query("SELECT CASE WHEN EXISTS (SELECT 1 FROM ProductoCantidad pc WHERE pc.producto.id = :id) THEN true ELSE false END")
+    boolean existsByProductos_Producto_Id(@Param("id") Long id);
+
     @EntityGraph(attributePaths = {"productos", "productos.producto"})
     List<Reserva> findByEstadoAndFechaInicioBefore(EstadoReserva estado, LocalDateTime fecha);
 
     @EntityGraph(attributePaths = {"productos", "productos.producto"})
     List<Reserva> findByEstadoAndFechaFinBefore(EstadoReserva estado, LocalDateTime fecha);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = {"productos", "productos.producto"})
+    List<Reserva> findByEstadoIn(Collection<EstadoReserva> estados);
+
+    List<Vencimiento> findVencimientosByEstadoIn(Collection<EstadoReserva> estados);
+
+    @Query(SELECT_RESERVAS + FILTRO_RESERVAS + """
+              AND (:cursorId IS NULL OR r.id > :cursorId)
+            ORDER BY r.id
+            """)
+    List<Reserva> buscarPorId(@Param("estado") EstadoReserva estado,
+                              @Param("desde") LocalDateTime desde,
+                              @Param("hasta") LocalDateTime hasta,
+                              @Param("pagado") Boolean pagado,
+                              @Param("username") String username,
+                              @Param("cursorId") Long cursorId,
+                              Limit limite);
+
+    @Query(SELECT_RESERVAS + FILTRO_RESERVAS + """
+              AND (:cursorFecha IS NULL
+                   OR r.fechaInicio > :cursorFecha
+                   OR (r.fechaInicio = :cursorFecha AND r.id > :cursorId))
+            ORDER BY r.fechaInicio, r.id
+            """)
+    List<Reserva> buscarPorFechaInicio(@Param("estado") EstadoReserva estado,
+                                       @Param("desde") LocalDateTime desde,
+                                       @Param("hasta") LocalDateTime hasta,
+                                       @Param("pagado") Boolean pagado,
+                                       @Param("username") String username,
+                                       @Param("cursorFecha") LocalDateTime cursorFecha,
+                                       @Param("cursorId") Long cursorId,
+                                       Limit limite);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_RESERVAS_CON_PRODUCTOS + FILTRO_RESERVAS + " ORDER BY r.id")
+    Stream<Reserva> streamFiltradas(@Param("estado") EstadoReserva estado,
+                                    @Param("desde") LocalDateTime desde,
+                                    @Param("hasta") LocalDateTime hasta,
+                                    @Param("pagado") Boolean pagado,
+                                    @Param("username") String username);
+
+    @Query("""
+            SELECT r.id FROM Reserva r
+            WHERE r.estado = :estado AND r.fechaInicio < :fecha AND r.id > :cursorId
+            ORDER BY r.id
+            """)
+    List<Long> findIdsPorIniciar(@Param("estado") EstadoReserva estado,
+                                 @Param("fecha") LocalDateTime fecha,
+                                 @Param("cursorId") Long cursorId,
+                                 Limit limite);
+
+    @Query("""
+            SELECT r.id FROM Reserva r
+            WHERE r.estado = :estado AND r.fechaFin < :fecha AND r.id > :cursorId
+            ORDER BY r.id
+            """)
+    List<Long> findIdsPorFinalizar(@Param("estado") EstadoReserva estado,
+                                   @Param("fecha") LocalDateTime fecha,
+                                   @Param("cursorId") Long cursorId,
+                                   Limit limite);
+
+    @Query("""
+            SELECT DISTINCT r FROM Reserva r
+            LEFT JOIN FETCH r.productos pc LEFT JOIN FETCH pc.producto
+            WHERE r.id IN :ids AND r.estado = :estado
+            ORDER BY r.id
+            """)
+    List<Reserva> findConProductosByIdInAndEstado(@Param("ids") Collection<Long> ids,
+                                                  @Param("estado") EstadoReserva estado);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reserva r SET r.estado = :nuevo WHERE r.id IN :ids AND r.estado = :actual")
+    int actualizarEstado(@Param("ids") Collection<Long> ids,
+                         @Param("actual") EstadoReserva actual,
+                         @Param("nuevo") EstadoReserva nuevo);
+}
@@ -2,6 +2,7 @@ package com.patojunit.repository;
 
 
 import com.patojunit.model.UserSec;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,6 @@ import java.util.Optional;
 
 @Repository
 public interface IUserRepository extends JpaRepository<UserSec, Long> {
+    @EntityGraph(attributePaths = {"rolesList", "rolesList.permissionsList"})
     Optional<UserSec> findByUsername(String username);
 }
@@ -1,6 +1,7 @@
 package com.patojunit.service.implementations;
 
 
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.model.Permission;
 import com.patojunit.repository.IPermissionRepository;
 import com.patojunit.service.interfaces.IPermissionService;
@@ -15,6 +16,7 @@ import java.util.Optional;
 public class PermissionService implements IPermissionService {
 
     private final IPermissionRepository permissionRepository;
+    private final UsuarioCache usuarioCache;
 
     @Override
     public List findAll() {
@@ -34,10 +36,14 @@ public class PermissionService implements IPermissionService {
     @Override
     public void deleteById(Long id) {
         permissionRepository.deleteById(id);
+        usuarioCache.invalidarTodo();
     }
 
     @Override
     public Permission update(Permission permission) {
-        return permissionRepository.save(permission);
+        // Las authorities cacheadas de cada usuario salen de sus roles y permisos
+        Permission actualizado = permissionRepository.save(permission);
+        usuarioCache.invalidarTodo();
+        return actualizado;
     }
 }
@@ -2,7 +2,10 @@ package com.patojunit.service.implementations;
 
 import com.patojunit.dto.request.ProductoCrearEditarDTO;
 import com.patojunit.dto.response.ProductoUserGetDTO;
+import com.patojunit.helpers.codigo.CodigoIdCache;
 import com.patojunit.helpers.logger.producto.ProductoLogger;
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.producto.ProductoCatalogoCache;
 import com.patojunit.helpers.security.JwtRoleValidator;
 import com.patojunit.helpers.security.RoleBasedMapper;
 import com.patojunit.model.Producto;
@@ -27,82 +30,121 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductoService implements IProductoService {
 
+    private static final String METRICA = "producto.servicio";
+
     private final ProductoOperationService operationService;
     private final JwtRoleValidator jwtRoleValidator;
     private final RoleBasedMapper roleBasedMapper;
     private final ProductoLogger productoLogger;
     private final IProductoRepository productoRepository;
+    private final ProductoCatalogoCache catalogoCache;
+    private final MetricasService metricas;
+    private final CodigoIdCache codigoIdCache;
 
     @Override
     @Transactional
     public ProductoUserGetDTO crear(ProductoCrearEditarDTO dto) {
-        validarAccesoAdmin();
-        try {
-            Producto guardado = operationService.crearProducto(dto);
-            productoLogger.logAccion("Creación de producto completada. ID={}", guardado.getId());
-            return mapearPorRol(guardado);
-        } catch (Exception e) {
-            productoLogger.logErrorGeneral("Error al crear producto", e);
-            throw e;
-        }
+        return metricas.medir(METRICA, "crear", () -> {
+            validarAccesoAdmin();
+            try {
+                Producto guardado = operationService.crearProducto(dto);
+                productoLogger.logAccion("Creación de producto completada. ID={}", guardado.getId());
+                return mapearPorRol(guardado);
+            } catch (Exception e) {
+                productoLogger.logErrorGeneral("Error al crear producto", e);
+                throw e;
+            }
+        });
     }
 
     @Override
     @Transactional
     public ProductoUserGetDTO editar(Long id, ProductoCrearEditarDTO dto) {
-        validarAccesoAdmin();
-        try {
-            Producto actualizado = operationService.editarProducto(id, dto);
-            productoLogger.logAccion("Edición completada para producto ID={}", actualizado.getId());
-            return mapearPorRol(actualizado);
-        } catch (Exception e) {
-            productoLogger.logErrorGeneral("Error al editar producto con ID=" + id, e);
-            throw e;
-        }
+        return metricas.medir(METRICA, "editar", () -> {
+            validarAccesoAdmin();
+            try {
+                Producto actualizado = operationService.editarProducto(id, dto);
+                productoLogger.logAccion("Edición completada para producto ID={}", actualizado.getId());
+                return mapearPorRol(actualizado);
+            } catch (Exception e) {
+                productoLogger.logErrorGeneral("Error al editar producto con ID=" + id, e);
+                throw e;
+            }
+        });
     }
 
     @Override
     @Transactional
     public void eliminar(Long id) {
-        validarAccesoAdmin();
-        try {
-            operationService.eliminarProducto(id);
-            productoLogger.logAccion("Producto eliminado correctamente. ID={}", id);
-        } catch (Exception e) {
-            productoLogger.logErrorGeneral("Error al eliminar producto con ID=" + id, e);
-            throw e;
-        }
+        metricas.medir(METRICA, "eliminar", () -> {
+            validarAccesoAdmin();
+            try {
+                operationService.eliminarProducto(id);
+                productoLogger.logAccion("Producto eliminado correctamente. ID={}", id);
+            } catch (Exception e) {
+                productoLogger.logErrorGeneral("Error al eliminar producto con ID=" + id, e);
+                throw e;
+            }
+        });
     }
 
     @Override
     public List<ProductoUserGetDTO> getAll() {
-        try {
-            List<Producto> productos = productoRepository.findAll();
-            productoLogger.logAccion("Consulta de todos los productos realizada. Total={}", productos.size());
-
-            return productos.stream()
-                    .map(this::mapearPorRol)
-                    .toList();
-        } catch (Exception e) {
-            productoLogger.logErrorGeneral("Error al obtener la lista de productos", e);
-            throw e;
-        }
+        return metricas.medir(METRICA, "getAll", () -> {
+            try {
+                List<ProductoUserGetDTO> productos = catalogoCache.obtenerCatalogo(vistaActual(), () ->
+                        productoRepository.findAll().stream()
+                                .map(this::mapearPorRol)
+                                .toList());
+                productoLogger.logAccion("Consulta de todos los productos realizada. Total={}", productos.size());
+                return productos;
+            } catch (Exception e) {
+                productoLogger.logErrorGeneral("Error al obtener la lista de productos", e);
+                throw e;
+            }
+        });
     }
 
     @Override
     public ProductoUserGetDTO get(Long id) {
-        try {
-            Producto producto = productoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("No existe producto con ID " + id));
+        return metricas.medir(METRICA, "get", () -> {
+            try {
+                ProductoUserGetDTO producto = catalogoCache.obtener(id, vistaActual(), () ->
+                        mapearPorRol(productoRepository.findById(id)
+                                .orElseThrow(() -> new EntityNotFoundException("No existe producto con ID " + id))));
+
+                productoLogger.logAccion("Consulta individual de producto. ID={}", id);
+                return producto;
+            } catch (Exception e) {
+                productoLogger.logErrorGeneral("Error al obtener producto con ID=" + id, e);
+                throw e;
+            }
+        });
+    }
 
-            productoLogger.logAccion("Consulta individual de producto. ID={}", id);
-            return mapearPorRol(producto);
-        } catch (Exception e) {
-            productoLogger.logErrorGeneral("Error al obtener producto con ID=" + id, e);
+    /**
+     * Resuelve el código a id (con {@link CodigoIdCache}) y sigue como {@link #get(Long)}, así un
+     * código consultado seguido no llega a la base.
+     */
+    @Override
+    public ProductoUserGetDTO getPorCodigo(String codigoProducto) {
+        Long id = codigoIdCache.obtenerId(codigoProducto, productoRepository::findIdByCodigoProducto)
+                .orElseThrow(() -> new EntityNotFoundException("No existe producto con código " + codigoProducto));
+        try {
+            return get(id);
+        } catch (EntityNotFoundException e) {
+            codigoIdCache.descartar(codigoProducto);
             throw e;
         }
     }
 
+    /**
+     * Vista del catálogo que corresponde al usuario autenticado; debe coincidir con {@link #mapearPorRol}.
+     */
+    private ProductoCatalogoCache.Vista vistaActual() {
+        return jwtRoleValidator.isAdmin() ? ProductoCatalogoCache.Vista.ADMIN : ProductoCatalogoCache.Vista.USER;
+    }
+
     /**
      * Mapea el producto al DTO correspondiente según el rol del usuario autenticado.
      */
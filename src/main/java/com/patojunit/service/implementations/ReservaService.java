@@ -1,29 +1,45 @@
 package com.patojunit.service.implementations;
 
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.dto.request.ReservaFiltroDTO;
+import com.patojunit.dto.response.ReservaLoteItemDTO;
+import com.patojunit.dto.response.ReservaLoteResultadoDTO;
+import com.patojunit.dto.response.ReservaPaginaDTO;
 import com.patojunit.dto.response.ReservaUserGetDTO;
+import com.patojunit.helpers.codigo.CodigoIdCache;
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
 import com.patojunit.helpers.reserva.ReservaPermissionValidator;
 import com.patojunit.helpers.logger.reserva.ReservaLogger;
 import com.patojunit.helpers.security.*;
 import com.patojunit.model.Reserva;
 import com.patojunit.model.UserSec;
 import com.patojunit.repository.IReservaRepository;
+import com.patojunit.service.operations.ReservaLoteOperationService;
 import com.patojunit.service.operations.ReservaOperationService;
+import com.patojunit.service.scheduler.ReservaTransicionPlanificador;
 import com.patojunit.service.interfaces.IReservaService;
 import com.patojunit.service.interfaces.IUserService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReservaService implements IReservaService {
 
+    private static final String METRICA = "reserva.servicio";
+
     private final IReservaRepository reservaRepository;
     private final IUserService userService;
 
@@ -32,22 +48,65 @@ public class ReservaService implements IReservaService {
     private final JwtUserProvider jwtUserProvider;
     private final JwtRoleValidator jwtRoleValidator;
     private final ReservaOperationService operationService;
+    private final ReservaLoteOperationService loteOperationService;
     private final ReservaLogger reservaLogger;
+    private final ReservaDisponibilidadIndex disponibilidadIndex;
+    private final ReservaTransicionPlanificador transicionPlanificador;
+    private final EntityManager entityManager;
+    private final CodigoIdCache codigoIdCache;
+    private final MetricasService metricas;
 
     @Override
     @Transactional
     public ReservaUserGetDTO crear(ReservaCrearEditarDTO dto) {
+        return metricas.medir(METRICA, "crear", () -> {
+            UserSec usuario = obtenerUsuarioAutenticado();
+            permisoValidator.validarPermisosGenerales();
+
+            try {
+                Reserva reserva = operationService.crearReserva(dto, usuario);
+                Reserva guardada = reservaRepository.save(reserva);
+                disponibilidadIndex.registrar(guardada);
+                transicionPlanificador.programar(guardada);
+
+                reservaLogger.logCreacionExitosa(guardada);
+                return mapearPorRol(guardada);
+            } catch (Exception e) {
+                reservaLogger.logErrorGeneral("Error al crear reserva", e);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Alta de varias reservas del usuario autenticado en una sola transacción. Cada ítem se
+     * valida por separado: los rechazados se informan sin impedir el alta de los demás.
+     */
+    @Override
+    @Transactional
+    public ReservaLoteResultadoDTO crearLote(List<ReservaCrearEditarDTO> dtos) {
         UserSec usuario = obtenerUsuarioAutenticado();
         permisoValidator.validarPermisosGenerales();
 
         try {
-            Reserva reserva = operationService.crearReserva(dto, usuario);
-            Reserva guardada = reservaRepository.save(reserva);
+            List<ReservaLoteOperationService.ItemLote> items = loteOperationService.crearLote(dtos, usuario);
 
-            reservaLogger.logCreacionExitosa(guardada);
-            return mapearPorRol(guardada);
+            ReservaLoteResultadoDTO resultado = new ReservaLoteResultadoDTO();
+            for (ReservaLoteOperationService.ItemLote item : items) {
+                if (item.creada()) {
+                    disponibilidadIndex.registrar(item.reserva());
+                    transicionPlanificador.programar(item.reserva());
+                    reservaLogger.logCreacionExitosa(item.reserva());
+                    resultado.getResultados().add(new ReservaLoteItemDTO(item.indice(), true, mapearPorRol(item.reserva()), null));
+                } else {
+                    resultado.getResultados().add(new ReservaLoteItemDTO(item.indice(), false, null, item.error()));
+                }
+            }
+            resultado.setCreadas((int) items.stream().filter(ReservaLoteOperationService.ItemLote::creada).count());
+            resultado.setRechazadas(items.size() - resultado.getCreadas());
+            return resultado;
         } catch (Exception e) {
-            reservaLogger.logErrorGeneral("Error al crear reserva", e);
+            reservaLogger.logErrorGeneral("Error al crear lote de reservas", e);
             throw e;
         }
     }
@@ -55,37 +114,45 @@ public class ReservaService implements IReservaService {
     @Override
     @Transactional
     public ReservaUserGetDTO editar(Long id, ReservaCrearEditarDTO dto) {
-        Reserva reserva = getEntity(id);
-        permisoValidator.validarAccesoAReserva(reserva.getUsuario().getUsername());
+        return metricas.medir(METRICA, "editar", () -> {
+            Reserva reserva = getEntity(id);
+            permisoValidator.validarAccesoAReserva(reserva.getUsuario().getUsername());
 
-        try {
-            Reserva actualizada = operationService.editarReserva(reserva, dto);
-            Reserva guardada = reservaRepository.save(actualizada);
+            try {
+                Reserva actualizada = operationService.editarReserva(reserva, dto);
+                Reserva guardada = reservaRepository.save(actualizada);
+                disponibilidadIndex.registrar(guardada);
+                transicionPlanificador.programar(guardada);
 
-            reservaLogger.logEdicionExitosa(guardada);
-            return mapearPorRol(guardada);
-        } catch (Exception e) {
-            reservaLogger.logError(reserva, e);
-            throw e;
-        }
+                reservaLogger.logEdicionExitosa(guardada);
+                return mapearPorRol(guardada);
+            } catch (Exception e) {
+                reservaLogger.logError(reserva, e);
+                throw e;
+            }
+        });
     }
 
     @Override
     @Transactional
     public ReservaUserGetDTO cancelarReserva(Long id) {
-        Reserva reserva = getEntity(id);
-        permisoValidator.validarAccesoAReserva(reserva.getUsuario().getUsername());
+        return metricas.medir(METRICA, "cancelar", () -> {
+            Reserva reserva = getEntity(id);
+            permisoValidator.validarAccesoAReserva(reserva.getUsuario().getUsername());
 
-        try {
-            Reserva cancelada = operationService.cancelarReserva(reserva);
-            Reserva guardada = reservaRepository.save(cancelada);
+            try {
+                Reserva cancelada = operationService.cancelarReserva(reserva);
+                Reserva guardada = reservaRepository.save(cancelada);
+                disponibilidadIndex.registrar(guardada);
+                transicionPlanificador.programar(guardada);
 
-            reservaLogger.logCancelacionExitosa(guardada);
-            return mapearPorRol(guardada);
-        } catch (Exception e) {
-            reservaLogger.logError(reserva, e);
-            throw e;
-        }
+                reservaLogger.logCancelacionExitosa(guardada);
+                return mapearPorRol(guardada);
+            } catch (Exception e) {
+                reservaLogger.logError(reserva, e);
+                throw e;
+            }
+        });
     }
 
     @Override
@@ -96,6 +163,8 @@ public class ReservaService implements IReservaService {
 
         try {
             reservaRepository.delete(reserva);
+            disponibilidadIndex.quitar(id);
+            transicionPlanificador.quitar(id);
             reservaLogger.logEliminacionExitosa(id);
         } catch (Exception e) {
             reservaLogger.logError(reserva, e);
@@ -103,18 +172,67 @@ public class ReservaService implements IReservaService {
         }
     }
 
+    /**
+     * Todas las reservas visibles para el usuario, sin paginar. Recorre el mismo cursor que
+     * {@link #exportar}; los endpoints usan {@link #buscar} o {@link #exportar}.
+     */
     @Override
+    @Transactional
     public List<ReservaUserGetDTO> getAll() {
-        boolean isAdmin = jwtRoleValidator.isAdmin();
-        String username = jwtUserProvider.getUsuarioAutenticadoUsername();
+        List<ReservaUserGetDTO> reservas = new ArrayList<>();
+        exportar(new ReservaFiltroDTO(), reservas::add);
+        return reservas;
+    }
+
+    /**
+     * Listado paginado por keyset. Se pide un registro de más para saber si hay otra página.
+     * Los usuarios no administradores solo ven sus propias reservas.
+     */
+    @Override
+    public ReservaPaginaDTO buscar(ReservaFiltroDTO filtro) {
+        return metricas.medir(METRICA, "buscar", () -> {
+            String username = resolverUsernameFiltro(filtro);
+            Limit limite = Limit.of(filtro.getLimite() + 1);
+
+            List<Reserva> reservas = filtro.ordenarPorFecha()
+                    ? reservaRepository.buscarPorFechaInicio(filtro.getEstado(), filtro.getDesde(), filtro.getHasta(),
+                            filtro.getPagado(), username, filtro.getCursorFecha(), filtro.getCursorId(), limite)
+                    : reservaRepository.buscarPorId(filtro.getEstado(), filtro.getDesde(), filtro.getHasta(),
+                            filtro.getPagado(), username, filtro.getCursorId(), limite);
 
-        List<Reserva> reservas = isAdmin
-                ? reservaRepository.findAll()
-                : reservaRepository.findByUsuario_Username(username);
+            boolean hayMas = reservas.size() > filtro.getLimite();
+            List<Reserva> pagina = hayMas ? reservas.subList(0, filtro.getLimite()) : reservas;
 
-        return reservas.stream()
-                .map(this::mapearPorRol)
-                .toList();
+            ReservaPaginaDTO resultado = new ReservaPaginaDTO();
+            resultado.setContenido(pagina.stream().map(this::mapearPorRol).toList());
+            resultado.setHayMas(hayMas);
+            if (hayMas) {
+                Reserva ultima = pagina.get(pagina.size() - 1);
+                resultado.setSiguienteCursorId(ultima.getId());
+                resultado.setSiguienteCursorFecha(filtro.ordenarPorFecha() ? ultima.getFechaInicio() : null);
+            }
+            return resultado;
+        });
+    }
+
+    /**
+     * Recorre las reservas filtradas con un cursor de base de datos y entrega cada una
+     * ya mapeada, desacoplándola del contexto de persistencia para mantener la memoria constante.
+     */
+    @Override
+    @Transactional
+    public void exportar(ReservaFiltroDTO filtro, Consumer<ReservaUserGetDTO> consumidor) {
+        metricas.medir(METRICA, "exportar", () -> {
+            String username = resolverUsernameFiltro(filtro);
+
+            try (Stream<Reserva> reservas = reservaRepository.streamFiltradas(
+                    filtro.getEstado(), filtro.getDesde(), filtro.getHasta(), filtro.getPagado(), username)) {
+                reservas.forEach(r -> {
+                    consumidor.accept(mapearPorRol(r));
+                    entityManager.detach(r);
+                });
+            }
+        });
     }
 
     @Override
@@ -124,6 +242,18 @@ public class ReservaService implements IReservaService {
         return mapearPorRol(reserva);
     }
 
+    @Override
+    public ReservaUserGetDTO getPorCodigo(String codigoReserva) {
+        Reserva reserva = codigoIdCache.obtenerId(codigoReserva, reservaRepository::findIdByCodigoReserva)
+                .flatMap(reservaRepository::findById)
+                .orElseThrow(() -> {
+                    codigoIdCache.descartar(codigoReserva);
+                    return new EntityNotFoundException("No existe reserva con código " + codigoReserva);
+                });
+        permisoValidator.validarAccesoAReserva(reserva.getUsuario().getUsername());
+        return mapearPorRol(reserva);
+    }
+
     @Override
     @Transactional
     public ReservaUserGetDTO eliminarProductos(Long idReserva, List<Long> idProductos) {
@@ -132,6 +262,7 @@ public class ReservaService implements IReservaService {
 
         try {
             Reserva actualizada = operationService.eliminarProductosDeReserva(reserva, idProductos);
+            disponibilidadIndex.registrar(actualizada);
             reservaLogger.logProductosEliminados(reserva.getId(), idProductos.size());
             return mapearPorRol(actualizada);
         } catch (Exception e) {
@@ -146,9 +277,15 @@ public class ReservaService implements IReservaService {
                 .orElseThrow(() -> new EntityNotFoundException("No existe reserva con ID " + id));
     }
 
+    private String resolverUsernameFiltro(ReservaFiltroDTO filtro) {
+        return jwtRoleValidator.isAdmin()
+                ? filtro.getUsername()
+                : jwtUserProvider.getUsuarioAutenticadoUsername();
+    }
+
     private UserSec obtenerUsuarioAutenticado() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        return userService.findByUsername(auth.getName());
+        return userService.findReferenciaByUsername(auth.getName());
     }
 
     private ReservaUserGetDTO mapearPorRol(Reserva reserva) {
@@ -1,5 +1,6 @@
 package com.patojunit.service.implementations;
 
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.model.Role;
 import com.patojunit.repository.IRoleRepository;
 import com.patojunit.service.interfaces.IRoleService;
@@ -14,6 +15,7 @@ import java.util.Optional;
 public class RoleService implements IRoleService {
 
     private final IRoleRepository roleRepository;
+    private final UsuarioCache usuarioCache;
 
     @Override
     public List findAll() {
@@ -33,10 +35,14 @@ public class RoleService implements IRoleService {
     @Override
     public void deleteById(Long id) {
         roleRepository.deleteById(id);
+        usuarioCache.invalidarTodo();
     }
 
     @Override
     public Role update(Role role) {
-        return roleRepository.save(role);
+        // Las authorities cacheadas de cada usuario salen de sus roles y permisos
+        Role actualizado = roleRepository.save(role);
+        usuarioCache.invalidarTodo();
+        return actualizado;
     }
 }
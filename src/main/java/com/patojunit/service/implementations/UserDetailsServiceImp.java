@@ -1,57 +1,36 @@
 package com.patojunit.service.implementations;
 import com.patojunit.dto.request.AuthLoginRequestDTO;
 import com.patojunit.dto.response.AuthResponseDTO;
-import com.patojunit.model.UserSec;
-import com.patojunit.repository.IUserRepository;
+import com.patojunit.helpers.security.LoginHashExecutor;
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.utils.JwtUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImp implements UserDetailsService {
 
-    private final IUserRepository userRepo;
+    private final UsuarioCache usuarioCache;
 
     private final JwtUtils jwtUtils;
 
-    private final PasswordEncoder passwordEncoder;
+    private final LoginHashExecutor loginHashExecutor;
 
+    /** Usuario y authorities salen de {@link UsuarioCache}; solo se consulta la base al vencer la entrada. */
     @Override
     public UserDetails loadUserByUsername (String username) throws UsernameNotFoundException {
 
-        UserSec userSec = userRepo.findByUsername(username)
+        return usuarioCache.obtener(username)
+                .map(UsuarioCache.Usuario::toUserDetails)
                 .orElseThrow(()-> new UsernameNotFoundException("El usuario " + username + "no fue encontrado"));
-
-        List<SimpleGrantedAuthority> authorityList = new ArrayList<>();
-
-        userSec.getRolesList()
-                .forEach(role -> authorityList.add(new SimpleGrantedAuthority("ROLE_".concat(role.getName()))));
-
-        userSec.getRolesList().stream()
-                .flatMap(role -> role.getPermissionsList().stream())
-                .forEach(permission -> authorityList.add(new SimpleGrantedAuthority(permission.getPermissionName())));
-
-        return new User(userSec.getUsername(),
-                userSec.getPassword(),
-                userSec.isEnabled(),
-                userSec.isAccountNotExpired(),
-                userSec.isCredentialNotExpired(),
-                userSec.isAccountNotLocked(),
-                authorityList);
     }
 
     public AuthResponseDTO loginUser (AuthLoginRequestDTO authLoginRequest){
@@ -72,7 +51,8 @@ public class UserDetailsServiceImp implements UserDetailsService {
         if (userDetails==null) {
             throw new BadCredentialsException("Ivalid username or password");
         }
-        if (!passwordEncoder.matches(password, userDetails.getPassword())) {
+        // BCrypt corre en el pool de login, no en el hilo del request (429 si está saturado)
+        if (!loginHashExecutor.verificar(password, userDetails.getPassword())) {
             throw new BadCredentialsException("Invalid password");
         }
         return new UsernamePasswordAuthenticationToken(username, userDetails.getPassword(), userDetails.getAuthorities());
@@ -1,11 +1,12 @@
 package com.patojunit.service.implementations;
 
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.model.UserSec;
 import com.patojunit.repository.IUserRepository;
 import com.patojunit.service.interfaces.IUserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +17,8 @@ import java.util.Optional;
 public class UserService implements IUserService {
 
     private final IUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UsuarioCache usuarioCache;
 
     @Override
     public List findAll() {
@@ -29,12 +32,19 @@ public class UserService implements IUserService {
 
     @Override
     public UserSec save(UserSec userSec) {
-        return userRepository.save(userSec);
+        UserSec guardado = userRepository.save(userSec);
+        // Por id cubre el cambio de username; por username, el alta de alguien que ya se había buscado
+        usuarioCache.invalidar(userSec.getUsername());
+        if (userSec.getId() != null) {
+            usuarioCache.invalidarPorId(userSec.getId());
+        }
+        return guardado;
     }
 
     @Override
     public void deleteById(Long id) {
         userRepository.deleteById(id);
+        usuarioCache.invalidarPorId(id);
     }
 
     @Override
@@ -44,7 +54,7 @@ public class UserService implements IUserService {
 
     @Override
     public String encriptPassword(String password) {
-        return new BCryptPasswordEncoder().encode(password);
+        return passwordEncoder.encode(password);
     }
 
     @Override
@@ -53,4 +63,18 @@ public class UserService implements IUserService {
                 .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado: " + username));
     }
 
+    /**
+     * Usuario con solo id y username, armado desde {@link UsuarioCache} sin leer la fila.
+     * Alcanza para asociarlo a otra entidad: al persistir, la FK se toma del id.
+     */
+    @Override
+    public UserSec findReferenciaByUsername(String username) {
+        UsuarioCache.Usuario usuario = usuarioCache.obtener(username)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado: " + username));
+        UserSec referencia = new UserSec();
+        referencia.setId(usuario.id());
+        referencia.setUsername(usuario.username());
+        return referencia;
+    }
+
 }
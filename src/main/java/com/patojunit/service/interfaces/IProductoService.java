@@ -5,4 +5,5 @@ import com.patojunit.dto.response.ProductoUserGetDTO;
 
 public interface IProductoService extends IGenericService<ProductoCrearEditarDTO, ProductoUserGetDTO>{
 
+    ProductoUserGetDTO getPorCodigo(String codigoProducto);
 }
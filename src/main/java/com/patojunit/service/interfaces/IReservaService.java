@@ -1,13 +1,21 @@
 package com.patojunit.service.interfaces;
 
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.dto.request.ReservaFiltroDTO;
+import com.patojunit.dto.response.ReservaLoteResultadoDTO;
+import com.patojunit.dto.response.ReservaPaginaDTO;
 import com.patojunit.dto.response.ReservaUserGetDTO;
 import com.patojunit.model.Reserva;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IReservaService extends IGenericService<ReservaCrearEditarDTO, ReservaUserGetDTO>{
+    ReservaLoteResultadoDTO crearLote(List<ReservaCrearEditarDTO> dtos);
     ReservaUserGetDTO cancelarReserva(Long id);
     Reserva getEntity(Long id);
+    ReservaUserGetDTO getPorCodigo(String codigoReserva);
     ReservaUserGetDTO eliminarProductos(Long idReserva, List<Long> idProductos);
+    ReservaPaginaDTO buscar(ReservaFiltroDTO filtro);
+    void exportar(ReservaFiltroDTO filtro, Consumer<ReservaUserGetDTO> consumidor);
 }
@@ -14,4 +14,5 @@ public interface IUserService {
     public void update(UserSec userSec);
     public String encriptPassword(String password);
     public UserSec findByUsername(String username);
+    public UserSec findReferenciaByUsername(String username);
 }
@@ -3,7 +3,9 @@ package com.patojunit.service.operations;
 import com.patojunit.dto.request.ProductoCrearEditarDTO;
 import com.patojunit.factory.ProductoFactory;
 import com.patojunit.helpers.logger.producto.ProductoLogger;
+import com.patojunit.helpers.producto.ProductoCatalogoCache;
 import com.patojunit.helpers.producto.ProductoMapper;
+import com.patojunit.helpers.producto.ProductoStockLedger;
 import com.patojunit.helpers.producto.ProductoStockService;
 import com.patojunit.helpers.producto.ProductoValidator;
 import com.patojunit.model.Producto;
@@ -31,6 +33,8 @@ public class ProductoOperationService {
     private final ProductoMapper mapper;
     private final ProductoLogger productoLogger;
     private final ProductoStockService stockService;
+    private final ProductoStockLedger stockLedger;
+    private final ProductoCatalogoCache catalogoCache;
 
     @Transactional
     public Producto crearProducto(ProductoCrearEditarDTO dto) {
@@ -38,6 +42,7 @@ public class ProductoOperationService {
             validator.validarProductoNoExiste(dto.getNombre());
             Producto producto = productoFactory.crearProducto(dto);
             Producto guardado = productoRepository.save(producto);
+            catalogoCache.invalidar(guardado.getId());
             productoLogger.logCreacionExitosa(guardado);
             return guardado;
         } catch (Exception e) {
@@ -48,6 +53,8 @@ public class ProductoOperationService {
 
     @Transactional
     public Producto editarProducto(Long id, ProductoCrearEditarDTO dto) {
+        // El stock que ve el administrador incluye lo pendiente del ledger: se vuelca antes de leer
+        stockLedger.volcar(id);
         Producto producto = getEntity(id);
         try {
             if (!producto.getNombre().equalsIgnoreCase(dto.getNombre())) {
@@ -55,6 +62,8 @@ public class ProductoOperationService {
             }
             productoFactory.actualizarProductoDesdeDTO(producto, dto);
             Producto actualizado = productoRepository.save(producto);
+            stockLedger.reconciliar(id);
+            catalogoCache.invalidar(id);
             productoLogger.logEdicionExitosa(actualizado);
             return actualizado;
         } catch (Exception e) {
@@ -75,6 +84,8 @@ public class ProductoOperationService {
             throw new IllegalStateException("No se puede eliminar el producto porque está asociado a una reserva.");
         }
         productoRepository.delete(producto);
+        stockLedger.descartar(id);
+        catalogoCache.invalidar(id);
         productoLogger.logEliminacionExitosa(id);
     }
 
@@ -0,0 +1,171 @@
+package com.patojunit.service.operations;
+
+import com.patojunit.dto.request.ProductoCantidadCrearEditarDTO;
+import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.factory.ReservaFactory;
+import com.patojunit.helpers.reserva.ReservaCalculoService;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
+import com.patojunit.model.Producto;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.UserSec;
+import com.patojunit.repository.IProductoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Alta de muchas reservas en una sola operación. Resuelve todos los productos con una
+ * consulta, valida cada ítem antes de escribir nada y persiste las aceptadas con inserts
+ * en lote. Los ítems inválidos no cancelan el resto: se informan en su posición.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservaLoteOperationService {
+
+    private final IProductoRepository productoRepository;
+    private final ReservaFactory reservaFactory;
+    private final ReservaCalculoService calculoService;
+    private final ReservaDisponibilidadIndex disponibilidadIndex;
+    private final Validator beanValidator;
+    private final EntityManager entityManager;
+
+    @Value("${reserva.lote.max-items:500}")
+    private int maxItems;
+
+    @Value("${reserva.lote.jdbc-batch-size:50}")
+    private int tamanioBatch;
+
+    /**
+     * Resultado de un ítem del lote: la reserva persistida o el motivo del rechazo.
+     */
+    public record ItemLote(int indice, Reserva reserva, String error) {
+        public boolean creada() {
+            return reserva != null;
+        }
+    }
+
+    public List<ItemLote> crearLote(List<ReservaCrearEditarDTO> dtos, UserSec usuario) {
+        validarTamanio(dtos);
+        Map<Long, Producto> productos = cargarProductos(dtos);
+
+        ItemLote[] resultados = new ItemLote[dtos.size()];
+        List<Reserva> candidatas = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            ReservaCrearEditarDTO dto = dtos.get(i);
+            String invalido = validarDatos(dto);
+            if (invalido != null) {
+                resultados[i] = new ItemLote(i, null, invalido);
+                continue;
+            }
+            try {
+                Reserva reserva = reservaFactory.crearReserva(dto, usuario, productos);
+                reserva.setPrecioTotal(calculoService.calcularPrecioTotal(reserva));
+                candidatas.add(reserva);
+                indices.add(i);
+            } catch (IllegalArgumentException | EntityNotFoundException e) {
+                resultados[i] = new ItemLote(i, null, e.getMessage());
+            }
+        }
+
+        Map<Integer, String> sinDisponibilidad = disponibilidadIndex.validarDisponibilidadLote(candidatas);
+        List<Reserva> aceptadas = new ArrayList<>();
+        for (int c = 0; c < candidatas.size(); c++) {
+            int indice = indices.get(c);
+            String rechazo = sinDisponibilidad.get(c);
+            if (rechazo != null) {
+                resultados[indice] = new ItemLote(indice, null, rechazo);
+            } else {
+                aceptadas.add(candidatas.get(c));
+                resultados[indice] = new ItemLote(indice, candidatas.get(c), null);
+            }
+        }
+
+        persistirEnLote(aceptadas);
+        log.info("[ReservaLote] Lote procesado: {} ítems, {} creadas, {} rechazadas.",
+                dtos.size(), aceptadas.size(), dtos.size() - aceptadas.size());
+        return Arrays.asList(resultados);
+    }
+
+    private void validarTamanio(List<ReservaCrearEditarDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("Debe enviar al menos una reserva.");
+        }
+        if (dtos.size() > maxItems) {
+            throw new IllegalArgumentException("El lote no puede superar las " + maxItems + " reservas.");
+        }
+    }
+
+    /**
+     * Una sola consulta para todos los productos referenciados por el lote.
+     */
+    private Map<Long, Producto> cargarProductos(List<ReservaCrearEditarDTO> dtos) {
+        Set<Long> ids = dtos.stream()
+                .filter(dto -> dto != null && dto.getProductos() != null)
+                .flatMap(dto -> dto.getProductos().stream())
+                .filter(Objects::nonNull)
+                .map(ProductoCantidadCrearEditarDTO::getIdProducto)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return productoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Producto::getId, Function.identity()));
+    }
+
+    /**
+     * Las mismas validaciones de Bean Validation que aplica el alta individual, pero por ítem
+     * para poder informar cada error sin rechazar todo el lote. Las líneas se revisan a mano
+     * con los mensajes de {@link ProductoCantidadCrearEditarDTO}.
+     */
+    private String validarDatos(ReservaCrearEditarDTO dto) {
+        if (dto == null || dto.getProductos() == null) {
+            return "La reserva y su lista de productos son obligatorias.";
+        }
+
+        List<String> errores = beanValidator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        for (ProductoCantidadCrearEditarDTO linea : dto.getProductos()) {
+            if (linea == null || linea.getIdProducto() == null) {
+                errores.add("El ID del producto es obligatorio");
+            } else if (linea.getCantidad() < 1) {
+                errores.add("La cantidad debe ser al menos 1");
+            }
+        }
+        return errores.isEmpty() ? null : String.join("; ", errores);
+    }
+
+    /**
+     * Persiste las reservas aceptadas; las líneas van en cascada. Con {@code order_inserts}
+     * Hibernate agrupa los INSERT de cada tabla en batches, y para el lote se usa un tamaño
+     * de batch propio. Los ids salen de la secuencia con preasignación, sin un round trip por fila.
+     */
+    private void persistirEnLote(List<Reserva> reservas) {
+        if (reservas.isEmpty()) {
+            return;
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        Integer batchAnterior = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(tamanioBatch);
+        try {
+            reservas.forEach(entityManager::persist);
+            entityManager.flush();
+        } finally {
+            session.setJdbcBatchSize(batchAnterior);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.patojunit.dto.request.ReservaCrearEditarDTO;
 import com.patojunit.factory.ReservaFactory;
 import com.patojunit.helpers.logger.reserva.ReservaLogger;
 import com.patojunit.helpers.reserva.ReservaCalculoService;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
 import com.patojunit.helpers.reserva.ReservaMapper;
 import com.patojunit.helpers.reserva.ReservaStockHandler;
 import com.patojunit.validation.ReservaValidator;
@@ -32,6 +33,7 @@ public class ReservaOperationService {
     private final ReservaLogger reservaLogger;
     private final ProductoOperationService productoOperationService;
     private final IReservaRepository reservaRepository;
+    private final ReservaDisponibilidadIndex disponibilidadIndex;
 
     public Reserva crearReserva(ReservaCrearEditarDTO dto, UserSec usuario) {
         reservaLogger.logCreacionInicio(usuario);
@@ -40,6 +42,7 @@ public class ReservaOperationService {
 
         var productos = stockHandler.generarProductosConValidacion(dto, reserva);
         reserva.setProductos(productos);
+        disponibilidadIndex.validarDisponibilidad(reserva);
 
         reserva.setPrecioTotal(calculoService.calcularPrecioTotal(reserva));
 
@@ -57,6 +60,8 @@ public class ReservaOperationService {
         reserva.getProductos().addAll(productosActualizados);
 
         mapper.actualizarDatosBasicos(reserva, dto);
+        disponibilidadIndex.validarDisponibilidad(reserva);
+
         reserva.setPrecioTotal(calculoService.calcularPrecioTotal(reserva));
 
         reservaLogger.logEdicionExitosa(reserva);
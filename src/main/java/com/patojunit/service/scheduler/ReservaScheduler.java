@@ -1,44 +1,156 @@
 package com.patojunit.service.scheduler;
 
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
 import com.patojunit.helpers.reserva.ReservaStockHandler;
 import com.patojunit.model.Reserva;
 import com.patojunit.model.enums.EstadoReserva;
 import com.patojunit.repository.IReservaRepository;
+import com.patojunit.utils.ReintentoConBackoff;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ReservaScheduler {
 
+    private static final String METRICA = "reserva.scheduler";
+    private static final String METRICA_RESERVAS = "reserva.scheduler.reservas";
+    private static final String ACTIVACION = "activacion";
+    private static final String FINALIZACION = "finalizacion";
+
+    /**
+     * Con el planificador habilitado el barrido es solo una red de seguridad y puede ser largo;
+     * sin él es el único mecanismo de transición y corre con el intervalo corto.
+     */
+    static final String INTERVALO_BARRIDO = "#{${reserva.scheduler.planificador.habilitado:true}"
+            + " ? ${reserva.scheduler.planificador.barrido-ms:600000}"
+            + " : ${reserva.scheduler.barrido-ms:60000}}";
+
     private final IReservaRepository reservaRepository;
     private final ReservaStockHandler stockHandler;
+    private final ReservaDisponibilidadIndex disponibilidadIndex;
+    private final ReservaTransicionLoteService transicionLoteService;
+    private final ReintentoConBackoff reintento;
+    private final MetricasService metricas;
+
+    /** Si está deshabilitado se usa el recorrido reserva por reserva. */
+    @Value("${reserva.scheduler.lote.habilitado:true}")
+    private boolean loteHabilitado;
+
+    @Value("${reserva.scheduler.lote.tamanio:500}")
+    private int tamanioLote;
+
+    public record ResultadoTransicion(int procesadas, int fallidas, int lotes, long duracionMs) {
+        public long reservasPorSegundo() {
+            return duracionMs == 0 ? procesadas : procesadas * 1000L / duracionMs;
+        }
+    }
 
-    @Scheduled(fixedDelay = 60000)
+    /**
+     * Barrido periódico. Con {@link ReservaTransicionPlanificador} habilitado las transiciones
+     * se disparan a horario y este barrido solo actúa como red de seguridad (ver {@link #INTERVALO_BARRIDO}).
+     */
+    @Scheduled(fixedDelayString = INTERVALO_BARRIDO)
     public void manejarReservasPorFecha() {
         LocalDateTime ahora = LocalDateTime.now();
         try {
-            activarReservasPendientes(ahora);
-            finalizarReservasActivas(ahora);
+            if (loteHabilitado) {
+                activarEnLotes(ahora);
+                finalizarEnLotes(ahora);
+            } else {
+                activarReservasPendientes(ahora);
+                finalizarReservasActivas(ahora);
+            }
         } catch (Exception e) {
             log.error("[ReservaScheduler] Error general en scheduler: {}", e.getMessage(), e);
         }
     }
 
+    public ResultadoTransicion activarEnLotes(LocalDateTime ahora) {
+        return procesarEnLotes("Activación", ACTIVACION,
+                cursorId -> reservaRepository.findIdsPorIniciar(
+                        EstadoReserva.PENDIENTE, ahora, cursorId, Limit.of(tamanioLote)),
+                transicionLoteService::activarLote);
+    }
+
+    public ResultadoTransicion finalizarEnLotes(LocalDateTime ahora) {
+        return procesarEnLotes("Finalización", FINALIZACION,
+                cursorId -> reservaRepository.findIdsPorFinalizar(
+                        EstadoReserva.ACTIVA, ahora, cursorId, Limit.of(tamanioLote)),
+                transicionLoteService::finalizarLote);
+    }
+
+    /**
+     * Recorre las reservas vencidas por id (keyset) y aplica la transición lote a lote.
+     * Un lote con conflicto de concurrencia se reintenta con backoff; si vuelve a fallar se
+     * revierte completo y queda para la próxima ejecución.
+     */
+    private ResultadoTransicion procesarEnLotes(String transicion, String operacion,
+                                                Function<Long, List<Long>> buscarIds,
+                                                Function<List<Long>, ReservaTransicionLoteService.ResultadoLote> aplicar) {
+        Timer.Sample muestra = metricas.iniciar();
+        long inicio = System.nanoTime();
+        long cursorId = 0L;
+        int procesadas = 0;
+        int fallidas = 0;
+        int lotes = 0;
+
+        List<Long> ids;
+        do {
+            ids = buscarIds.apply(cursorId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            cursorId = ids.get(ids.size() - 1);
+            lotes++;
+
+            try {
+                List<Long> lote = ids;
+                ReservaTransicionLoteService.ResultadoLote resultado =
+                        reintento.ejecutar(transicion + " de lote", () -> aplicar.apply(lote));
+                procesadas += resultado.procesadas();
+                fallidas += resultado.rechazadas();
+            } catch (Exception e) {
+                fallidas += ids.size();
+                log.error("[ReservaScheduler] Error en lote de {} ({} reservas, hasta ID={}): {}",
+                        transicion.toLowerCase(), ids.size(), cursorId, e.getMessage());
+            }
+        } while (ids.size() == tamanioLote);
+
+        ResultadoTransicion resultado = new ResultadoTransicion(procesadas, fallidas, lotes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        registrarFase(muestra, operacion, procesadas, fallidas);
+
+        if (lotes > 0) {
+            log.info("[ReservaScheduler] {}: {} reservas en {} lotes ({} con error) en {} ms ({} reservas/s).",
+                    transicion, resultado.procesadas(), resultado.lotes(), resultado.fallidas(),
+                    resultado.duracionMs(), resultado.reservasPorSegundo());
+        }
+        return resultado;
+    }
+
     @Transactional
     public void activarReservasPendientes(LocalDateTime ahora) {
+        Timer.Sample muestra = metricas.iniciar();
         List<Reserva> pendientes = reservaRepository.findByEstadoAndFechaInicioBefore(
                 EstadoReserva.PENDIENTE, ahora
         );
 
-        pendientes.forEach(reserva -> {
+        int fallidas = 0;
+        for (Reserva reserva : pendientes) {
             try {
                 stockHandler.descontarStockProductos(reserva);
                 reserva.setEstado(EstadoReserva.ACTIVA);
@@ -47,28 +159,46 @@ public class ReservaScheduler {
                 log.info("[ReservaScheduler] Reserva ID={} activada. Stock descontado correctamente.",
                         reserva.getId());
             } catch (Exception e) {
+                fallidas++;
                 log.error("[ReservaScheduler] Error al activar reserva ID={}: {}", reserva.getId(), e.getMessage());
             }
-        });
+        }
+        registrarFase(muestra, ACTIVACION, pendientes.size() - fallidas, fallidas);
     }
 
     @Transactional
     public void finalizarReservasActivas(LocalDateTime ahora) {
+        Timer.Sample muestra = metricas.iniciar();
         List<Reserva> activas = reservaRepository.findByEstadoAndFechaFinBefore(
                 EstadoReserva.ACTIVA, ahora
         );
 
-        activas.forEach(reserva -> {
+        int fallidas = 0;
+        for (Reserva reserva : activas) {
             try {
                 stockHandler.restablecerStockProductos(reserva);
                 reserva.setEstado(EstadoReserva.FINALIZADA);
                 reservaRepository.save(reserva);
+                disponibilidadIndex.registrar(reserva);
 
                 log.info("[ReservaScheduler] Reserva ID={} finalizada. Stock restablecido correctamente.",
                         reserva.getId());
             } catch (Exception e) {
+                fallidas++;
                 log.error("[ReservaScheduler] Error al finalizar reserva ID={}: {}", reserva.getId(), e.getMessage());
             }
-        });
+        }
+        registrarFase(muestra, FINALIZACION, activas.size() - fallidas, fallidas);
+    }
+
+    /**
+     * Duración de la fase (resultado {@code error} si alguna reserva falló) y cantidad de
+     * reservas procesadas y fallidas. Corre sin usuario autenticado: el rol es SISTEMA.
+     */
+    private void registrarFase(Timer.Sample muestra, String operacion, int procesadas, int fallidas) {
+        metricas.registrar(muestra, METRICA, operacion,
+                fallidas == 0 ? MetricasService.EXITO : MetricasService.ERROR, MetricasService.ROL_SISTEMA);
+        metricas.contar(METRICA_RESERVAS, operacion, "procesadas", procesadas);
+        metricas.contar(METRICA_RESERVAS, operacion, "fallidas", fallidas);
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.patojunit.service.scheduler;
+
+import com.patojunit.helpers.producto.ProductoCatalogoCache;
+import com.patojunit.helpers.producto.ProductoStockLedger;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IProductoRepository;
+import com.patojunit.repository.IReservaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Aplica las transiciones del scheduler sobre un lote de reservas en una sola transacción:
+ * agrega los movimientos de stock por producto (un UPDATE por producto) y cambia el estado
+ * de todo el lote con un único UPDATE, en lugar de guardar reserva por reserva.
+ *
+ * Si otra operación modifica el stock o las reservas del lote mientras tanto, se lanza
+ * {@link OptimisticLockingFailureException} y el lote completo se revierte y puede reintentarse.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservaTransicionLoteService {
+
+    private final IReservaRepository reservaRepository;
+    private final IProductoRepository productoRepository;
+    private final ReservaDisponibilidadIndex disponibilidadIndex;
+    private final ProductoStockLedger stockLedger;
+    private final ProductoCatalogoCache catalogoCache;
+
+    public record ResultadoLote(int procesadas, int rechazadas) {
+    }
+
+    /**
+     * Activa las reservas del lote que sigan PENDIENTE. Las que no tengan stock suficiente
+     * (contando lo ya descontado por reservas anteriores del mismo lote) quedan pendientes.
+     */
+    @Transactional
+    public ResultadoLote activarLote(List<Long> ids) {
+        List<Reserva> pendientes = reservaRepository.findConProductosByIdInAndEstado(ids, EstadoReserva.PENDIENTE);
+
+        Map<Long, Integer> stockRestante = new HashMap<>();
+        // TreeMap: los UPDATE se emiten siempre en el mismo orden de producto y evitan deadlocks entre lotes
+        Map<Long, Integer> descuentos = new TreeMap<>();
+        List<Reserva> aceptadas = new ArrayList<>();
+
+        for (Reserva reserva : pendientes) {
+            reserva.getProductos().forEach(pc ->
+                    stockRestante.putIfAbsent(pc.getProducto().getId(), stockLedger.stockDisponible(pc.getProducto())));
+
+            Map<Long, Integer> requerido = cantidadesPorProducto(reserva);
+            boolean alcanza = requerido.entrySet().stream()
+                    .allMatch(e -> stockRestante.get(e.getKey()) >= e.getValue());
+
+            if (!alcanza) {
+                log.error("[ReservaScheduler] Error al activar reserva ID={}: stock insuficiente.", reserva.getId());
+                continue;
+            }
+
+            requerido.forEach((idProducto, cantidad) -> {
+                stockRestante.merge(idProducto, -cantidad, Integer::sum);
+                descuentos.merge(idProducto, cantidad, Integer::sum);
+            });
+            aceptadas.add(reserva);
+        }
+
+        descuentos.forEach((idProducto, cantidad) -> {
+            if (!descontarStock(idProducto, cantidad)) {
+                throw new OptimisticLockingFailureException(
+                        "El stock del producto ID=" + idProducto + " cambió durante la activación del lote.");
+            }
+        });
+        cambiarEstado(aceptadas, EstadoReserva.PENDIENTE, EstadoReserva.ACTIVA);
+
+        log.debug("[ReservaScheduler] Lote activado: {} reservas, {} productos actualizados.",
+                aceptadas.size(), descuentos.size());
+        return new ResultadoLote(aceptadas.size(), pendientes.size() - aceptadas.size());
+    }
+
+    /**
+     * Finaliza las reservas del lote que sigan ACTIVA y repone el stock que tenían tomado.
+     */
+    @Transactional
+    public ResultadoLote finalizarLote(List<Long> ids) {
+        List<Reserva> activas = reservaRepository.findConProductosByIdInAndEstado(ids, EstadoReserva.ACTIVA);
+
+        Map<Long, Integer> reposiciones = new TreeMap<>();
+        activas.forEach(reserva ->
+                cantidadesPorProducto(reserva).forEach((idProducto, cantidad) ->
+                        reposiciones.merge(idProducto, cantidad, Integer::sum)));
+
+        reposiciones.forEach(this::reponerStock);
+        cambiarEstado(activas, EstadoReserva.ACTIVA, EstadoReserva.FINALIZADA);
+        activas.forEach(disponibilidadIndex::registrar);
+
+        log.debug("[ReservaScheduler] Lote finalizado: {} reservas, {} productos actualizados.",
+                activas.size(), reposiciones.size());
+        return new ResultadoLote(activas.size(), 0);
+    }
+
+    private void cambiarEstado(List<Reserva> reservas, EstadoReserva actual, EstadoReserva nuevo) {
+        if (reservas.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = reservas.stream().map(Reserva::getId).toList();
+        int actualizadas = reservaRepository.actualizarEstado(ids, actual, nuevo);
+        if (actualizadas != ids.size()) {
+            throw new OptimisticLockingFailureException("Otra operación modificó reservas del lote.");
+        }
+
+        // El UPDATE limpió el contexto de persistencia: las entidades ya están desacopladas
+        reservas.forEach(r -> r.setEstado(nuevo));
+    }
+
+    private boolean descontarStock(Long idProducto, int cantidad) {
+        catalogoCache.invalidar(idProducto);
+        if (!stockLedger.isHabilitado()) {
+            return productoRepository.descontarStock(idProducto, cantidad) > 0;
+        }
+        try {
+            stockLedger.descontar(idProducto, cantidad);
+            return true;
+        } catch (IllegalArgumentException sinStock) {
+            return false;
+        }
+    }
+
+    private void reponerStock(Long idProducto, int cantidad) {
+        if (stockLedger.isHabilitado()) {
+            stockLedger.reponer(idProducto, cantidad);
+        } else {
+            productoRepository.reponerStock(idProducto, cantidad);
+        }
+        // Después del ledger, que repone al confirmar (ver ProductoStockService.reponerStock)
+        catalogoCache.invalidar(idProducto);
+    }
+
+    private Map<Long, Integer> cantidadesPorProducto(Reserva reserva) {
+        Map<Long, Integer> cantidades = new HashMap<>();
+        for (ProductoCantidad pc : reserva.getProductos()) {
+            cantidades.merge(pc.getProducto().getId(), pc.getCantidad(), Integer::sum);
+        }
+        return cantidades;
+    }
+}
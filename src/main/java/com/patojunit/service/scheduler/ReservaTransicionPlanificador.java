@@ -0,0 +1,218 @@
+package com.patojunit.service.scheduler;
+
+import com.patojunit.model.Reserva;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IReservaRepository;
+import com.patojunit.utils.ReintentoConBackoff;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispara la activación y la finalización de cada reserva en el momento exacto de su
+ * fechaInicio / fechaFin, usando una DelayQueue en memoria en lugar de consultar la base
+ * cada minuto. Se carga al iniciar la aplicación y se actualiza cuando una reserva se crea,
+ * edita, cancela o elimina. El barrido periódico de {@link ReservaScheduler} queda como
+ * red de seguridad para lo que este planificador no alcance a procesar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservaTransicionPlanificador {
+
+    private static final Set<EstadoReserva> ESTADOS_PROGRAMABLES =
+            EnumSet.of(EstadoReserva.PENDIENTE, EstadoReserva.ACTIVA);
+
+    private final IReservaRepository reservaRepository;
+    private final ReservaTransicionLoteService transicionLoteService;
+    private final ReintentoConBackoff reintento;
+
+    @Value("${reserva.scheduler.planificador.habilitado:true}")
+    private boolean habilitado;
+
+    private final DelayQueue<Disparo> cola = new DelayQueue<>();
+
+    /** idReserva -> fechas vigentes. Los disparos que no coinciden con esto quedaron obsoletos. */
+    private final Map<Long, Programacion> programadas = new ConcurrentHashMap<>();
+
+    private volatile Thread trabajador;
+
+    enum Transicion { ACTIVAR, FINALIZAR }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+
+        List<IReservaRepository.Vencimiento> vigentes = reservaRepository.findVencimientosByEstadoIn(ESTADOS_PROGRAMABLES);
+        vigentes.forEach(v -> programarAhora(v.getId(), v.getEstado(), v.getFechaInicio(), v.getFechaFin()));
+
+        trabajador = new Thread(this::procesarCola, "reserva-planificador");
+        trabajador.setDaemon(true);
+        trabajador.start();
+
+        log.info("[ReservaPlanificador] Iniciado con {} reservas programadas.", vigentes.size());
+    }
+
+    @PreDestroy
+    public void detener() {
+        Thread actual = trabajador;
+        if (actual != null) {
+            actual.interrupt();
+        }
+    }
+
+    /**
+     * Programa (o reprograma) las transiciones de una reserva persistida. Si ya no está
+     * PENDIENTE ni ACTIVA, se descarta lo programado. Se aplica al confirmarse la transacción.
+     */
+    public void programar(Reserva reserva) {
+        if (!habilitado) {
+            return;
+        }
+
+        Long id = reserva.getId();
+        EstadoReserva estado = reserva.getEstado();
+        LocalDateTime inicio = reserva.getFechaInicio();
+        LocalDateTime fin = reserva.getFechaFin();
+
+        alConfirmarTransaccion(() -> programarAhora(id, estado, inicio, fin));
+    }
+
+    public void quitar(Long idReserva) {
+        alConfirmarTransaccion(() -> programadas.remove(idReserva));
+    }
+
+    public int getCantidadProgramadas() {
+        return programadas.size();
+    }
+
+    private void programarAhora(Long id, EstadoReserva estado, LocalDateTime inicio, LocalDateTime fin) {
+        if (id == null) {
+            return;
+        }
+        if (!ESTADOS_PROGRAMABLES.contains(estado) || inicio == null || fin == null) {
+            programadas.remove(id);
+            return;
+        }
+
+        Programacion programacion = new Programacion(inicio, fin);
+        programadas.put(id, programacion);
+
+        if (estado == EstadoReserva.PENDIENTE) {
+            cola.put(new Disparo(id, Transicion.ACTIVAR, inicio));
+        }
+        cola.put(new Disparo(id, Transicion.FINALIZAR, fin));
+    }
+
+    void procesarCola() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Disparo> vencidos = new ArrayList<>();
+                vencidos.add(cola.take());
+                // drainTo de una DelayQueue solo transfiere los elementos ya vencidos
+                cola.drainTo(vencidos);
+                disparar(vencidos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("[ReservaPlanificador] Error al disparar transiciones: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    void disparar(List<Disparo> vencidos) {
+        // Una reserva reprogramada con las mismas fechas deja disparos repetidos en la cola
+        Set<Long> activar = new LinkedHashSet<>();
+        List<Long> finalizar = new ArrayList<>();
+
+        for (Disparo d : vencidos) {
+            Programacion vigente = programadas.get(d.idReserva());
+            if (vigente == null || !vigente.coincide(d)) {
+                continue;
+            }
+            if (d.transicion() == Transicion.ACTIVAR) {
+                activar.add(d.idReserva());
+            } else {
+                finalizar.add(d.idReserva());
+                programadas.remove(d.idReserva(), vigente);
+            }
+        }
+
+        // Primero se activa: una reserva muy corta puede vencer ambas transiciones en el mismo drenado.
+        // Si un lote falla, el barrido de ReservaScheduler lo retoma.
+        if (!activar.isEmpty()) {
+            try {
+                List<Long> ids = List.copyOf(activar);
+                ReservaTransicionLoteService.ResultadoLote resultado =
+                        reintento.ejecutar("Activación a horario", () -> transicionLoteService.activarLote(ids));
+                log.info("[ReservaPlanificador] {} reservas activadas a horario ({} sin stock).",
+                        resultado.procesadas(), resultado.rechazadas());
+            } catch (Exception e) {
+                log.error("[ReservaPlanificador] Error al activar reservas {}: {}", activar, e.getMessage());
+            }
+        }
+        if (!finalizar.isEmpty()) {
+            try {
+                ReservaTransicionLoteService.ResultadoLote resultado =
+                        reintento.ejecutar("Finalización a horario", () -> transicionLoteService.finalizarLote(finalizar));
+                log.info("[ReservaPlanificador] {} reservas finalizadas a horario.", resultado.procesadas());
+            } catch (Exception e) {
+                log.error("[ReservaPlanificador] Error al finalizar reservas {}: {}", finalizar, e.getMessage());
+            }
+        }
+    }
+
+    private void alConfirmarTransaccion(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    private record Programacion(LocalDateTime inicio, LocalDateTime fin) {
+        boolean coincide(Disparo disparo) {
+            LocalDateTime esperado = disparo.transicion() == Transicion.ACTIVAR ? inicio : fin;
+            return esperado.equals(disparo.instante());
+        }
+    }
+
+    record Disparo(Long idReserva, Transicion transicion, LocalDateTime instante, long epochMillis)
+            implements Delayed {
+
+        Disparo(Long idReserva, Transicion transicion, LocalDateTime instante) {
+            this(idReserva, transicion, instante, instante.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(epochMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed otro) {
+            return Long.compare(epochMillis, ((Disparo) otro).epochMillis);
+        }
+    }
+}
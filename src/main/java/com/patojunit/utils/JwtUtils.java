@@ -26,8 +26,12 @@ public class JwtUtils {
     @Value("${security.jwt.user.generator}")
     private String userGenerator;
 
+    // Algorithm y JWTVerifier son inmutables y thread-safe: se construyen una sola vez.
+    private volatile Algorithm algorithm;
+    private volatile JWTVerifier verifier;
+
     public String createToken (Authentication authentication) {
-        Algorithm algorithm = Algorithm.HMAC256(this.privateKey);
+        Algorithm algorithm = getAlgorithm();
 
         String username = authentication.getPrincipal().toString();
 
@@ -50,18 +54,33 @@ public class JwtUtils {
     public DecodedJWT validateToken(String token) {
 
         try {
-            Algorithm algorithm = Algorithm.HMAC256(this.privateKey);
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer(this.userGenerator)
-                    .build();
-
-            return verifier.verify(token);
+            return getVerifier().verify(token);
         }
         catch (JWTVerificationException exception) {
             throw new JWTVerificationException("Invalid token. Not authorized");
         }
     }
 
+    private Algorithm getAlgorithm() {
+        Algorithm actual = this.algorithm;
+        if (actual == null) {
+            actual = Algorithm.HMAC256(this.privateKey);
+            this.algorithm = actual;
+        }
+        return actual;
+    }
+
+    private JWTVerifier getVerifier() {
+        JWTVerifier actual = this.verifier;
+        if (actual == null) {
+            actual = JWT.require(getAlgorithm())
+                    .withIssuer(this.userGenerator)
+                    .build();
+            this.verifier = actual;
+        }
+        return actual;
+    }
+
     public String extractUsername (DecodedJWT decodedJWT) {
         return decodedJWT.getSubject();
     }
@@ -0,0 +1,71 @@
+package com.patojunit.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reintenta una operación ante conflictos de concurrencia (versión desactualizada, lock no
+ * obtenido, deadlock) con espera exponencial y jitter.
+ *
+ * Debe envolver una transacción completa: reintentar dentro de una transacción que ya
+ * falló no sirve, porque queda marcada para rollback.
+ */
+@Slf4j
+@Component
+public class ReintentoConBackoff {
+
+    private final int maxIntentos;
+    private final long esperaInicialMs;
+    private final long esperaMaximaMs;
+
+    public ReintentoConBackoff(@Value("${reintentos.max-intentos:5}") int maxIntentos,
+                               @Value("${reintentos.espera-inicial-ms:10}") long esperaInicialMs,
+                               @Value("${reintentos.espera-maxima-ms:500}") long esperaMaximaMs) {
+        this.maxIntentos = maxIntentos;
+        this.esperaInicialMs = esperaInicialMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    public <T> T ejecutar(String operacion, Supplier<T> accion) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return accion.get();
+            } catch (ConcurrencyFailureException e) {
+                if (intento >= maxIntentos) {
+                    throw e;
+                }
+                long espera = calcularEspera(intento);
+                log.warn("[Reintento] Conflicto en '{}' (intento {}/{}), reintentando en {} ms: {}",
+                        operacion, intento, maxIntentos, espera, e.getMessage());
+                dormir(espera);
+            }
+        }
+    }
+
+    public void ejecutar(String operacion, Runnable accion) {
+        ejecutar(operacion, () -> {
+            accion.run();
+            return null;
+        });
+    }
+
+    /** Espera exponencial acotada, con jitter entre la mitad y el total para no sincronizar reintentos. */
+    long calcularEspera(int intento) {
+        long base = Math.min(esperaMaximaMs, esperaInicialMs << Math.min(intento - 1, 20));
+        return ThreadLocalRandom.current().nextLong(base / 2, base + 1);
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reintento interrumpido", e);
+        }
+    }
+}
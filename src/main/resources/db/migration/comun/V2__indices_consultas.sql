@@ -0,0 +1,7 @@
+-- Indices de las consultas del scheduler y de los caminos calientes (ver PlanConsultasIntTest).
+-- Sintaxis comun a MySQL y H2.
+
+create index idx_reserva_estado_fecha_inicio on reserva (estado, fecha_inicio);
+create index idx_reserva_estado_fecha_fin on reserva (estado, fecha_fin);
+create index idx_producto_cantidad_producto on producto_cantidad (id_producto);
+create index idx_producto_nombre on producto (nombre);
@@ -0,0 +1,89 @@
+-- Esquema inicial (H2 en modo MySQL): el que generaba ddl-auto para estas entidades.
+-- Las secuencias reemplazan a las tablas *_seq que Hibernate usa en MySQL.
+
+create sequence producto_seq start with 1 increment by 10;
+create sequence producto_cantidad_seq start with 1 increment by 250;
+create sequence reserva_seq start with 1 increment by 50;
+
+create table permissions (
+    id bigint generated by default as identity,
+    permission_name varchar(255) not null,
+    primary key (id),
+    constraint uk_permissions_nombre unique (permission_name)
+);
+
+create table roles (
+    id bigint generated by default as identity,
+    name varchar(255),
+    primary key (id)
+);
+
+create table roles_permissions (
+    role_id bigint not null,
+    permission_id bigint not null,
+    primary key (permission_id, role_id),
+    constraint fk_roles_permissions_role foreign key (role_id) references roles (id),
+    constraint fk_roles_permissions_permission foreign key (permission_id) references permissions (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255),
+    password varchar(255),
+    enabled boolean not null,
+    account_not_expired boolean not null,
+    account_not_locked boolean not null,
+    credential_not_expired boolean not null,
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (role_id, user_id),
+    constraint fk_user_roles_user foreign key (user_id) references users (id),
+    constraint fk_user_roles_role foreign key (role_id) references roles (id)
+);
+
+create table producto (
+    id bigint not null,
+    codigo_producto varchar(255),
+    fecha_alta timestamp(6),
+    fecha_ultima_actualizacion timestamp(6),
+    nombre varchar(255),
+    precio_hora numeric(38,2),
+    stock_disponible integer not null,
+    cantidad_reservada_actual integer not null,
+    version bigint not null,
+    primary key (id),
+    constraint uk_producto_codigo unique (codigo_producto)
+);
+
+create table reserva (
+    id bigint not null,
+    codigo_reserva varchar(255),
+    fecha_inicio timestamp(6),
+    fecha_fin timestamp(6),
+    estado enum ('ACTIVA','CANCELADA','FINALIZADA','PENDIENTE'),
+    precio_total numeric(38,2),
+    pagado boolean,
+    usuario_id bigint,
+    primary key (id),
+    constraint uk_reserva_codigo unique (codigo_reserva),
+    constraint fk_reserva_usuario foreign key (usuario_id) references users (id)
+);
+
+create index idx_reserva_usuario on reserva (usuario_id, id);
+create index idx_reserva_fecha_inicio on reserva (fecha_inicio, id);
+create index idx_reserva_estado on reserva (estado, id);
+
+create table producto_cantidad (
+    id bigint not null,
+    id_producto bigint not null,
+    id_reserva bigint not null,
+    cantidad integer not null,
+    primary key (id),
+    constraint fk_producto_cantidad_producto foreign key (id_producto) references producto (id),
+    constraint fk_producto_cantidad_reserva foreign key (id_reserva) references reserva (id)
+);
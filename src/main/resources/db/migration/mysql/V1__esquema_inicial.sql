@@ -0,0 +1,92 @@
+-- Esquema inicial (MySQL 8): el que generaba ddl-auto=update para estas entidades.
+-- Hibernate emula las secuencias con tablas *_seq de una fila.
+
+create table producto_seq (next_val bigint) engine=InnoDB;
+insert into producto_seq values (1);
+create table producto_cantidad_seq (next_val bigint) engine=InnoDB;
+insert into producto_cantidad_seq values (1);
+create table reserva_seq (next_val bigint) engine=InnoDB;
+insert into reserva_seq values (1);
+
+create table permissions (
+    id bigint not null auto_increment,
+    permission_name varchar(255) not null,
+    primary key (id),
+    constraint uk_permissions_nombre unique (permission_name)
+) engine=InnoDB;
+
+create table roles (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table roles_permissions (
+    role_id bigint not null,
+    permission_id bigint not null,
+    primary key (permission_id, role_id),
+    constraint fk_roles_permissions_role foreign key (role_id) references roles (id),
+    constraint fk_roles_permissions_permission foreign key (permission_id) references permissions (id)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255),
+    password varchar(255),
+    enabled bit not null,
+    account_not_expired bit not null,
+    account_not_locked bit not null,
+    credential_not_expired bit not null,
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (role_id, user_id),
+    constraint fk_user_roles_user foreign key (user_id) references users (id),
+    constraint fk_user_roles_role foreign key (role_id) references roles (id)
+) engine=InnoDB;
+
+create table producto (
+    id bigint not null,
+    codigo_producto varchar(255),
+    fecha_alta datetime(6),
+    fecha_ultima_actualizacion datetime(6),
+    nombre varchar(255),
+    precio_hora decimal(38,2),
+    stock_disponible integer not null,
+    cantidad_reservada_actual integer not null,
+    version bigint not null,
+    primary key (id),
+    constraint uk_producto_codigo unique (codigo_producto)
+) engine=InnoDB;
+
+create table reserva (
+    id bigint not null,
+    codigo_reserva varchar(255),
+    fecha_inicio datetime(6),
+    fecha_fin datetime(6),
+    estado enum ('ACTIVA','CANCELADA','FINALIZADA','PENDIENTE'),
+    precio_total decimal(38,2),
+    pagado bit,
+    usuario_id bigint,
+    primary key (id),
+    constraint uk_reserva_codigo unique (codigo_reserva),
+    constraint fk_reserva_usuario foreign key (usuario_id) references users (id)
+) engine=InnoDB;
+
+create index idx_reserva_usuario on reserva (usuario_id, id);
+create index idx_reserva_fecha_inicio on reserva (fecha_inicio, id);
+create index idx_reserva_estado on reserva (estado, id);
+
+create table producto_cantidad (
+    id bigint not null,
+    id_producto bigint not null,
+    id_reserva bigint not null,
+    cantidad integer not null,
+    primary key (id),
+    constraint fk_producto_cantidad_producto foreign key (id_producto) references producto (id),
+    constraint fk_producto_cantidad_reserva foreign key (id_reserva) references reserva (id)
+) engine=InnoDB;
@@ -0,0 +1,81 @@
+package com.patojunit;
+
+import com.patojunit.model.Role;
+import com.patojunit.model.UserSec;
+import com.patojunit.repository.IRoleRepository;
+import com.patojunit.repository.IUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataInitializerTest {
+
+    @Mock private IUserRepository userRepository;
+    @Mock private IRoleRepository roleRepository;
+    @Mock private PasswordEncoder encoder;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(roleRepository.save(any(Role.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userRepository.save(any(UserSec.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Por defecto debe crear roles y usuarios antes de terminar el arranque")
+    void run_PorDefectoDeberiaSembrarEnElMismoHilo() {
+        String hiloActual = Thread.currentThread().getName();
+        CompletableFuture<String> hiloSembrado = new CompletableFuture<>();
+        when(roleRepository.findByName(anyString())).thenAnswer(inv -> {
+            hiloSembrado.complete(Thread.currentThread().getName());
+            return Optional.empty();
+        });
+
+        new DataInitializer(userRepository, roleRepository, encoder, transactionManager, false).run();
+
+        assertEquals(hiloActual, hiloSembrado.getNow(null));
+        verify(roleRepository, times(2)).save(any(Role.class));
+        verify(userRepository, times(2)).save(any(UserSec.class));
+        verify(encoder, times(2)).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("En segundo plano no debe esperar al alta de los usuarios")
+    void run_EnSegundoPlanoDeberiaSembrarEnOtroHilo() throws Exception {
+        CompletableFuture<Void> liberar = new CompletableFuture<>();
+        CompletableFuture<String> hiloSembrado = new CompletableFuture<>();
+        when(roleRepository.findByName(anyString())).thenAnswer(inv -> {
+            hiloSembrado.complete(Thread.currentThread().getName());
+            liberar.get(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        new DataInitializer(userRepository, roleRepository, encoder, transactionManager, true).run();
+
+        // run() volvió aunque el alta sigue bloqueada en la primera consulta
+        assertEquals("datos-iniciales", hiloSembrado.get(5, TimeUnit.SECONDS));
+        verify(userRepository, never()).save(any(UserSec.class));
+
+        liberar.complete(null);
+        verify(userRepository, timeout(5000).times(2)).save(any(UserSec.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.dto.response.ProductoAdminGetDTO;
+import com.patojunit.dto.response.ReservaAdminGetDTO;
+import com.patojunit.helpers.producto.ProductoMapper;
+import com.patojunit.helpers.producto.ProductoStockLedger;
+import com.patojunit.helpers.reserva.ReservaMapper;
+import com.patojunit.helpers.usuario.UsuarioMapper;
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.UserSec;
+import com.patojunit.model.enums.EstadoReserva;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el mapeo reflectivo con ModelMapper contra los mappers escritos a mano
+ * para los DTO de administrador.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="AdminMapperBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdminMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private ReservaMapper reservaMapper;
+    private ProductoMapper productoMapper;
+
+    private Reserva reserva;
+    private Producto producto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        reservaMapper = new ReservaMapper(null, new UsuarioMapper());
+        productoMapper = new ProductoMapper(new ProductoStockLedger(null, null, new SimpleMeterRegistry(), false));
+
+        producto = new Producto(1L, "PROD-REP-0001", LocalDateTime.now(), null,
+                "reposera", BigDecimal.valueOf(1500), 10, 2, 0);
+
+        UserSec usuario = new UserSec();
+        usuario.setId(7L);
+        usuario.setUsername("juan");
+
+        reserva = new Reserva();
+        reserva.setId(3L);
+        reserva.setCodigoReserva("RES-7-0001");
+        reserva.setEstado(EstadoReserva.PENDIENTE);
+        reserva.setFechaInicio(LocalDateTime.now().plusDays(1));
+        reserva.setFechaFin(LocalDateTime.now().plusDays(1).plusHours(3));
+        reserva.setPrecioTotal(BigDecimal.valueOf(9000));
+        reserva.setUsuario(usuario);
+        for (int i = 0; i < 5; i++) {
+            reserva.getProductos().add(new ProductoCantidad((long) i, producto, reserva, 2));
+        }
+    }
+
+    @Benchmark
+    public ReservaAdminGetDTO reservaModelMapper() {
+        return modelMapper.map(reserva, ReservaAdminGetDTO.class);
+    }
+
+    @Benchmark
+    public ReservaAdminGetDTO reservaManual() {
+        return reservaMapper.toAdminGetDTO(reserva);
+    }
+
+    @Benchmark
+    public ProductoAdminGetDTO productoModelMapper() {
+        return modelMapper.map(producto, ProductoAdminGetDTO.class);
+    }
+
+    @Benchmark
+    public ProductoAdminGetDTO productoManual() {
+        return productoMapper.toAdminGetDTO(producto);
+    }
+}
@@ -0,0 +1,59 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.EjercicioFinalApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de arranque de la aplicación completa (perfil prod, H2 en modo MySQL) según quién maneja
+ * el esquema:
+ * <ul>
+ *   <li>{@code create-drop}: lo que hacía prod, Hibernate borra y crea todo en cada arranque.</li>
+ *   <li>{@code update}: lo que hacía dev, Hibernate inspecciona el esquema existente y lo completa.</li>
+ *   <li>{@code migraciones}: Flyway revisa su historial y Hibernate solo valida.</li>
+ * </ul>
+ * Cada muestra es un arranque y cierre del contexto. La base sobrevive entre arranques del mismo
+ * modo, así que a partir del primero {@code update} y {@code migraciones} encuentran el esquema hecho.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ArranqueEsquemaBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ArranqueEsquemaBenchmark {
+
+    @Param({"create-drop", "update", "migraciones"})
+    private String esquema;
+
+    private String[] argumentos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean migraciones = "migraciones".equals(esquema);
+        // Como argumentos de línea de comandos, para que ganen sobre application-prod.properties
+        argumentos = new String[]{
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench-arranque-" + esquema + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--spring.flyway.enabled=" + migraciones,
+                "--spring.jpa.hibernate.ddl-auto=" + (migraciones ? "validate" : esquema),
+                "--logging.level.root=WARN",
+                "--logging.level.com.patojunit=WARN",
+                "--logging.file.name=" + System.getProperty("java.io.tmpdir") + "/bench-arranque.log",
+                "--reserva.scheduler.planificador.habilitado=false"
+        };
+    }
+
+    @Benchmark
+    public void arrancar() {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(EjercicioFinalApplication.class)
+                .profiles("prod")
+                .run(argumentos);
+        contexto.close();
+    }
+}
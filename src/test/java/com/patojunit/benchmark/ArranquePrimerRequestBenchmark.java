@@ -0,0 +1,186 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.utils.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo desde que se lanza {@code java} hasta la primera respuesta 200 de GET /producto/get
+ * (seguridad JWT + consulta JPA), con el jar empaquetado y un proceso nuevo por muestra:
+ * <ul>
+ *   <li>{@code base}: perfil prod, como arranca hoy.</li>
+ *   <li>{@code rapido}: prod,rapido; inicialización diferida y datos iniciales en segundo plano.</li>
+ *   <li>{@code aot}: lo anterior más el código generado por Spring AOT.</li>
+ *   <li>{@code aot-cds}: lo anterior más el archivo AppCDS, generado en el setup con un arranque
+ *       de entrenamiento igual al del Dockerfile.</li>
+ * </ul>
+ * Todos los modos corren el jar extraído ({@code -Djarmode=tools extract}), que es lo que CDS
+ * necesita. Los modos aot necesitan el jar construido con el perfil Maven arranque-rapido:
+ *   mvn -Parranque-rapido -DskipTests package
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ArranquePrimerRequestBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArranquePrimerRequestBenchmark {
+
+    private static final String JAR = System.getProperty("arranque.jar", "target/ejercicio-final-1.0-SNAPSHOT.jar");
+    private static final Duration LIMITE = Duration.ofMinutes(3);
+
+    @Param({"base", "rapido", "aot", "aot-cds"})
+    private String modo;
+
+    private Path directorio;
+    private Path jar;
+    private List<String> opcionesJvm;
+    private List<String> perfiles;
+    private String token;
+    private HttpClient cliente;
+    private Process proceso;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directorio = Files.createTempDirectory("bench-arranque-");
+        ejecutar(List.of(java(), "-Djarmode=tools", "-jar", new File(JAR).getAbsolutePath(),
+                "extract", "--destination", directorio.resolve("app").toString()));
+        jar = directorio.resolve("app").resolve(new File(JAR).getName());
+
+        opcionesJvm = new ArrayList<>();
+        perfiles = List.of("prod");
+        if (!"base".equals(modo)) {
+            perfiles = List.of("prod", "rapido");
+        }
+        if (modo.startsWith("aot")) {
+            opcionesJvm.add("-Dspring.aot.enabled=true");
+        }
+        if ("aot-cds".equals(modo)) {
+            Path archivo = directorio.resolve("app.jsa");
+            List<String> entrenamiento = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archivo,
+                    "-Dspring.context.exit=onRefresh"));
+            entrenamiento.addAll(opcionesJvm);
+            entrenamiento.addAll(List.of("-jar", jar.toString()));
+            entrenamiento.addAll(argumentos(0));
+            ejecutar(entrenamiento);
+            opcionesJvm.add("-XX:SharedArchiveFile=" + archivo);
+        }
+
+        token = tokenAdmin();
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+    }
+
+    @Benchmark
+    public int arrancarHastaPrimerRequest() throws Exception {
+        int puerto = puertoLibre();
+        List<String> comando = new ArrayList<>(List.of(java()));
+        comando.addAll(opcionesJvm);
+        comando.addAll(List.of("-jar", jar.toString()));
+        comando.addAll(argumentos(puerto));
+        proceso = new ProcessBuilder(comando)
+                .directory(directorio.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/producto/get"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!proceso.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó con código " + proceso.exitValue());
+            }
+            try {
+                HttpResponse<Void> respuesta = cliente.send(request, HttpResponse.BodyHandlers.discarding());
+                if (respuesta.statusCode() == 200) {
+                    return respuesta.statusCode();
+                }
+                throw new IllegalStateException("Primer request respondió " + respuesta.statusCode());
+            } catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new IllegalStateException("La aplicación no respondió en " + LIMITE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void detener() throws InterruptedException {
+        if (proceso != null) {
+            proceso.destroy();
+            proceso.waitFor(30, TimeUnit.SECONDS);
+            proceso = null;
+        }
+    }
+
+    /** Mismos argumentos para el entrenamiento de CDS y las muestras: la base queda en memoria del proceso. */
+    private List<String> argumentos(int puerto) {
+        return List.of(
+                "--spring.profiles.active=" + String.join(",", perfiles),
+                "--server.port=" + puerto,
+                "--logging.level.root=WARN",
+                "--logging.level.com.patojunit=WARN",
+                "--logging.file.name=" + directorio.resolve("app.log"),
+                "--reserva.scheduler.planificador.habilitado=false");
+    }
+
+    /** Token de ADMIN firmado con la clave de application.properties, sin depender de los usuarios iniciales. */
+    private String tokenAdmin() throws IOException {
+        Properties propiedades = new Properties();
+        try (InputStream entrada = getClass().getResourceAsStream("/application.properties")) {
+            propiedades.load(entrada);
+        }
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "privateKey", propiedades.getProperty("security.jwt.private.key"));
+        ReflectionTestUtils.setField(jwtUtils, "userGenerator", propiedades.getProperty("security.jwt.user.generator"));
+        return jwtUtils.createToken(new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    private void ejecutar(List<String> comando) throws IOException, InterruptedException {
+        Process p = new ProcessBuilder(comando)
+                .directory(directorio.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!p.waitFor(LIMITE.toSeconds(), TimeUnit.SECONDS) || p.exitValue() != 0) {
+            p.destroyForcibly();
+            throw new IllegalStateException("Falló: " + String.join(" ", comando));
+        }
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.EjercicioFinalApplication;
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.UserSec;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IProductoRepository;
+import com.patojunit.repository.IReservaRepository;
+import com.patojunit.repository.IUserRepository;
+import com.patojunit.utils.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga: 1000 clientes concurrentes contra GET /reserva/get (listado de ADMIN, una
+ * consulta JDBC por request) con la aplicación completa, comparando hilos de plataforma de Tomcat contra el
+ * perfil {@code virtual}. El modo SampleTime reporta la latencia por request con percentiles;
+ * el throughput sale de clientes / latencia media.
+ *
+ * El perfil virtual necesita Java 21 en el fork:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="CargaHilosBenchmark -jvm /ruta/a/java21/bin/java"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(1000)
+@Fork(value = 1, jvmArgsAppend = "-Xss512k")
+public class CargaHilosBenchmark {
+
+    private static final int RESERVAS = 10;
+    private static final int POOL = 10;
+
+    @Param({"plataforma", "virtual"})
+    private String hilos;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Como argumentos de línea de comandos, para que ganen sobre application-prod.properties.
+        // Pool y timeout iguales en los dos modos: se compara solo el modelo de hilos.
+        String[] argumentos = {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench-carga;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--datasource.pool.tamanio-maximo=" + POOL,
+                "--spring.datasource.hikari.connection-timeout=60000",
+                "--logging.level.root=WARN",
+                "--logging.level.com.patojunit=WARN",
+                "--logging.file.name=" + System.getProperty("java.io.tmpdir") + "/bench-carga.log",
+                "--reserva.scheduler.planificador.habilitado=false"
+        };
+
+        String[] perfiles = "virtual".equals(hilos) ? new String[]{"prod", "virtual"} : new String[]{"prod"};
+        contexto = new SpringApplicationBuilder(EjercicioFinalApplication.class)
+                .profiles(perfiles)
+                .run(argumentos);
+
+        sembrarReservas();
+
+        String token = contexto.getBean(JwtUtils.class).createToken(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        int puerto = contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/reserva/get"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    /** Reservas del usuario "user" que crea DataInitializer, con tres líneas cada una. */
+    private void sembrarReservas() {
+        IProductoRepository productoRepository = contexto.getBean(IProductoRepository.class);
+        UserSec usuario = contexto.getBean(IUserRepository.class).findByUsername("user").orElseThrow();
+        Producto producto = new Producto();
+        producto.setNombre("carga");
+        producto.setPrecioHora(BigDecimal.TEN);
+        producto.setStockDisponible(1_000_000);
+        producto = productoRepository.save(producto);
+
+        LocalDateTime inicio = LocalDateTime.now().plusDays(1);
+        IReservaRepository reservaRepository = contexto.getBean(IReservaRepository.class);
+        for (int i = 0; i < RESERVAS; i++) {
+            Reserva reserva = new Reserva();
+            reserva.setUsuario(usuario);
+            reserva.setEstado(EstadoReserva.PENDIENTE);
+            reserva.setCodigoReserva("RES-CARGA-" + i);
+            reserva.setFechaInicio(inicio.plusDays(i));
+            reserva.setFechaFin(inicio.plusDays(i).plusHours(2));
+            reserva.setPrecioTotal(BigDecimal.TEN);
+            for (int l = 0; l < 3; l++) {
+                ProductoCantidad linea = new ProductoCantidad();
+                linea.setProducto(producto);
+                linea.setReserva(reserva);
+                linea.setCantidad(1);
+                reserva.getProductos().add(linea);
+            }
+            reservaRepository.save(reserva);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int listarReservas() throws Exception {
+        HttpResponse<Void> respuesta = cliente.send(request, HttpResponse.BodyHandlers.discarding());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("Respuesta inesperada: " + respuesta.statusCode());
+        }
+        return respuesta.statusCode();
+    }
+}
@@ -0,0 +1,36 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.helpers.codigo.GeneradorCodigos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación del código de reserva con varios hilos a la vez: el sufijo de UUID.randomUUID()
+ * que se usaba antes (pasa por SecureRandom, sincronizado) contra {@link GeneradorCodigos}.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="CodigoReservaBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CodigoReservaBenchmark {
+
+    private final GeneradorCodigos generador = new GeneradorCodigos(0L);
+
+    @Benchmark
+    public String uuid() {
+        String sufijo = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+        return "RES-" + 1L + "-" + sufijo;
+    }
+
+    @Benchmark
+    public String generador() {
+        return "RES-" + generador.siguienteCodigo();
+    }
+}
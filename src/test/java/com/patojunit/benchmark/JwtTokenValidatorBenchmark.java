@@ -0,0 +1,82 @@
+package com.patojunit.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.patojunit.config.filter.JwtTokenValidator;
+import com.patojunit.helpers.metricas.MetricasDePrueba;
+import com.patojunit.helpers.security.JwtAuthenticationCache;
+import com.patojunit.utils.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo del filtro JWT por request: verificación completa en cada llamada
+ * (como antes, reconstruyendo Algorithm y JWTVerifier) contra el filtro con verifier
+ * único y cache de tokens verificados.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtTokenValidatorBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenValidatorBenchmark {
+
+    private static final String CLAVE = "f4e5d3bad303c742f671fbf03518e9bc94adf6921eacb60c1074496e143e3ce0";
+    private static final String EMISOR = "pato";
+    private static final FilterChain CADENA_VACIA = (req, res) -> { };
+
+    private String token;
+    private JwtTokenValidator filtroConCache;
+    private JwtTokenValidator filtroSinCache;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "privateKey", CLAVE);
+        ReflectionTestUtils.setField(jwtUtils, "userGenerator", EMISOR);
+
+        token = jwtUtils.createToken(new UsernamePasswordAuthenticationToken("juan", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))));
+
+        filtroConCache = new JwtTokenValidator(jwtUtils, new JwtAuthenticationCache(new SimpleMeterRegistry(), 10_000, 300), MetricasDePrueba.enMemoria());
+        // Cache de capacidad 0: nunca guarda, reproduce la verificación en cada request
+        filtroSinCache = new JwtTokenValidator(jwtUtils, new JwtAuthenticationCache(new SimpleMeterRegistry(), 0, 300), MetricasDePrueba.enMemoria());
+
+        request = new MockHttpServletRequest("GET", "/reserva/get");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object verificacionOriginal() {
+        // Lo que hacía JwtUtils.validateToken por request antes del cambio
+        return JWT.require(Algorithm.HMAC256(CLAVE)).withIssuer(EMISOR).build().verify(token);
+    }
+
+    @Benchmark
+    public Object filtroSinCache() throws Exception {
+        filtroSinCache.doFilter(request, response, CADENA_VACIA);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object filtroConCache() throws Exception {
+        filtroConCache.doFilter(request, response, CADENA_VACIA);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,105 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.EjercicioFinalApplication;
+import com.patojunit.utils.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ráfaga de logins (BCrypt) en paralelo con tráfico de GET /reserva/get, sobre la aplicación completa.
+ * "sin-limite" reproduce el comportamiento anterior (un hash por hilo de Tomcat, hasta 200 a la vez);
+ * "acotado" usa el pool de login por defecto. Interesa la latencia del grupo reserva y cuántos logins
+ * por segundo se completan; los 429 se cuentan aparte y se imprimen al final.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class LoginConcurrenteBenchmark {
+
+    @Param({"sin-limite", "acotado"})
+    private String poolLogin;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private HttpRequest login;
+    private HttpRequest listado;
+    private final LongAdder rechazados = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String hilosLogin = "sin-limite".equals(poolLogin) ? "200" : "0";
+        contexto = new SpringApplicationBuilder(EjercicioFinalApplication.class)
+                .profiles("prod")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-login;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--seguridad.login.hilos=" + hilosLogin,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.patojunit=WARN",
+                        "--logging.file.name=" + System.getProperty("java.io.tmpdir") + "/bench-login.log",
+                        "--reserva.scheduler.planificador.habilitado=false");
+
+        String token = contexto.getBean(JwtUtils.class).createToken(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        String base = "http://localhost:" + contexto.getEnvironment().getRequiredProperty("local.server.port");
+
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        login = HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"user_123\"}"))
+                .build();
+        listado = HttpRequest.newBuilder(URI.create(base + "/reserva/get"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("\nLogins rechazados con 429 (" + poolLogin + "): " + rechazados.sum());
+        contexto.close();
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(64)
+    public int login() throws Exception {
+        int estado = cliente.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (estado == 429) {
+            rechazados.increment();
+        } else if (estado != 200) {
+            throw new IllegalStateException("Login respondió " + estado);
+        }
+        return estado;
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(8)
+    public int reservas() throws Exception {
+        int estado = cliente.send(listado, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (estado != 200) {
+            throw new IllegalStateException("Listado respondió " + estado);
+        }
+        return estado;
+    }
+}
@@ -0,0 +1,78 @@
+package com.patojunit.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.patojunit.helpers.logger.producto.ProductoLogger;
+import com.patojunit.model.Producto;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link ProductoLogger} con el nivel apagado. "anterior" reproduce la implementación
+ * previa (String.format y concatenación antes de consultar el nivel); "actual" usa el logger
+ * con guardas. Sin appenders: se mide solo lo que se paga antes de descartar el evento.
+ * Con el nivel que trae application.properties (INFO) los métodos de DEBUG, como el descuento de
+ * stock, están apagados igual que acá; los de INFO solo cuando se sube el nivel a WARN.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ProductoLoggerBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductoLoggerBenchmark {
+
+    private final ProductoLogger productoLogger = new ProductoLogger();
+    private final org.slf4j.Logger log = LoggerFactory.getLogger(ProductoLogger.class);
+    private Producto producto;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).detachAndStopAllAppenders();
+        ((Logger) LoggerFactory.getLogger(ProductoLogger.class)).setLevel(Level.WARN);
+
+        producto = new Producto();
+        producto.setId(1_000L);
+        producto.setNombre("reposera");
+        producto.setStockDisponible(500);
+        id = 1_000L;
+    }
+
+    @Benchmark
+    public void anteriorAccionConProducto() {
+        log.info("[ProductoLogger] Producto='{}' (ID={}) - {}",
+                producto.getNombre(), producto.getId(),
+                String.format("stock ajustado en %d unidades", id));
+    }
+
+    @Benchmark
+    public void actualAccionConProducto() {
+        productoLogger.logAccion(producto, "stock ajustado en %d unidades", id);
+    }
+
+    @Benchmark
+    public void anteriorAccion() {
+        log.info("[ProductoLogger] " + "Consulta individual de producto. ID={}", new Object[]{id});
+    }
+
+    @Benchmark
+    public void actualAccion() {
+        productoLogger.logAccion("Consulta individual de producto. ID={}", id);
+    }
+
+    @Benchmark
+    public void anteriorDescuentoStock() {
+        log.debug("[ProductoLogger] Stock descontado para producto ID={}, Nombre='{}', Cantidad descontada={}, Stock restante={}",
+                producto.getId(), producto.getNombre(), 250, producto.getStockDisponible());
+    }
+
+    @Benchmark
+    public void actualDescuentoStock() {
+        productoLogger.logDescuentoStock(producto, 250);
+    }
+}
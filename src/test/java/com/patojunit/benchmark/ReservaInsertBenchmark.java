@@ -0,0 +1,137 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.EjercicioFinalApplication;
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.UserSec;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IProductoRepository;
+import com.patojunit.repository.IUserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservas insertadas por segundo contra H2 en modo MySQL, con el contexto de Spring
+ * completo. "original" desactiva el batching y el orden de inserts y usa el optimizador
+ * pooled, como antes; "batch" usa la configuración de application.properties.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReservaInsertBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservaInsertBenchmark {
+
+    private static final int RESERVAS_POR_TRANSACCION = 50;
+
+    @Param({"original", "batch"})
+    private String configuracion;
+
+    @Param({"5", "20"})
+    private int lineasPorReserva;
+
+    private ConfigurableApplicationContext contexto;
+    private TransactionTemplate transaccion;
+    private EntityManager entityManager;
+    private List<Long> idsProductos;
+    private Long idUsuario;
+    private LocalDateTime inicio;
+    /** codigo_reserva es único: cada reserva necesita el suyo. */
+    private long secuenciaCodigo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> propiedades = new HashMap<>();
+        propiedades.put("spring.datasource.url", "jdbc:h2:mem:bench-insert;DB_CLOSE_DELAY=-1;MODE=MySQL");
+        propiedades.put("logging.level.root", "WARN");
+        propiedades.put("logging.level.com.patojunit", "WARN");
+        propiedades.put("reserva.scheduler.planificador.habilitado", "false");
+        if ("original".equals(configuracion)) {
+            propiedades.put("spring.jpa.properties.hibernate.jdbc.batch_size", "0");
+            propiedades.put("spring.jpa.properties.hibernate.order_inserts", "false");
+            propiedades.put("spring.jpa.properties.hibernate.order_updates", "false");
+            propiedades.put("spring.jpa.properties.hibernate.id.optimizer.pooled.preferred", "pooled");
+        }
+
+        contexto = new SpringApplicationBuilder(EjercicioFinalApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(propiedades)
+                .run();
+
+        transaccion = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+
+        IProductoRepository productoRepository = contexto.getBean(IProductoRepository.class);
+        idsProductos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("bench-" + i);
+            producto.setPrecioHora(BigDecimal.TEN);
+            producto.setStockDisponible(1_000_000);
+            idsProductos.add(productoRepository.save(producto).getId());
+        }
+
+        UserSec usuario = new UserSec();
+        usuario.setUsername("bench");
+        idUsuario = contexto.getBean(IUserRepository.class).save(usuario).getId();
+        inicio = LocalDateTime.now().plusDays(1);
+    }
+
+    /** Vacía las tablas para que cada iteración mida sobre el mismo volumen de datos. */
+    @TearDown(Level.Iteration)
+    public void limpiar() {
+        transaccion.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM producto_cantidad").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM reserva").executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESERVAS_POR_TRANSACCION)
+    public void insertarReservas() {
+        transaccion.executeWithoutResult(status -> {
+            UserSec usuario = entityManager.getReference(UserSec.class, idUsuario);
+            for (int r = 0; r < RESERVAS_POR_TRANSACCION; r++) {
+                Reserva reserva = new Reserva();
+                reserva.setUsuario(usuario);
+                reserva.setEstado(EstadoReserva.PENDIENTE);
+                reserva.setCodigoReserva("RES-BENCH-" + secuenciaCodigo++);
+                reserva.setFechaInicio(inicio);
+                reserva.setFechaFin(inicio.plusHours(2));
+                reserva.setPrecioTotal(BigDecimal.TEN);
+                for (int l = 0; l < lineasPorReserva; l++) {
+                    ProductoCantidad pc = new ProductoCantidad();
+                    pc.setProducto(entityManager.getReference(Producto.class, idsProductos.get(l)));
+                    pc.setReserva(reserva);
+                    pc.setCantidad(1);
+                    reserva.getProductos().add(pc);
+                }
+                entityManager.persist(reserva);
+            }
+        });
+    }
+}
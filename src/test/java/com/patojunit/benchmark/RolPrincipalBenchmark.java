@@ -0,0 +1,86 @@
+package com.patojunit.benchmark;
+
+import com.patojunit.helpers.security.JwtRoleValidator;
+import com.patojunit.helpers.security.RoleBasedMapper;
+import com.patojunit.helpers.security.UsuarioAutenticado;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Mapeo por rol de un listado de 10k elementos de un ADMIN: consulta del rol como se hacía antes
+ * (SimpleGrantedAuthority nuevo + contains sobre las authorities, por elemento) contra el
+ * principal con los roles en bits.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RolPrincipalBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RolPrincipalBenchmark {
+
+    private static final int ELEMENTOS = 10_000;
+
+    private final RoleBasedMapper mapper = new RoleBasedMapper(new JwtRoleValidator());
+    private List<Integer> elementos;
+    private Authentication conPrincipal;
+    private Authentication conString;
+
+    @Setup
+    public void setUp() {
+        elementos = new ArrayList<>(ELEMENTOS);
+        for (int i = 0; i < ELEMENTOS; i++) {
+            elementos.add(i);
+        }
+        // Un ADMIN real del JWT: ADMIN, USER y permisos
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(
+                "ROLE_USER", "READ_PRIVILEGES", "CREATE", "UPDATE", "ROLE_ADMIN");
+        conPrincipal = new UsernamePasswordAuthenticationToken(
+                UsuarioAutenticado.desde("admin", authorities), null, authorities);
+        conString = new UsernamePasswordAuthenticationToken("admin", null, authorities);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public long original() {
+        SecurityContextHolder.getContext().setAuthentication(conString);
+        long suma = 0;
+        for (Integer e : elementos) {
+            suma += mapByRoleOriginal(e, x -> (long) -x, x -> (long) x);
+        }
+        return suma;
+    }
+
+    /** RoleBasedMapper.mapByRole con el JwtRoleValidator.isAdmin() anterior. */
+    private static <T, R> R mapByRoleOriginal(T entity, Function<T, R> userMapper, Function<T, ? extends R> adminMapper) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = auth != null && auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        return admin ? adminMapper.apply(entity) : userMapper.apply(entity);
+    }
+
+    @Benchmark
+    public long principalConBits() {
+        SecurityContextHolder.getContext().setAuthentication(conPrincipal);
+        long suma = 0;
+        for (Integer e : elementos) {
+            suma += mapper.mapByRole(e, x -> (long) -x, x -> (long) x);
+        }
+        return suma;
+    }
+}
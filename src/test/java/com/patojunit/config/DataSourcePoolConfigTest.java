@@ -0,0 +1,91 @@
+package com.patojunit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourcePoolConfigTest {
+
+    @Test
+    @DisplayName("Debe dimensionar el pool con núcleos * conexiones por núcleo + discos")
+    void calcularTamanio_DeberiaUsarLosNucleos() {
+        assertEquals(9, new DataSourcePoolConfig(0, 2, 1, 50, 4).calcularTamanio());
+    }
+
+    @Test
+    @DisplayName("El tamaño no debe superar la concurrencia esperada")
+    void calcularTamanio_DeberiaAcotarPorConcurrencia() {
+        assertEquals(20, new DataSourcePoolConfig(0, 2, 1, 20, 32).calcularTamanio());
+    }
+
+    @Test
+    @DisplayName("Un tamaño configurado a mano debe tener prioridad")
+    void calcularTamanio_DeberiaRespetarElValorFijo() {
+        assertEquals(15, new DataSourcePoolConfig(15, 2, 1, 50, 4).calcularTamanio());
+    }
+
+    @Test
+    @DisplayName("Debe dejar el pool de Hikari de tamaño fijo y no tocar otros beans")
+    void postProcess_DeberiaConfigurarSoloHikari() {
+        DataSourcePoolConfig config = new DataSourcePoolConfig(0, 2, 1, 50, 2);
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            config.postProcessAfterInitialization(hikari, "dataSource");
+
+            assertEquals(5, hikari.getMaximumPoolSize());
+            assertEquals(5, hikari.getMinimumIdle());
+        }
+
+        Object otro = new Object();
+        assertSame(otro, config.postProcessAfterInitialization(otro, "otro"));
+    }
+
+    @Test
+    @DisplayName("No debe pisar el máximo ni el mínimo configurados en spring.datasource.hikari")
+    void postProcess_DeberiaRespetarLaConfiguracionDeHikari() {
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMaximumPoolSize(30);
+            hikari.setMinimumIdle(4);
+
+            new DataSourcePoolConfig(0, 2, 1, 50, 2, true, true).postProcessAfterInitialization(hikari, "dataSource");
+
+            assertEquals(30, hikari.getMaximumPoolSize());
+            assertEquals(4, hikari.getMinimumIdle());
+        }
+
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMaximumPoolSize(30);
+
+            new DataSourcePoolConfig(0, 2, 1, 50, 2, true, false).postProcessAfterInitialization(hikari, "dataSource");
+
+            assertEquals(30, hikari.getMaximumPoolSize());
+            assertEquals(30, hikari.getMinimumIdle());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe detectar las propiedades de Hikari en cualquier formato")
+    void constructor_DeberiaLeerLaConfiguracionDeHikari() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.minimumIdle", "3");
+        DataSourcePoolConfig config = new DataSourcePoolConfig(environment, 0, 2, 1, 50);
+
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMinimumIdle(3);
+            config.postProcessAfterInitialization(hikari, "dataSource");
+
+            assertEquals(3, hikari.getMinimumIdle());
+        }
+    }
+
+    @Test
+    @DisplayName("Configurar el máximo en los dos lugares debe cortar el arranque")
+    void constructor_DeberiaFallarConDosMaximos() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "30");
+
+        assertThrows(IllegalStateException.class, () -> new DataSourcePoolConfig(environment, 20, 2, 1, 50));
+    }
+}
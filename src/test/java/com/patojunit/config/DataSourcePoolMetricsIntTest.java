@@ -0,0 +1,65 @@
+package com.patojunit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * El pool debe quedar dimensionado por {@link DataSourcePoolConfig} y publicar sus métricas
+ * (espera por conexión, activas, ociosas, pendientes) en /actuator/metrics, solo para ADMIN.
+ */
+@SpringBootTest(properties = "datasource.pool.tamanio-maximo=7")
+@AutoConfigureMockMvc
+class DataSourcePoolMetricsIntTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    @DisplayName("El pool de Hikari debe usar el tamaño calculado")
+    void pool_DeberiaQuedarDimensionado() {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(hikari.getPoolName()).isEqualTo("reservas-pool");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Debe exponer la espera por conexión y el estado del pool")
+    void metricas_DeberianExponerElPool() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.acquire"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[*].statistic", hasItem("COUNT")))
+                .andExpect(jsonPath("$.measurements[*].statistic", hasItem("MAX")));
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.active")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.idle")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.pending")).andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("Un USER no debe poder leer las métricas")
+    void metricas_DeberianRechazarAUser() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("El health check debe ser público")
+    void health_DeberiaSerPublico() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,27 @@
+package com.patojunit.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HilosVirtualesVerificadorTest {
+
+    @Test
+    @DisplayName("Sin el perfil virtual debe usar hilos de plataforma")
+    void usaHilosVirtuales_PorDefectoDeberiaSerFalso() {
+        assertFalse(new HilosVirtualesVerificador(new MockEnvironment()).usaHilosVirtuales());
+    }
+
+    @Test
+    @DisplayName("Con la propiedad activa solo debe usar hilos virtuales en Java 21 o superior")
+    void usaHilosVirtuales_DeberiaDependerDeLaVersionDeJava() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(HilosVirtualesVerificador.PROPIEDAD, "true");
+
+        assertEquals(Runtime.version().feature() >= 21,
+                new HilosVirtualesVerificador(environment).usaHilosVirtuales());
+    }
+}
@@ -0,0 +1,64 @@
+package com.patojunit.config;
+
+import com.patojunit.exception.LoginSaturadoException;
+import com.patojunit.helpers.security.LoginHashExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * HTTP Basic debe verificar la contraseña en el pool de {@link LoginHashExecutor}, igual que /auth/login.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecurityConfigIntTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @MockBean private LoginHashExecutor loginHashExecutor;
+
+    @Test
+    @DisplayName("Basic con credenciales válidas debe verificar en el pool y responder 200")
+    void basic_DeberiaVerificarEnElPoolDeLogin() throws Exception {
+        when(loginHashExecutor.verificar(eq("admin_1234"), anyString())).thenReturn(true);
+
+        mockMvc.perform(get("/producto/get").with(httpBasic("admin", "admin_1234")))
+                .andExpect(status().isOk());
+        verify(loginHashExecutor).verificar(eq("admin_1234"), anyString());
+    }
+
+    @Test
+    @DisplayName("Basic con contraseña incorrecta debe responder 401 con el desafío")
+    void basic_DeberiaRetornar401ConContraseniaIncorrecta() throws Exception {
+        when(loginHashExecutor.verificar(anyString(), anyString())).thenReturn(false);
+
+        mockMvc.perform(get("/producto/get").with(httpBasic("admin", "otra")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists("WWW-Authenticate"));
+    }
+
+    @Test
+    @DisplayName("Basic con el pool de login saturado debe responder 429 con Retry-After")
+    void basic_DeberiaRetornar429ConPoolDeLoginSaturado() throws Exception {
+        when(loginHashExecutor.verificar(anyString(), anyString())).thenThrow(new LoginSaturadoException());
+
+        mockMvc.perform(get("/producto/get").with(httpBasic("admin", "admin_1234")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").exists());
+    }
+}
@@ -2,7 +2,11 @@ package com.patojunit.config.filter;
 
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.patojunit.helpers.metricas.MetricasDePrueba;
+import com.patojunit.helpers.security.JwtAuthenticationCache;
+import com.patojunit.helpers.security.UsuarioAutenticado;
 import com.patojunit.utils.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +19,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
 
 import java.io.IOException;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,12 +44,15 @@ class JwtTokenValidatorTest {
     @Mock
     private Claim claimAuthorities;
 
+    private JwtAuthenticationCache authenticationCache;
+
     private JwtTokenValidator jwtTokenValidator;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        jwtTokenValidator = new JwtTokenValidator(jwtUtils);
+        authenticationCache = new JwtAuthenticationCache(new SimpleMeterRegistry(), 100, 300);
+        jwtTokenValidator = new JwtTokenValidator(jwtUtils, authenticationCache, MetricasDePrueba.enMemoria());
         SecurityContextHolder.clearContext();
     }
 
@@ -53,10 +61,7 @@ class JwtTokenValidatorTest {
         // Arrange
         String token = "Bearer valid.token.jwt";
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn(token);
-        when(jwtUtils.validateToken("valid.token.jwt")).thenReturn(decodedJWT);
-        when(jwtUtils.extractUsername(decodedJWT)).thenReturn("juan");
-        when(jwtUtils.getSpecificClaim(decodedJWT, "authorities")).thenReturn(claimAuthorities);
-        when(claimAuthorities.asString()).thenReturn("ROLE_ADMIN,ROLE_USER");
+        mockTokenValido();
 
         // Act
         jwtTokenValidator.doFilterInternal(request, response, filterChain);
@@ -67,9 +72,30 @@ class JwtTokenValidatorTest {
         assertEquals("juan", auth.getName());
         assertTrue(auth.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        UsuarioAutenticado principal = assertInstanceOf(UsuarioAutenticado.class, auth.getPrincipal());
+        assertTrue(principal.esAdmin());
+        assertTrue(principal.esUser());
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternal_DeberiaReutilizarTokenYaVerificado() throws ServletException, IOException {
+        // Arrange
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer valid.token.jwt");
+        mockTokenValido();
+
+        // Act
+        jwtTokenValidator.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtTokenValidator.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals("juan", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(jwtUtils, times(1)).validateToken("valid.token.jwt");
+        assertEquals(1, authenticationCache.getAciertos());
+        assertEquals(1, authenticationCache.getFallos());
+    }
+
     @Test
     void doFilterInternal_DeberiaContinuarCadenaSiNoHayToken() throws ServletException, IOException {
         // Arrange
@@ -96,4 +122,12 @@ class JwtTokenValidatorTest {
         verify(filterChain, times(1)).doFilter(request, response);
         verify(jwtUtils, never()).validateToken(anyString());
     }
+
+    private void mockTokenValido() {
+        when(jwtUtils.validateToken("valid.token.jwt")).thenReturn(decodedJWT);
+        when(decodedJWT.getSubject()).thenReturn("juan");
+        when(decodedJWT.getClaim("authorities")).thenReturn(claimAuthorities);
+        when(decodedJWT.getExpiresAt()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        when(claimAuthorities.asString()).thenReturn("ROLE_ADMIN,ROLE_USER");
+    }
 }
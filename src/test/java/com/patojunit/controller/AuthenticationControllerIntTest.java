@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.patojunit.dto.request.AuthLoginRequestDTO;
 import com.patojunit.dto.response.AuthResponseDTO;
 import com.patojunit.config.TestSecurityConfig;
+import com.patojunit.exception.LoginSaturadoException;
 import com.patojunit.service.implementations.UserDetailsServiceImp;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -52,4 +53,21 @@ class AuthenticationControllerIntTest {
                 .andExpect(jsonPath("$.jwt").value("token123"))
                 .andExpect(jsonPath("$.username").value("juan"));
     }
+
+    @Test
+    void login_DeberiaRetornar429ConPoolDeLoginSaturado() throws Exception {
+        // Arrange
+        Mockito.when(userDetailsService.loginUser(any(AuthLoginRequestDTO.class)))
+                .thenThrow(new LoginSaturadoException());
+
+        AuthLoginRequestDTO requestDTO = new AuthLoginRequestDTO("juan","1234");
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").exists());
+    }
 }
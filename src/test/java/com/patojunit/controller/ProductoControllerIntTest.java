@@ -71,8 +71,8 @@ class ProductoControllerIntTest {
     @DisplayName("Debe obtener la lista completa de productos")
     void getAllProductos_DeberiaRetornarLista() throws Exception {
         productoRepository.saveAll(List.of(
-                new Producto(null, "P-001", null, null, "reposera", BigDecimal.valueOf(1000), 10, 0),
-                new Producto(null, "P-002", null, null, "sombrilla", BigDecimal.valueOf(800), 5, 0)
+                new Producto(null, "P-001", null, null, "reposera", BigDecimal.valueOf(1000), 10, 0, 0),
+                new Producto(null, "P-002", null, null, "sombrilla", BigDecimal.valueOf(800), 5, 0, 0)
         ));
 
         mockMvc.perform(get("/producto/get"))
@@ -87,7 +87,7 @@ class ProductoControllerIntTest {
     @DisplayName("Debe retornar un producto por su ID")
     void getProductoPorId_DeberiaRetornarProducto() throws Exception {
         Producto producto = productoRepository.save(
-                new Producto(null, "P-001", null, null, "carpa", BigDecimal.valueOf(1500), 8, 0)
+                new Producto(null, "P-001", null, null, "carpa", BigDecimal.valueOf(1500), 8, 0, 0)
         );
 
         mockMvc.perform(get("/producto/get/" + producto.getId()))
@@ -97,12 +97,28 @@ class ProductoControllerIntTest {
                 .andExpect(jsonPath("$.stockDisponible", is(8)));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("Debe retornar un producto por su código")
+    void getProductoPorCodigo_DeberiaRetornarProducto() throws Exception {
+        productoRepository.save(
+                new Producto(null, "PROD-MES-0D2X7Q9K3M1B4", null, null, "mesa", BigDecimal.valueOf(700), 3, 0, 0)
+        );
+
+        mockMvc.perform(get("/producto/codigo/{codigo}", "PROD-MES-0D2X7Q9K3M1B4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre", is("mesa")));
+
+        mockMvc.perform(get("/producto/codigo/{codigo}", "PROD-MES-NOEXISTE"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     @DisplayName("Debe editar un producto existente")
     void editarProducto_DeberiaActualizarDatos() throws Exception {
         Producto producto = productoRepository.save(
-                new Producto(null, "P-001", null, null, "reposera", BigDecimal.valueOf(1000), 10, 0)
+                new Producto(null, "P-001", null, null, "reposera", BigDecimal.valueOf(1000), 10, 0, 0)
         );
 
         ProductoCrearEditarDTO dto = new ProductoCrearEditarDTO(
@@ -126,7 +142,7 @@ class ProductoControllerIntTest {
     @DisplayName("Debe eliminar un producto y retornar mensaje de éxito")
     void eliminarProducto_DeberiaEliminarYRetornarMensaje() throws Exception {
         Producto producto = productoRepository.save(
-                new Producto(null, "P-001", null, null, "carpa", BigDecimal.valueOf(1500), 4, 0)
+                new Producto(null, "P-001", null, null, "carpa", BigDecimal.valueOf(1500), 4, 0, 0)
         );
 
         mockMvc.perform(delete("/producto/eliminar/" + producto.getId()))
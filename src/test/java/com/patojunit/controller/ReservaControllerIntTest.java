@@ -2,7 +2,10 @@ package com.patojunit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.dto.request.ReservaFiltroDTO;
+import com.patojunit.dto.response.ReservaPaginaDTO;
 import com.patojunit.dto.response.ReservaUserGetDTO;
+import com.patojunit.model.enums.EstadoReserva;
 import com.patojunit.service.interfaces.IReservaService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +22,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -131,12 +135,77 @@ class ReservaControllerIntTest {
         dto.setId(1L);
         dto.setEstado("reservado");
 
-        Mockito.when(reservaService.getAll()).thenReturn(List.of(dto));
+        Mockito.when(reservaService.buscar(any(ReservaFiltroDTO.class)))
+                .thenReturn(new ReservaPaginaDTO(List.of(dto), false, null, null));
 
         mockMvc.perform(get("/reserva/get"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].estadoActual", is("reservado")));
+                .andExpect(jsonPath("$.contenido", hasSize(1)))
+                .andExpect(jsonPath("$.contenido[0].estadoActual", is("reservado")))
+                .andExpect(jsonPath("$.hayMas", is(false)));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Debe pasar filtros y cursor al servicio")
+    void getAllReservas_DeberiaBindearFiltros() throws Exception {
+        Mockito.when(reservaService.buscar(any(ReservaFiltroDTO.class))).thenReturn(new ReservaPaginaDTO());
+
+        mockMvc.perform(get("/reserva/get")
+                        .param("estado", "PENDIENTE")
+                        .param("pagado", "true")
+                        .param("username", "user1")
+                        .param("cursorId", "20")
+                        .param("limite", "10"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(reservaService).buscar(Mockito.argThat(f ->
+                f.getEstado() == EstadoReserva.PENDIENTE
+                        && Boolean.TRUE.equals(f.getPagado())
+                        && "user1".equals(f.getUsername())
+                        && f.getCursorId() == 20L
+                        && f.getLimite() == 10));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Debe rechazar un límite fuera de rango")
+    void getAllReservas_DeberiaRechazarLimiteInvalido() throws Exception {
+        mockMvc.perform(get("/reserva/get").param("limite", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Ordenando por fecha debe rechazar un cursorId sin cursorFecha")
+    void getAllReservas_DeberiaRechazarCursorIncompleto() throws Exception {
+        mockMvc.perform(get("/reserva/get")
+                        .param("ordenarPor", "fechaInicio")
+                        .param("cursorId", "20"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(reservaService, Mockito.never()).buscar(any(ReservaFiltroDTO.class));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Debe exportar reservas en formato NDJSON")
+    void exportarReservas_DeberiaEscribirUnaLineaPorReserva() throws Exception {
+        Mockito.doAnswer(inv -> {
+            Consumer<ReservaUserGetDTO> consumidor = inv.getArgument(1);
+            ReservaUserGetDTO r1 = new ReservaUserGetDTO();
+            r1.setId(1L);
+            ReservaUserGetDTO r2 = new ReservaUserGetDTO();
+            r2.setId(2L);
+            consumidor.accept(r1);
+            consumidor.accept(r2);
+            return null;
+        }).when(reservaService).exportar(any(ReservaFiltroDTO.class), any());
+
+        mockMvc.perform(get("/reserva/exportar"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(matchesRegex("(?s)\\{\"id\":1.*\\}\n\\{\"id\":2.*\\}\n")));
     }
 
     @Test
@@ -154,4 +223,19 @@ class ReservaControllerIntTest {
                 .andExpect(jsonPath("$.id", is(5)))
                 .andExpect(jsonPath("$.estadoActual", is("reservado")));
     }
+
+    @Test
+    @WithMockUser(username = "user1", roles = {"USER"})
+    @DisplayName("Debe retornar una reserva por código")
+    void getReservaPorCodigo_DeberiaRetornarUna() throws Exception {
+        ReservaUserGetDTO dto = new ReservaUserGetDTO();
+        dto.setId(6L);
+        dto.setEstado("reservado");
+
+        Mockito.when(reservaService.getPorCodigo("RES-0D2X7Q9K3M1B4")).thenReturn(dto);
+
+        mockMvc.perform(get("/reserva/codigo/{codigo}", "RES-0D2X7Q9K3M1B4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(6)));
+    }
 }
@@ -1,6 +1,9 @@
 package com.patojunit.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.dto.request.ReservaFiltroDTO;
+import com.patojunit.dto.response.ReservaPaginaDTO;
 import com.patojunit.dto.response.ReservaUserGetDTO;
 import com.patojunit.service.interfaces.IReservaService;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +25,9 @@ class ReservaControllerTest {
     @Mock
     private IReservaService reservaService;
 
+    @Mock
+    private ObjectMapper objectMapper;
+
     @InjectMocks
     private ReservaController reservaController;
 
@@ -82,14 +88,16 @@ class ReservaControllerTest {
     }
 
     @Test
-    @DisplayName("getAllReservas() debe retornar lista de reservas")
+    @DisplayName("getAllReservas() debe retornar la página de reservas filtrada")
     void getAllReservas_DeberiaRetornarLista() {
-        when(reservaService.getAll()).thenReturn(List.of(dtoResponse));
+        ReservaFiltroDTO filtro = new ReservaFiltroDTO();
+        ReservaPaginaDTO pagina = new ReservaPaginaDTO(List.of(dtoResponse), false, null, null);
+        when(reservaService.buscar(filtro)).thenReturn(pagina);
 
-        List<ReservaUserGetDTO> result = reservaController.getAllReservas();
+        ReservaPaginaDTO result = reservaController.getAllReservas(filtro);
 
-        assertThat(result).hasSize(1).contains(dtoResponse);
-        verify(reservaService).getAll();
+        assertThat(result.getContenido()).hasSize(1).contains(dtoResponse);
+        verify(reservaService).buscar(filtro);
     }
 
     @Test
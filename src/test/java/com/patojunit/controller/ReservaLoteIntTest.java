@@ -0,0 +1,167 @@
+package com.patojunit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patojunit.dto.request.ProductoCantidadCrearEditarDTO;
+import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.helpers.security.UsuarioCache;
+import com.patojunit.model.Producto;
+import com.patojunit.model.UserSec;
+import com.patojunit.repository.IProductoRepository;
+import com.patojunit.repository.IReservaRepository;
+import com.patojunit.repository.IUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Alta en lote contra la base real: verifica resultados por ítem y que la cantidad de
+ * sentencias no crezca con la cantidad de reservas.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ReservaLoteIntTest {
+
+    private static final int CANTIDAD_RESERVAS = 40;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private IReservaRepository reservaRepository;
+    @Autowired private IProductoRepository productoRepository;
+    @Autowired private IUserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private UsuarioCache usuarioCache;
+
+    private Statistics statistics;
+    private Producto carpa;
+    private Producto silla;
+    private LocalDateTime inicio;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        UserSec usuario = new UserSec();
+        usuario.setUsername("lote");
+        userRepository.save(usuario);
+        // El usuario se recrea por repositorio en cada test: el id cacheado del anterior ya no existe
+        usuarioCache.invalidar("lote");
+
+        carpa = productoRepository.save(producto("carpa-lote", 1));
+        silla = productoRepository.save(producto("silla-lote", 100));
+        inicio = LocalDateTime.now().plusDays(2).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAll();
+        productoRepository.deleteAll(List.of(carpa, silla));
+        userRepository.findByUsername("lote").ifPresent(userRepository::delete);
+    }
+
+    private Producto producto(String nombre, int stock) {
+        Producto p = new Producto();
+        p.setNombre(nombre);
+        p.setPrecioHora(BigDecimal.TEN);
+        p.setStockDisponible(stock);
+        return p;
+    }
+
+    private ReservaCrearEditarDTO reserva(LocalDateTime desde, ProductoCantidadCrearEditarDTO... productos) {
+        return new ReservaCrearEditarDTO(List.of(productos), desde, desde.plusHours(2), false);
+    }
+
+    @Test
+    @WithMockUser(username = "lote", roles = {"USER"})
+    @DisplayName("Debe crear las reservas válidas e informar el motivo de cada rechazada")
+    void crearLote_DeberiaInformarResultadoPorItem() throws Exception {
+        List<ReservaCrearEditarDTO> lote = List.of(
+                reserva(inicio, new ProductoCantidadCrearEditarDTO(carpa.getId(), 1)),
+                // misma carpa y mismo horario: solo hay una unidad, la ocupó el ítem anterior
+                reserva(inicio, new ProductoCantidadCrearEditarDTO(carpa.getId(), 1)),
+                reserva(inicio, new ProductoCantidadCrearEditarDTO(999_999L, 1)),
+                new ReservaCrearEditarDTO(List.of(new ProductoCantidadCrearEditarDTO(silla.getId(), 1)),
+                        inicio, inicio.minusHours(1), false),
+                reserva(inicio, new ProductoCantidadCrearEditarDTO(silla.getId(), 3)));
+
+        mockMvc.perform(post("/reserva/crear-lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creadas", is(2)))
+                .andExpect(jsonPath("$.rechazadas", is(3)))
+                .andExpect(jsonPath("$.resultados[0].creada", is(true)))
+                .andExpect(jsonPath("$.resultados[0].reserva.precioTotal", is(20.0)))
+                .andExpect(jsonPath("$.resultados[1].error", containsString("No hay disponibilidad")))
+                .andExpect(jsonPath("$.resultados[2].error", containsString("No existe producto")))
+                .andExpect(jsonPath("$.resultados[3].error", containsString("fecha de fin")))
+                .andExpect(jsonPath("$.resultados[4].creada", is(true)))
+                .andExpect(jsonPath("$.resultados[4].reserva.precioTotal", is(60.0)));
+
+        assertThat(reservaRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "lote", roles = {"USER"})
+    @DisplayName("Las sentencias no deben crecer con la cantidad de reservas del lote")
+    void crearLote_DeberiaAgruparInserts() throws Exception {
+        List<ReservaCrearEditarDTO> lote = new ArrayList<>();
+        for (int i = 0; i < CANTIDAD_RESERVAS; i++) {
+            lote.add(reserva(inicio.plusDays(i),
+                    new ProductoCantidadCrearEditarDTO(carpa.getId(), 1),
+                    new ProductoCantidadCrearEditarDTO(silla.getId(), 2)));
+        }
+
+        statistics.clear();
+        mockMvc.perform(post("/reserva/crear-lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creadas", is(CANTIDAD_RESERVAS)));
+
+        // 40 reservas + 80 líneas insertadas
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(CANTIDAD_RESERVAS * 3L);
+        // usuario + productos + secuencias + un INSERT preparado por tabla: nunca uno por fila
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    @WithMockUser(username = "lote", roles = {"USER"})
+    @DisplayName("Con el usuario en cache, el alta no debe leer la tabla de usuarios")
+    void crearLote_NoDeberiaLeerElUsuarioConCacheCaliente() throws Exception {
+        String primero = objectMapper.writeValueAsString(List.of(
+                reserva(inicio, new ProductoCantidadCrearEditarDTO(silla.getId(), 1))));
+        String segundo = objectMapper.writeValueAsString(List.of(
+                reserva(inicio.plusDays(1), new ProductoCantidadCrearEditarDTO(silla.getId(), 1))));
+
+        mockMvc.perform(post("/reserva/crear-lote").contentType(MediaType.APPLICATION_JSON).content(primero))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(post("/reserva/crear-lote").contentType(MediaType.APPLICATION_JSON).content(segundo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creadas", is(1)));
+
+        assertThat(statistics.getEntityStatistics(UserSec.class.getName()).getLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,128 @@
+package com.patojunit.controller;
+
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.UserSec;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IProductoRepository;
+import com.patojunit.repository.IReservaRepository;
+import com.patojunit.repository.IUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la cantidad exacta de sentencias SQL por endpoint de lectura de reservas.
+ * Los conteos no deben depender de la cantidad de reservas ni de productos por reserva.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ReservaQueryCountIntTest {
+
+    private static final int CANTIDAD_RESERVAS = 12;
+    private static final int PRODUCTOS_POR_RESERVA = 4;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private IReservaRepository reservaRepository;
+    @Autowired private IProductoRepository productoRepository;
+    @Autowired private IUserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long idReserva;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        UserSec usuario = new UserSec();
+        usuario.setUsername("conteo");
+        usuario = userRepository.save(usuario);
+
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS_POR_RESERVA; i++) {
+            Producto p = new Producto();
+            p.setNombre("producto-" + i);
+            p.setPrecioHora(BigDecimal.TEN);
+            p.setStockDisponible(100);
+            productos.add(productoRepository.save(p));
+        }
+
+        LocalDateTime inicio = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < CANTIDAD_RESERVAS; i++) {
+            Reserva r = new Reserva();
+            r.setUsuario(usuario);
+            r.setEstado(EstadoReserva.PENDIENTE);
+            r.setFechaInicio(inicio.plusDays(i));
+            r.setFechaFin(inicio.plusDays(i).plusHours(2));
+            for (Producto p : productos) {
+                ProductoCantidad pc = new ProductoCantidad();
+                pc.setProducto(p);
+                pc.setReserva(r);
+                pc.setCantidad(1);
+                r.getProductos().add(pc);
+            }
+            idReserva = reservaRepository.save(r).getId();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAll();
+        productoRepository.deleteAll();
+        userRepository.findByUsername("conteo").ifPresent(userRepository::delete);
+    }
+
+    private long contarSentencias(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /reserva/get: reservas con usuario + productos en lote + producto en lote")
+    void getAll_DeberiaEjecutarTresSentencias() throws Exception {
+        assertThat(contarSentencias("/reserva/get?limite=" + CANTIDAD_RESERVAS)).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /reserva/get ordenado por fecha ejecuta la misma cantidad de sentencias")
+    void getAllPorFecha_DeberiaEjecutarTresSentencias() throws Exception {
+        assertThat(contarSentencias("/reserva/get?ordenarPor=fechaInicio&limite=" + CANTIDAD_RESERVAS)).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /reserva/get/{id}: una sola sentencia con todo el grafo")
+    void get_DeberiaEjecutarUnaSentencia() throws Exception {
+        assertThat(contarSentencias("/reserva/get/" + idReserva)).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /reserva/exportar: una sola sentencia en streaming")
+    void exportar_DeberiaEjecutarUnaSentencia() throws Exception {
+        assertThat(contarSentencias("/reserva/exportar")).isEqualTo(1);
+    }
+}
@@ -63,7 +63,7 @@ class ReservaFactoryTest {
     void crearReserva_DeberiaCrearCorrectamente() {
         // Arrange
         when(mapper.toEntity(dto)).thenReturn(reservaBase);
-        when(codigoService.generarCodigoReserva(1L)).thenReturn("RES-ABC123");
+        when(codigoService.generarCodigoReserva()).thenReturn("RES-ABC123");
         when(mapper.toProductoCantidad(any(), any())).thenReturn(productoCantidad);
 
         // Act
@@ -99,13 +99,13 @@ class ReservaFactoryTest {
     @DisplayName("Debe invocar mapper y codigoService correctamente")
     void crearReserva_DeberiaInvocarDependencias() {
         when(mapper.toEntity(dto)).thenReturn(reservaBase);
-        when(codigoService.generarCodigoReserva(1L)).thenReturn("RES-CODE-1");
+        when(codigoService.generarCodigoReserva()).thenReturn("RES-CODE-1");
         when(mapper.toProductoCantidad(any(), any())).thenReturn(productoCantidad);
 
         factory.crearReserva(dto, usuario);
 
         verify(mapper).toEntity(dto);
-        verify(codigoService).generarCodigoReserva(1L);
+        verify(codigoService).generarCodigoReserva();
         verify(mapper).toProductoCantidad(any(), any());
     }
 }
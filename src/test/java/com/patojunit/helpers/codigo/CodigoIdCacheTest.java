@@ -0,0 +1,97 @@
+package com.patojunit.helpers.codigo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodigoIdCacheTest {
+
+    @Test
+    @DisplayName("Debe cargar el id una sola vez por código")
+    void obtenerId_DeberiaCachearElId() {
+        CodigoIdCache cache = new CodigoIdCache(new SimpleMeterRegistry(), 10);
+        AtomicInteger cargas = new AtomicInteger();
+
+        Optional<Long> primero = cache.obtenerId("RES-A", c -> {
+            cargas.incrementAndGet();
+            return Optional.of(1L);
+        });
+        Optional<Long> segundo = cache.obtenerId("RES-A", c -> {
+            cargas.incrementAndGet();
+            return Optional.of(2L);
+        });
+
+        assertEquals(Optional.of(1L), primero);
+        assertEquals(Optional.of(1L), segundo);
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    @DisplayName("Un código inexistente no debe quedar cacheado")
+    void obtenerId_NoDeberiaCachearAusencias() {
+        CodigoIdCache cache = new CodigoIdCache(new SimpleMeterRegistry(), 10);
+
+        assertTrue(cache.obtenerId("RES-X", c -> Optional.empty()).isEmpty());
+        assertEquals(Optional.of(3L), cache.obtenerId("RES-X", c -> Optional.of(3L)));
+    }
+
+    @Test
+    @DisplayName("Con el cache lleno debe expulsar el código consultado hace más tiempo")
+    void obtenerId_DeberiaExpulsarMenosUsado() {
+        CodigoIdCache cache = new CodigoIdCache(new SimpleMeterRegistry(), 2);
+        cache.obtenerId("A", c -> Optional.of(1L));
+        cache.obtenerId("B", c -> Optional.of(2L));
+        cache.obtenerId("A", c -> Optional.of(1L));
+
+        cache.obtenerId("C", c -> Optional.of(3L));
+
+        assertEquals(2, cache.getTamanio());
+        assertEquals(Optional.of(1L), cache.obtenerId("A", c -> Optional.empty()));
+        assertTrue(cache.obtenerId("B", c -> Optional.empty()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("descartar debe forzar una nueva carga")
+    void descartar_DeberiaQuitarElCodigo() {
+        CodigoIdCache cache = new CodigoIdCache(new SimpleMeterRegistry(), 10);
+        cache.obtenerId("PROD-A", c -> Optional.of(1L));
+
+        cache.descartar("PROD-A");
+
+        assertEquals(0, cache.getTamanio());
+        assertEquals(Optional.of(5L), cache.obtenerId("PROD-A", c -> Optional.of(5L)));
+    }
+
+    @Test
+    @DisplayName("Debe publicar aciertos y fallos por prefijo de código y el tamaño del cache")
+    void metricas_DeberianSepararseSegunElPrefijo() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CodigoIdCache cache = new CodigoIdCache(registry, 10);
+
+        cache.obtenerId("RES-A", c -> Optional.of(1L));
+        cache.obtenerId("RES-A", c -> Optional.of(1L));
+        cache.obtenerId("PROD-ABC-B", c -> Optional.of(2L));
+        cache.obtenerId("cualquiera", c -> Optional.empty());
+
+        assertEquals(1.0, contador(registry, "RES", "acierto"));
+        assertEquals(1.0, contador(registry, "RES", "fallo"));
+        assertEquals(0.0, contador(registry, "PROD", "acierto"));
+        assertEquals(1.0, contador(registry, "PROD", "fallo"));
+        assertEquals(1.0, contador(registry, "otro", "fallo"));
+        assertEquals(2.0, registry.get("codigos.cache.tamanio").gauge().value());
+    }
+
+    private static double contador(SimpleMeterRegistry registry, String prefijo, String resultado) {
+        return registry.get("codigos.cache.consultas")
+                .tag("prefijo", prefijo)
+                .tag("resultado", resultado)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,161 @@
+package com.patojunit.helpers.codigo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneradorCodigosTest {
+
+    private static final Instant AHORA = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Test
+    @DisplayName("Los ids deben crecer y llevar el milisegundo, el nodo y la secuencia")
+    void siguienteId_DeberiaComponerMilisegundoNodoYSecuencia() {
+        GeneradorCodigos generador = new GeneradorCodigos(5, Clock.fixed(AHORA, ZoneOffset.UTC));
+
+        long primero = generador.siguienteId();
+        long segundo = generador.siguienteId();
+
+        long milisegundos = AHORA.toEpochMilli() - GeneradorCodigos.EPOCH;
+        assertEquals(milisegundos, primero >>> 22);
+        assertEquals(5, (primero >>> 12) & GeneradorCodigos.MAX_NODO);
+        assertEquals(0, primero & GeneradorCodigos.MASCARA_SECUENCIA);
+        assertEquals(primero + 1, segundo);
+    }
+
+    @Test
+    @DisplayName("Sin codigos.nodo debe usar el nodo 0; un nodo configurado debe respetarse")
+    void nodoConfigurado_DeberiaUsarCeroSiFalta() {
+        assertEquals(0, GeneradorCodigos.nodoConfigurado(null));
+        assertEquals(7, GeneradorCodigos.nodoConfigurado(7L));
+    }
+
+    @Test
+    @DisplayName("Con la secuencia agotada debe pasar al milisegundo siguiente sin esperar")
+    void siguienteId_DeberiaAcarrearAlMilisegundoSiguiente() {
+        GeneradorCodigos generador = new GeneradorCodigos(0, Clock.fixed(AHORA, ZoneOffset.UTC));
+
+        long ultimo = 0;
+        for (int i = 0; i <= GeneradorCodigos.MASCARA_SECUENCIA + 1; i++) {
+            long id = generador.siguienteId();
+            assertTrue(id > ultimo);
+            ultimo = id;
+        }
+
+        assertEquals(AHORA.toEpochMilli() - GeneradorCodigos.EPOCH + 1, ultimo >>> 22);
+        assertEquals(0, ultimo & GeneradorCodigos.MASCARA_SECUENCIA);
+    }
+
+    @Test
+    @DisplayName("Si el reloj retrocede no debe repetir ni volver atrás")
+    void siguienteId_DeberiaIgnorarRetrocesoDelReloj() {
+        MutableClock reloj = new MutableClock(AHORA);
+        GeneradorCodigos generador = new GeneradorCodigos(0, reloj);
+
+        long antes = generador.siguienteId();
+        reloj.avanzar(Duration.ofSeconds(-5));
+        long despues = generador.siguienteId();
+
+        assertEquals(antes + 1, despues);
+    }
+
+    @Test
+    @DisplayName("Los códigos deben tener ancho fijo y ordenarse igual que los ids")
+    void codificar_DeberiaMantenerElOrden() {
+        assertEquals("0000000000000", GeneradorCodigos.codificar(0));
+        assertEquals("0000000000010", GeneradorCodigos.codificar(32));
+        assertEquals("7ZZZZZZZZZZZZ", GeneradorCodigos.codificar(Long.MAX_VALUE));
+
+        GeneradorCodigos generador = new GeneradorCodigos(1L);
+        List<String> codigos = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            codigos.add(generador.siguienteCodigo());
+        }
+
+        List<String> ordenados = new ArrayList<>(codigos);
+        ordenados.sort(null);
+        assertEquals(codigos, ordenados);
+        assertTrue(codigos.stream().allMatch(c -> c.matches("[0-9A-HJKMNP-TV-Z]{13}")));
+    }
+
+    @Test
+    @DisplayName("No debe repetir códigos entre hilos concurrentes")
+    void siguienteCodigo_DeberiaSerUnicoEntreHilos() throws Exception {
+        GeneradorCodigos generador = new GeneradorCodigos(3L);
+        int hilos = 8;
+        int porHilo = 20_000;
+        Set<String> codigos = ConcurrentHashMap.newKeySet();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porHilo; i++) {
+                        codigos.add(generador.siguienteCodigo());
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(hilos * porHilo, codigos.size());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un nodo fuera de rango")
+    void constructor_DeberiaValidarNodo() {
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorCodigos(1024L));
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorCodigos(-1L));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant ahora;
+
+        MutableClock(Instant ahora) {
+            this.ahora = ahora;
+        }
+
+        void avanzar(Duration duracion) {
+            ahora = ahora.plus(duracion);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.patojunit.helpers.metricas;
+
+import com.patojunit.helpers.security.JwtRoleValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** {@link MetricasService} sin contexto de Spring, para tests y benchmarks. */
+public final class MetricasDePrueba {
+
+    private MetricasDePrueba() {
+    }
+
+    public static MetricasService enMemoria() {
+        return new MetricasService(new SimpleMeterRegistry(), new JwtRoleValidator());
+    }
+}
@@ -0,0 +1,48 @@
+package com.patojunit.helpers.metricas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las operaciones instrumentadas deben aparecer en /actuator/prometheus con sus etiquetas
+ * y con los buckets del histograma de percentiles.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasPrometheusIntTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Debe publicar los timers de servicio con histograma")
+    void prometheus_DeberiaPublicarLosTimers() throws Exception {
+        mockMvc.perform(get("/producto/get")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "producto_servicio_seconds_count{application=\"ejercicio-final\",op=\"getAll\",resultado=\"exito\",rol=\"ADMIN\"}")))
+                .andExpect(content().string(containsString("producto_servicio_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("Un USER no debe poder leer /actuator/prometheus")
+    void prometheus_DeberiaRechazarAUser() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,74 @@
+package com.patojunit.helpers.metricas;
+
+import com.patojunit.helpers.security.JwtRoleValidator;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private MetricasService metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricas = new MetricasService(registry, new JwtRoleValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Timer timer(String op, String resultado, String rol) {
+        return registry.find("reserva.servicio")
+                .tags("op", op, "resultado", resultado, "rol", rol)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("Debe registrar la duración con el rol del usuario autenticado")
+    void medir_DeberiaEtiquetarPorRol() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        String valor = metricas.medir("reserva.servicio", "crear", () -> "ok");
+
+        assertEquals("ok", valor);
+        assertEquals(1, timer("crear", MetricasService.EXITO, "ADMIN").count());
+    }
+
+    @Test
+    @DisplayName("Una excepción debe propagarse y contarse como error")
+    void medir_DeberiaRegistrarErrores() {
+        IllegalStateException ex = new IllegalStateException("falla");
+
+        IllegalStateException lanzada = assertThrows(IllegalStateException.class,
+                () -> metricas.medir("reserva.servicio", "editar", (Runnable) () -> { throw ex; }));
+
+        assertSame(ex, lanzada);
+        assertEquals(1, timer("editar", MetricasService.ERROR, "ANONIMO").count());
+        assertNull(timer("editar", MetricasService.EXITO, "ANONIMO"));
+    }
+
+    @Test
+    @DisplayName("Los contadores no deben registrar cantidades en cero")
+    void contar_DeberiaIgnorarCeros() {
+        metricas.contar("reserva.scheduler.reservas", "activacion", "fallidas", 0);
+        metricas.contar("reserva.scheduler.reservas", "activacion", "procesadas", 3);
+
+        assertNull(registry.find("reserva.scheduler.reservas").tag("resultado", "fallidas").counter());
+        assertEquals(3.0, registry.get("reserva.scheduler.reservas").tag("resultado", "procesadas").counter().count());
+    }
+}
@@ -0,0 +1,177 @@
+package com.patojunit.helpers.producto;
+
+import com.patojunit.dto.response.ProductoUserGetDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.patojunit.helpers.producto.ProductoCatalogoCache.Vista.ADMIN;
+import static com.patojunit.helpers.producto.ProductoCatalogoCache.Vista.USER;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductoCatalogoCacheTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private ProductoCatalogoCache cache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        registry = new SimpleMeterRegistry();
+        cache = new ProductoCatalogoCache(registry, 3, 60, clock);
+        cargas = new AtomicInteger();
+    }
+
+    private double descartes(String motivo) {
+        return registry.get("producto.catalogo.cache.descartes").tag("motivo", motivo).functionCounter().count();
+    }
+
+    private ProductoUserGetDTO cargar(Long id) {
+        cargas.incrementAndGet();
+        ProductoUserGetDTO dto = new ProductoUserGetDTO();
+        dto.setId(id);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Debe cargar una vez y servir las siguientes lecturas desde memoria")
+    void obtener_DeberiaCargarUnaSolaVez() {
+        ProductoUserGetDTO primero = cache.obtener(1L, USER, () -> cargar(1L));
+        ProductoUserGetDTO segundo = cache.obtener(1L, USER, () -> cargar(1L));
+
+        assertSame(primero, segundo);
+        assertEquals(1, cargas.get());
+        assertEquals(1.0, registry.get("producto.catalogo.cache.consultas").tag("resultado", "acierto").functionCounter().count());
+        assertEquals(1.0, registry.get("producto.catalogo.cache.consultas").tag("resultado", "fallo").functionCounter().count());
+        assertEquals(0.5, registry.get("producto.catalogo.cache.tasa.aciertos").gauge().value());
+        assertEquals(1.0, registry.get("producto.catalogo.cache.tamanio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Las vistas de usuario y admin del mismo producto deben cachearse por separado")
+    void obtener_DeberiaSepararVistas() {
+        cache.obtener(1L, USER, () -> cargar(1L));
+        cache.obtener(1L, ADMIN, () -> cargar(1L));
+
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Una entrada vencida debe volver a cargarse")
+    void obtener_DeberiaRecargarAlVencerElTtl() {
+        cache.obtener(1L, USER, () -> cargar(1L));
+        clock.avanzar(Duration.ofSeconds(61));
+        cache.obtener(1L, USER, () -> cargar(1L));
+
+        assertEquals(2, cargas.get());
+        assertEquals(1.0, descartes("expiracion"));
+    }
+
+    @Test
+    @DisplayName("Con el cache lleno debe expulsar la entrada usada hace más tiempo")
+    void obtener_DeberiaExpulsarLaMenosUsada() {
+        cache.obtener(1L, USER, () -> cargar(1L));
+        clock.avanzar(Duration.ofSeconds(1));
+        cache.obtener(2L, USER, () -> cargar(2L));
+        clock.avanzar(Duration.ofSeconds(1));
+        cache.obtener(3L, USER, () -> cargar(3L));
+        clock.avanzar(Duration.ofSeconds(1));
+        cache.obtener(1L, USER, () -> cargar(1L)); // el 2 pasa a ser el menos usado
+        cache.obtener(4L, USER, () -> cargar(4L));
+
+        cache.obtener(1L, USER, () -> cargar(1L));
+        cache.obtener(2L, USER, () -> cargar(2L));
+
+        assertEquals(5, cargas.get());
+        assertTrue(descartes("expulsion") >= 1);
+        assertTrue(registry.get("producto.catalogo.cache.tamanio").gauge().value() <= 3);
+    }
+
+    @Test
+    @DisplayName("Invalidar un producto debe descartar sus vistas y el catálogo completo, no otros productos")
+    void invalidar_DeberiaDescartarSoloLoAfectado() {
+        cache.obtener(1L, USER, () -> cargar(1L));
+        cache.obtener(2L, USER, () -> cargar(2L));
+        cache.obtenerCatalogo(USER, () -> List.of(cargar(1L), cargar(2L)));
+        cargas.set(0);
+
+        cache.invalidar(1L);
+
+        cache.obtener(1L, USER, () -> cargar(1L));
+        cache.obtener(2L, USER, () -> cargar(2L));
+        cache.obtenerCatalogo(USER, () -> List.of(cargar(1L), cargar(2L)));
+        assertEquals(3, cargas.get());
+        assertEquals(1.0, descartes("invalidacion"));
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción la invalidación debe esperar al commit")
+    void invalidar_DeberiaAplicarseAlConfirmar() {
+        cache.obtener(1L, USER, () -> cargar(1L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidar(1L);
+            cache.obtener(1L, USER, () -> cargar(1L));
+            assertEquals(1, cargas.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.obtener(1L, USER, () -> cargar(1L));
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Una carga que se cruzó con una invalidación no debe quedar cacheada")
+    void obtener_NoDeberiaGuardarValoresCruzadosConInvalidacion() {
+        cache.obtener(1L, USER, () -> {
+            cache.invalidar(1L);
+            return cargar(1L);
+        });
+        cache.obtener(1L, USER, () -> cargar(1L));
+
+        assertEquals(2, cargas.get());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant ahora;
+
+        private MutableClock(Instant inicio) {
+            this.ahora = inicio;
+        }
+
+        void avanzar(Duration duracion) {
+            ahora = ahora.plus(duracion);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    }
+}
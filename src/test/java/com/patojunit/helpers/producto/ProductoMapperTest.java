@@ -0,0 +1,54 @@
+package com.patojunit.helpers.producto;
+
+import com.patojunit.dto.response.ProductoAdminGetDTO;
+import com.patojunit.dto.response.ProductoUserGetDTO;
+import com.patojunit.model.Producto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductoMapperTest {
+
+    private final ProductoMapper mapper = new ProductoMapper(new ProductoStockLedger(null, null, new SimpleMeterRegistry(), false));
+
+    private Producto producto() {
+        LocalDateTime alta = LocalDateTime.of(2025, 1, 1, 10, 0);
+        return new Producto(4L, "PROD-CAR-0001", alta, alta.plusDays(2),
+                "carpa", BigDecimal.valueOf(3000), 8, 2, 0);
+    }
+
+    @Test
+    @DisplayName("Debe mapear Producto a ProductoUserGetDTO sin datos de administración")
+    void toUserGetDTO_DeberiaMapearCamposPublicos() {
+        ProductoUserGetDTO dto = mapper.toUserGetDTO(producto());
+
+        assertFalse(dto instanceof ProductoAdminGetDTO);
+        assertEquals(4L, dto.getId());
+        assertEquals("PROD-CAR-0001", dto.getCodigoProducto());
+        assertEquals("carpa", dto.getNombre());
+        assertEquals(BigDecimal.valueOf(3000), dto.getPrecioHora());
+        assertEquals(8, dto.getStockDisponible());
+    }
+
+    @Test
+    @DisplayName("Debe mapear Producto a ProductoAdminGetDTO con todos los campos declarados")
+    void toAdminGetDTO_DeberiaMapearTodosLosCampos() {
+        Producto producto = producto();
+
+        ProductoAdminGetDTO dto = mapper.toAdminGetDTO(producto);
+
+        assertEquals(4L, dto.getId());
+        assertEquals("PROD-CAR-0001", dto.getCodigoProducto());
+        assertEquals("carpa", dto.getNombre());
+        assertEquals(BigDecimal.valueOf(3000), dto.getPrecioHora());
+        assertEquals(8, dto.getStockDisponible());
+        assertEquals(producto.getFechaAlta(), dto.getFechaAlta());
+        assertEquals(producto.getFechaUltimaActualizacion(), dto.getFechaUltimaActualizacion());
+        assertEquals(2, dto.getCantidadReservadaActual());
+    }
+}
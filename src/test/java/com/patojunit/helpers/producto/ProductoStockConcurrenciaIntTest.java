@@ -0,0 +1,131 @@
+package com.patojunit.helpers.producto;
+
+import com.patojunit.model.Producto;
+import com.patojunit.repository.IProductoRepository;
+import com.patojunit.utils.ReintentoConBackoff;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de estrés: muchos hilos descuentan y reponen stock del mismo producto a la vez.
+ * Con el read-modify-write anterior se perdían actualizaciones; con el UPDATE atómico
+ * los totales tienen que cerrar exactamente.
+ */
+@SpringBootTest
+class ProductoStockConcurrenciaIntTest {
+
+    private static final int HILOS = 16;
+    private static final int OPERACIONES_POR_HILO = 25;
+    private static final int STOCK_INICIAL = 100;
+
+    @Autowired private ProductoStockService stockService;
+    @Autowired private IProductoRepository productoRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ReintentoConBackoff reintento;
+
+    private TransactionTemplate transaccion;
+    private Long idProducto;
+
+    @BeforeEach
+    void setUp() {
+        transaccion = new TransactionTemplate(transactionManager);
+    }
+
+    private void crearProducto(int stock) {
+        Producto producto = new Producto();
+        producto.setNombre("producto-caliente");
+        producto.setPrecioHora(BigDecimal.TEN);
+        producto.setStockDisponible(stock);
+        idProducto = productoRepository.save(producto).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoRepository.deleteById(idProducto);
+    }
+
+    /** Ejecuta la operación en paralelo y devuelve cuántas terminaron sin error. */
+    private int enParalelo(Runnable operacion) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger exitosas = new AtomicInteger();
+        List<Future<?>> tareas = new ArrayList<>();
+
+        for (int h = 0; h < HILOS; h++) {
+            tareas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+                    try {
+                        reintento.ejecutar("stress", operacion);
+                        exitosas.incrementAndGet();
+                    } catch (IllegalArgumentException sinStock) {
+                        // esperado cuando se agota el stock
+                    }
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return exitosas.get();
+    }
+
+    @Test
+    @DisplayName("Los descuentos concurrentes no deben perder actualizaciones ni dejar stock negativo")
+    void descontarStock_ConcurrenteNoPierdeActualizaciones() throws Exception {
+        crearProducto(STOCK_INICIAL);
+
+        // 400 intentos de descontar 1 unidad sobre 100 disponibles
+        int exitosas = enParalelo(() -> transaccion.executeWithoutResult(status ->
+                stockService.descontarStock(productoRepository.findById(idProducto).orElseThrow(), 1)));
+
+        Producto resultado = productoRepository.findById(idProducto).orElseThrow();
+        assertThat(exitosas).isEqualTo(STOCK_INICIAL);
+        assertThat(resultado.getStockDisponible()).isZero();
+        assertThat(resultado.getCantidadReservadaActual()).isEqualTo(STOCK_INICIAL);
+        assertThat(resultado.getVersion()).isGreaterThanOrEqualTo(STOCK_INICIAL);
+    }
+
+    @Test
+    @DisplayName("Descuentos y reposiciones mezclados deben cerrar exactamente")
+    void descontarYReponer_ConcurrentesCierranLosTotales() throws Exception {
+        int total = HILOS * OPERACIONES_POR_HILO;
+        // Alcanza aun si todos los descuentos llegan antes que las reposiciones
+        crearProducto(total);
+        AtomicInteger turno = new AtomicInteger();
+
+        int exitosas = enParalelo(() -> transaccion.executeWithoutResult(status -> {
+            Producto producto = productoRepository.findById(idProducto).orElseThrow();
+            if (turno.getAndIncrement() % 2 == 0) {
+                stockService.descontarStock(producto, 2);
+            } else {
+                stockService.reponerStock(producto, 1);
+            }
+        }));
+
+        assertThat(exitosas).isEqualTo(total);
+
+        // 200 descuentos de 2 y 200 reposiciones de 1 sobre 400: quedan 200 libres y 200 reservadas
+        Producto resultado = productoRepository.findById(idProducto).orElseThrow();
+        assertThat(resultado.getStockDisponible()).isEqualTo(total / 2);
+        assertThat(resultado.getCantidadReservadaActual()).isEqualTo(total / 2);
+    }
+}
@@ -0,0 +1,249 @@
+package com.patojunit.helpers.producto;
+
+import com.patojunit.model.Producto;
+import com.patojunit.repository.IProductoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductoStockLedgerTest {
+
+    @Mock
+    private IProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry registry;
+    private ProductoStockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        ledger = new ProductoStockLedger(productoRepository, transactionManager, registry, true);
+        when(productoRepository.findStockDisponibleById(1L)).thenReturn(Optional.of(10));
+    }
+
+    private Producto producto(int stockPersistido) {
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setStockDisponible(stockPersistido);
+        return producto;
+    }
+
+    @Test
+    @DisplayName("Los movimientos se ven en memoria sin escribir en la base hasta el volcado")
+    void descontarYReponer_DeberianQuedarEnMemoria() {
+        ledger.descontar(1L, 3);
+        ledger.descontar(1L, 2);
+        ledger.reponer(1L, 1);
+
+        assertEquals(6, ledger.stockDisponible(producto(10)));
+        verify(productoRepository, never()).reponerStock(any(), anyInt());
+        verify(productoRepository, never()).descontarStock(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Sin movimientos en el ledger se usa el valor de la entidad")
+    void stockDisponible_SinCeldaDeberiaUsarLaEntidad() {
+        assertEquals(7, ledger.stockDisponible(producto(7)));
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un descuento que dejaría stock negativo")
+    void descontar_DeberiaRechazarStockNegativo() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> ledger.descontar(1L, 11));
+
+        assertEquals("Error de stock: no puede quedar stock negativo.", ex.getMessage());
+        assertEquals(10, ledger.stockDisponible(producto(10)));
+        assertEquals(1, ledger.getRechazos());
+    }
+
+    @Test
+    @DisplayName("El volcado debe escribir la diferencia acumulada con un solo UPDATE por producto")
+    void volcar_DeberiaCoalescerLosMovimientos() {
+        for (int i = 0; i < 8; i++) {
+            ledger.descontar(1L, 1);
+        }
+        ledger.reponer(1L, 2);
+
+        ledger.volcar();
+        ledger.volcar();
+
+        verify(productoRepository, times(1)).reponerStock(1L, -6);
+        assertEquals(1, ledger.getUpdatesVolcados());
+    }
+
+    @Test
+    @DisplayName("Si el volcado falla la diferencia debe quedar pendiente para el próximo")
+    void volcar_DeberiaConservarLaDiferenciaSiFalla() {
+        ledger.descontar(1L, 4);
+        when(productoRepository.reponerStock(1L, -4))
+                .thenThrow(new IllegalStateException("base caída"))
+                .thenReturn(1);
+
+        ledger.volcar();
+        ledger.volcar();
+
+        verify(productoRepository, times(2)).reponerStock(1L, -4);
+        assertEquals(1, ledger.getUpdatesVolcados());
+    }
+
+    @Test
+    @DisplayName("La reconciliación debe incorporar cambios hechos en la tabla por fuera del ledger")
+    void reconciliar_DeberiaIncorporarCambiosExternos() {
+        ledger.descontar(1L, 2);
+        // Después del volcado (10 - 2 = 8) alguien sumó 5 directamente en la tabla
+        when(productoRepository.findStockDisponibleById(1L)).thenReturn(Optional.of(13));
+
+        ledger.reconciliar();
+
+        verify(productoRepository).reponerStock(1L, -2);
+        assertEquals(13, ledger.stockDisponible(producto(0)));
+        assertEquals(1, ledger.getDiferenciasReconciliadas());
+    }
+
+    @Test
+    @DisplayName("La reconciliación debe soltar los productos que ya no existen")
+    void reconciliar_DeberiaDescartarProductosEliminados() {
+        ledger.descontar(1L, 2);
+        when(productoRepository.findStockDisponibleById(1L)).thenReturn(Optional.empty());
+
+        ledger.reconciliar();
+
+        assertEquals(0, ledger.getCantidadProductos());
+    }
+
+    @Test
+    @DisplayName("Un descuento de una transacción revertida debe devolverse y una reposición no aplicarse")
+    void movimientos_DeberianRespetarElResultadoDeLaTransaccion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ledger.descontar(1L, 4);
+            ledger.reponer(1L, 3);
+            assertEquals(6, ledger.stockDisponible(producto(10)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(10, ledger.stockDisponible(producto(10)));
+    }
+
+    @Test
+    @DisplayName("Mientras un hilo lee el stock inicial, otro no debe quedar bloqueado esperándolo")
+    void descontar_NoDeberiaBloquearseMientrasOtroLeeElStockInicial() throws Exception {
+        CountDownLatch leyendo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger lecturas = new AtomicInteger();
+        when(productoRepository.findStockDisponibleById(1L)).thenAnswer(inv -> {
+            if (lecturas.getAndIncrement() == 0) {
+                leyendo.countDown();
+                liberar.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(10);
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> lento = executor.submit(() -> ledger.descontar(1L, 1));
+            assertTrue(leyendo.await(5, TimeUnit.SECONDS));
+
+            // Con computeIfAbsent este descuento esperaba a que terminara la primera lectura
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> ledger.descontar(1L, 1));
+
+            liberar.countDown();
+            lento.get(5, TimeUnit.SECONDS);
+        } finally {
+            liberar.countDown();
+            executor.shutdownNow();
+        }
+
+        // La celda que llegó segunda se descarta: los dos descuentos quedan en la misma
+        assertEquals(8, ledger.stockDisponible(producto(10)));
+    }
+
+    @Test
+    @DisplayName("Movimientos, volcados y productos en memoria deben publicarse como métricas")
+    void metricas_DeberianReflejarElLedger() {
+        ledger.descontar(1L, 3);
+        ledger.reponer(1L, 1);
+        assertThrows(IllegalArgumentException.class, () -> ledger.descontar(1L, 50));
+        ledger.volcar();
+
+        assertEquals(1.0, registry.get("producto.stock.ledger.movimientos").tag("tipo", "descuento").functionCounter().count());
+        assertEquals(1.0, registry.get("producto.stock.ledger.movimientos").tag("tipo", "reposicion").functionCounter().count());
+        assertEquals(1.0, registry.get("producto.stock.ledger.movimientos").tag("tipo", "rechazo").functionCounter().count());
+        assertEquals(1.0, registry.get("producto.stock.ledger.updates").functionCounter().count());
+        assertEquals(0.0, registry.get("producto.stock.ledger.reconciliaciones").functionCounter().count());
+        assertEquals(1.0, registry.get("producto.stock.ledger.productos").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Con el ledger deshabilitado no debe volcar ni consultar la base")
+    void deshabilitado_NoDeberiaHacerNada() {
+        ProductoStockLedger apagado = new ProductoStockLedger(productoRepository, transactionManager, registry, false);
+
+        apagado.volcar();
+        apagado.reconciliar();
+
+        assertFalse(apagado.isHabilitado());
+        assertEquals(7, apagado.stockDisponible(producto(7)));
+        verifyNoInteractions(productoRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Los descuentos concurrentes no deben vender más stock del disponible")
+    void descontar_ConcurrenteNoDeberiaSobrevender() throws Exception {
+        when(productoRepository.findStockDisponibleById(1L)).thenReturn(Optional.of(100));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger exitosos = new AtomicInteger();
+        List<Future<?>> tareas = new ArrayList<>();
+
+        for (int h = 0; h < 8; h++) {
+            tareas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < 50; i++) {
+                    try {
+                        ledger.descontar(1L, 1);
+                        exitosos.incrementAndGet();
+                    } catch (IllegalArgumentException sinStock) {
+                        // esperado al agotarse
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        ledger.volcar();
+
+        assertEquals(100, exitosos.get());
+        assertEquals(0, ledger.stockDisponible(producto(100)));
+        verify(productoRepository).reponerStock(1L, -100);
+    }
+}
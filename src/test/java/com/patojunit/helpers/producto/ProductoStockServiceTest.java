@@ -1,11 +1,21 @@
 package com.patojunit.helpers.producto;
 
+import com.patojunit.dto.response.ProductoUserGetDTO;
 import com.patojunit.model.Producto;
 import com.patojunit.repository.IProductoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,6 +28,15 @@ class ProductoStockServiceTest {
     @Mock
     private ProductoValidator validator;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ProductoStockLedger stockLedger;
+
+    @Mock
+    private ProductoCatalogoCache catalogoCache;
+
     @InjectMocks
     private ProductoStockService stockService;
 
@@ -34,16 +53,17 @@ class ProductoStockServiceTest {
     }
 
     @Test
-    @DisplayName("Debe descontar stock correctamente y actualizar cantidad reservada")
+    @DisplayName("Debe descontar stock con un UPDATE condicional y reflejarlo en la entidad")
     void descontarStock_DeberiaActualizarCorrectamente() {
-        // Act
+        when(productoRepository.descontarStock(1L, 3)).thenReturn(1);
+
         stockService.descontarStock(producto, 3);
 
-        // Assert
         assertEquals(7, producto.getStockDisponible());
         assertEquals(5, producto.getCantidadReservadaActual());
         verify(validator).validarStockNoNegativo(7);
-        verify(productoRepository).save(producto);
+        verify(productoRepository).descontarStock(1L, 3);
+        verify(productoRepository, never()).save(any());
     }
 
     @Test
@@ -57,27 +77,85 @@ class ProductoStockServiceTest {
 
         assertEquals("Stock no puede ser negativo", ex.getMessage());
         verify(validator).validarStockNoNegativo(-10);
-        verify(productoRepository, never()).save(any());
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción si el UPDATE no aplicó porque otro descuento tomó el stock")
+    void descontarStock_DeberiaLanzarExcepcionSiElUpdateNoAplica() {
+        when(productoRepository.descontarStock(1L, 3)).thenReturn(0);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                stockService.descontarStock(producto, 3));
+
+        assertEquals("Error de stock: no puede quedar stock negativo.", ex.getMessage());
+        assertEquals(10, producto.getStockDisponible());
+    }
+
+    @Test
+    @DisplayName("Debe recargar la entidad gestionada en lugar de modificarla en memoria")
+    void descontarStock_DeberiaRefrescarEntidadGestionada() {
+        when(productoRepository.descontarStock(1L, 3)).thenReturn(1);
+        when(entityManager.contains(producto)).thenReturn(true);
+
+        stockService.descontarStock(producto, 3);
+
+        verify(entityManager).refresh(producto);
+        assertEquals(10, producto.getStockDisponible());
     }
 
     @Test
     @DisplayName("Debe reponer stock correctamente y actualizar cantidad reservada")
     void reponerStock_DeberiaActualizarCorrectamente() {
-        // Act
+        when(productoRepository.reponerStock(1L, 4)).thenReturn(1);
+
         stockService.reponerStock(producto, 4);
 
-        // Assert
         assertEquals(14, producto.getStockDisponible());
         assertEquals(-2, producto.getCantidadReservadaActual());
-        verify(productoRepository).save(producto);
+        verify(productoRepository).reponerStock(1L, 4);
         verifyNoInteractions(validator);
     }
 
     @Test
-    @DisplayName("Debe invocar el repositorio correctamente al reponer stock")
-    void reponerStock_DeberiaGuardarProducto() {
+    @DisplayName("Con el ledger habilitado debe delegar en memoria sin UPDATE ni tocar la entidad")
+    void descontarYReponer_ConLedgerDeberianDelegar() {
+        when(stockLedger.isHabilitado()).thenReturn(true);
+
+        stockService.descontarStock(producto, 3);
         stockService.reponerStock(producto, 1);
 
-        verify(productoRepository, times(1)).save(producto);
+        verify(stockLedger).descontar(1L, 3);
+        verify(stockLedger).reponer(1L, 1);
+        assertEquals(10, producto.getStockDisponible());
+        verifyNoInteractions(productoRepository, entityManager);
+    }
+
+    @Test
+    @DisplayName("Con el ledger, una lectura entre los callbacks del commit no debe dejar cacheado el stock viejo")
+    void reponerStock_ConLedgerNoDeberiaCachearStockViejo() {
+        when(productoRepository.findStockDisponibleById(1L)).thenReturn(Optional.of(10));
+        ProductoStockLedger ledger = new ProductoStockLedger(productoRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), true);
+        ProductoCatalogoCache cache = new ProductoCatalogoCache(new SimpleMeterRegistry(), 100, 60, Clock.systemUTC());
+        ProductoMapper mapper = new ProductoMapper(ledger);
+        ProductoStockService servicio = new ProductoStockService(productoRepository, validator, entityManager, ledger, cache);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            servicio.reponerStock(producto, 4);
+
+            // afterCommit corre en el orden de registro; entre cada uno, un GET del producto
+            List<TransactionSynchronization> callbacks = TransactionSynchronizationManager.getSynchronizations();
+            for (TransactionSynchronization callback : callbacks) {
+                callback.afterCommit();
+                cache.obtener(1L, ProductoCatalogoCache.Vista.USER, () -> mapper.toUserGetDTO(producto));
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ProductoUserGetDTO leido = cache.obtener(1L, ProductoCatalogoCache.Vista.USER, () -> mapper.toUserGetDTO(producto));
+        assertEquals(14, leido.getStockDisponible());
     }
-}
\ No newline at end of file
+}
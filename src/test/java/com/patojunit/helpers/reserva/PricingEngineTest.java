@@ -0,0 +1,89 @@
+package com.patojunit.helpers.reserva;
+
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.repository.IProductoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PricingEngineTest {
+
+    @Mock
+    private IProductoRepository productoRepository;
+
+    @InjectMocks
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private ProductoCantidad linea(Long idProducto, BigDecimal precioHora, int cantidad) {
+        Producto producto = new Producto();
+        producto.setId(idProducto);
+        producto.setPrecioHora(precioHora);
+
+        ProductoCantidad pc = new ProductoCantidad();
+        pc.setProducto(producto);
+        pc.setCantidad(cantidad);
+        return pc;
+    }
+
+    @Test
+    @DisplayName("Debe calcular precio * horas * cantidad sin consultar el repositorio")
+    void calcularTotal_DeberiaUsarEntidadesAsociadas() {
+        List<ProductoCantidad> lineas = List.of(
+                linea(1L, new BigDecimal("100"), 2),
+                linea(2L, new BigDecimal("200"), 1));
+
+        BigDecimal total = pricingEngine.calcularTotal(lineas, BigDecimal.valueOf(3));
+
+        assertEquals(new BigDecimal("1200"), total);
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe resolver en una sola consulta los precios faltantes")
+    void resolverPrecios_DeberiaConsultarEnLote() {
+        Producto p2 = new Producto();
+        p2.setId(2L);
+        p2.setPrecioHora(new BigDecimal("50"));
+        Producto p3 = new Producto();
+        p3.setId(3L);
+        p3.setPrecioHora(new BigDecimal("10"));
+
+        when(productoRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(p2, p3));
+
+        List<ProductoCantidad> lineas = List.of(
+                linea(1L, new BigDecimal("100"), 1),
+                linea(2L, null, 2),
+                linea(3L, null, 4));
+
+        BigDecimal total = pricingEngine.calcularTotal(lineas, BigDecimal.ONE);
+
+        assertEquals(new BigDecimal("240"), total);
+        verify(productoRepository, times(1)).findAllById(Set.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción si un producto no existe")
+    void calcularTotal_DeberiaLanzarSiProductoNoExiste() {
+        when(productoRepository.findAllById(Set.of(9L))).thenReturn(List.of());
+
+        List<ProductoCantidad> lineas = List.of(linea(9L, null, 1));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> pricingEngine.calcularTotal(lineas, BigDecimal.ONE));
+    }
+}
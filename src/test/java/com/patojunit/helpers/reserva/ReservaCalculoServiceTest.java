@@ -1,10 +1,10 @@
 package com.patojunit.helpers.reserva;
 
-import com.patojunit.dto.response.ProductoUserGetDTO;
+import com.patojunit.helpers.metricas.MetricasDePrueba;
+import com.patojunit.helpers.metricas.MetricasService;
 import com.patojunit.model.Producto;
 import com.patojunit.model.ProductoCantidad;
 import com.patojunit.model.Reserva;
-import com.patojunit.service.interfaces.IProductoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,32 +15,32 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ReservaCalculoServiceTest {
 
     @Mock
-    private IProductoService productoService;
+    private PricingEngine pricingEngine;
+
+    @Spy
+    private MetricasService metricas = MetricasDePrueba.enMemoria();
 
     @InjectMocks
     private ReservaCalculoService calculoService;
 
     private Reserva reserva;
-    private Producto producto;
     private ProductoCantidad productoCantidad;
-    private ProductoUserGetDTO productoDTO;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        producto = new Producto();
+        Producto producto = new Producto();
         producto.setId(1L);
         producto.setNombre("Reposera");
-
-        productoDTO = new ProductoUserGetDTO();
-        productoDTO.setId(1L);
-        productoDTO.setPrecioHora(new BigDecimal("100"));
+        producto.setPrecioHora(new BigDecimal("100"));
 
         productoCantidad = new ProductoCantidad();
         productoCantidad.setProducto(producto);
@@ -53,38 +53,26 @@ class ReservaCalculoServiceTest {
     }
 
     @Test
-    @DisplayName("Debe calcular el precio total correctamente para una reserva válida")
-    void calcularPrecioTotal_DeberiaRetornarMontoCorrecto() {
-        when(productoService.get(1L)).thenReturn(productoDTO);
+    @DisplayName("Debe delegar el cálculo en el PricingEngine con la duración en horas")
+    void calcularPrecioTotal_DeberiaDelegarConHoras() {
+        when(pricingEngine.calcularTotal(reserva.getProductos(), BigDecimal.valueOf(3)))
+                .thenReturn(new BigDecimal("600"));
 
         BigDecimal total = calculoService.calcularPrecioTotal(reserva);
 
         assertEquals(new BigDecimal("600"), total);
-        verify(productoService).get(1L);
+        verify(pricingEngine).calcularTotal(reserva.getProductos(), BigDecimal.valueOf(3));
     }
 
     @Test
-    @DisplayName("Debe calcular correctamente con múltiples productos")
-    void calcularPrecioTotal_DeberiaSumarMultiplesProductos() {
-        Producto p2 = new Producto();
-        p2.setId(2L);
-
-        ProductoCantidad pc2 = new ProductoCantidad();
-        pc2.setProducto(p2);
-        pc2.setCantidad(1);
-
-        reserva.setProductos(List.of(productoCantidad, pc2));
-
-        ProductoUserGetDTO dto2 = new ProductoUserGetDTO();
-        dto2.setId(2L);
-        dto2.setPrecioHora(new BigDecimal("200"));
-
-        when(productoService.get(1L)).thenReturn(productoDTO);
-        when(productoService.get(2L)).thenReturn(dto2);
+    @DisplayName("Debe truncar la duración a horas completas")
+    void calcularPrecioTotal_DeberiaTruncarHoras() {
+        reserva.setFechaFin(reserva.getFechaInicio().plusHours(2).plusMinutes(59));
+        when(pricingEngine.calcularTotal(any(), eq(BigDecimal.valueOf(2)))).thenReturn(new BigDecimal("400"));
 
         BigDecimal total = calculoService.calcularPrecioTotal(reserva);
 
-        assertEquals(new BigDecimal("1200"), total);
+        assertEquals(new BigDecimal("400"), total);
     }
 
     @Test
@@ -96,18 +84,6 @@ class ReservaCalculoServiceTest {
                 calculoService.calcularPrecioTotal(reserva));
 
         assertEquals("Las fechas de la reserva no pueden ser nulas.", ex.getMessage());
-        verifyNoInteractions(productoService);
-    }
-
-    @Test
-    @DisplayName("Debe multiplicar correctamente precio * horas * cantidad")
-    void calcularSubtotalProducto_DeberiaCalcularCorrectamente() {
-        when(productoService.get(anyLong()))
-                .thenReturn(new ProductoUserGetDTO(1L,"rep-00", "reposera", BigDecimal.valueOf(1000),0));
-
-        BigDecimal total = calculoService.calcularPrecioTotal(reserva);
-
-        assertEquals(new BigDecimal("6000"), total);
-        verify(productoService).get(1L);
+        verifyNoInteractions(pricingEngine);
     }
 }
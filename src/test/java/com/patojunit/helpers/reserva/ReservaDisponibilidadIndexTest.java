@@ -0,0 +1,210 @@
+package com.patojunit.helpers.reserva;
+
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IReservaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ReservaDisponibilidadIndexTest {
+
+    @Mock private IReservaRepository reservaRepository;
+
+    @InjectMocks
+    private ReservaDisponibilidadIndex index;
+
+    private Producto producto;
+    private LocalDateTime manana;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        producto = new Producto();
+        producto.setId(1L);
+        producto.setNombre("Reposera");
+        producto.setStockDisponible(3);
+        producto.setCantidadReservadaActual(0);
+
+        manana = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    private Reserva reserva(Long id, int cantidad, LocalDateTime inicio, LocalDateTime fin) {
+        Reserva r = new Reserva();
+        r.setId(id);
+        r.setEstado(EstadoReserva.PENDIENTE);
+        r.setFechaInicio(inicio);
+        r.setFechaFin(fin);
+        ProductoCantidad pc = new ProductoCantidad();
+        pc.setProducto(producto);
+        pc.setCantidad(cantidad);
+        pc.setReserva(r);
+        r.setProductos(new ArrayList<>(List.of(pc)));
+        return r;
+    }
+
+    @Test
+    @DisplayName("Debe registrar la ocupación por hora de una reserva")
+    void registrar_DeberiaOcuparCadaHoraDelRango() {
+        index.registrar(reserva(1L, 2, manana, manana.plusHours(2)));
+
+        assertEquals(2, index.ocupacion(1L, manana));
+        assertEquals(2, index.ocupacion(1L, manana.plusHours(1)));
+        assertEquals(0, index.ocupacion(1L, manana.plusHours(2)));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una reserva que se solapa y supera el stock")
+    void validarDisponibilidad_DeberiaRechazarSolapamiento() {
+        index.registrar(reserva(1L, 2, manana, manana.plusHours(3)));
+        Reserva nueva = reserva(null, 2, manana.plusHours(2), manana.plusHours(4));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> index.validarDisponibilidad(nueva));
+
+        assertTrue(ex.getMessage().contains("Reposera"));
+    }
+
+    @Test
+    @DisplayName("Debe aceptar una reserva contigua que no se solapa")
+    void validarDisponibilidad_DeberiaAceptarRangoContiguo() {
+        index.registrar(reserva(1L, 3, manana, manana.plusHours(2)));
+
+        assertDoesNotThrow(() -> index.validarDisponibilidad(reserva(null, 3, manana.plusHours(2), manana.plusHours(3))));
+    }
+
+    @Test
+    @DisplayName("Al editar no debe contar la ocupación de la propia reserva")
+    void validarDisponibilidad_DeberiaExcluirLaPropiaReserva() {
+        index.registrar(reserva(1L, 3, manana, manana.plusHours(2)));
+
+        assertDoesNotThrow(() -> index.validarDisponibilidad(reserva(1L, 3, manana.plusHours(1), manana.plusHours(3))));
+    }
+
+    @Test
+    @DisplayName("Debe liberar la ocupación al cancelar o quitar una reserva")
+    void registrarYQuitar_DeberianLiberarOcupacion() {
+        Reserva r1 = reserva(1L, 2, manana, manana.plusHours(1));
+        Reserva r2 = reserva(2L, 1, manana, manana.plusHours(1));
+        index.registrar(r1);
+        index.registrar(r2);
+
+        r1.setEstado(EstadoReserva.CANCELADA);
+        index.registrar(r1);
+        assertEquals(1, index.ocupacion(1L, manana));
+
+        index.quitar(2L);
+        assertEquals(0, index.ocupacion(1L, manana));
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice con las reservas vigentes")
+    void reconstruir_DeberiaCargarReservasVigentes() {
+        when(reservaRepository.findByEstadoIn(anyCollection()))
+                .thenReturn(List.of(reserva(1L, 2, manana, manana.plusHours(1))));
+
+        index.reconstruir();
+
+        assertEquals(2, index.ocupacion(1L, manana));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.validarDisponibilidad(reserva(null, 2, manana, manana.plusHours(1))));
+    }
+
+    @Test
+    @DisplayName("Dos altas concurrentes por la última unidad: una debe ser rechazada")
+    void validarDisponibilidad_ConcurrenteSobreUltimaUnidad_DeberiaRechazarUna() throws Exception {
+        index.registrar(reserva(1L, 2, manana, manana.plusHours(2)));
+        CyclicBarrier largada = new CyclicBarrier(2);
+        CountDownLatch validadas = new CountDownLatch(2);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+
+        Callable<Boolean> alta = () -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                largada.await(5, TimeUnit.SECONDS);
+                boolean aceptada;
+                try {
+                    index.validarDisponibilidad(reserva(null, 1, manana, manana.plusHours(2)));
+                    aceptada = true;
+                } catch (IllegalArgumentException e) {
+                    aceptada = false;
+                }
+                // Ninguna confirma hasta que las dos validaron, como dos transacciones solapadas
+                validadas.countDown();
+                validadas.await(5, TimeUnit.SECONDS);
+                terminarTransaccion(TransactionSynchronization.STATUS_COMMITTED);
+                return aceptada;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        };
+
+        try {
+            Future<Boolean> primera = hilos.submit(alta);
+            Future<Boolean> segunda = hilos.submit(alta);
+
+            assertNotEquals(primera.get(10, TimeUnit.SECONDS), segunda.get(10, TimeUnit.SECONDS));
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("La ocupación retenida debe liberarse si la transacción hace rollback")
+    void validarDisponibilidad_ConRollback_DeberiaLiberarRetencion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.validarDisponibilidad(reserva(null, 3, manana, manana.plusHours(1)));
+            assertEquals(3, index.ocupacion(1L, manana));
+
+            terminarTransaccion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, index.ocupacion(1L, manana));
+    }
+
+    @Test
+    @DisplayName("Al confirmar debe quedar solo la ocupación de la reserva persistida")
+    void validarDisponibilidad_ConCommit_DeberiaReemplazarRetencionPorReserva() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Reserva nueva = reserva(null, 2, manana, manana.plusHours(1));
+            index.validarDisponibilidad(nueva);
+            nueva.setId(7L);
+            index.registrar(nueva);
+
+            terminarTransaccion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, index.ocupacion(1L, manana));
+    }
+
+    /** Lo que hace el administrador de transacciones al terminar: afterCommit (si confirmó) y afterCompletion. */
+    private static void terminarTransaccion(int estado) {
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        if (estado == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(sincronizaciones);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(sincronizaciones, estado);
+    }
+}
@@ -2,7 +2,9 @@ package com.patojunit.helpers.reserva;
 
 import com.patojunit.dto.request.ProductoCantidadCrearEditarDTO;
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.dto.response.ReservaAdminGetDTO;
 import com.patojunit.dto.response.ReservaUserGetDTO;
+import com.patojunit.helpers.usuario.UsuarioMapper;
 import com.patojunit.model.*;
 import com.patojunit.model.enums.EstadoReserva;
 import com.patojunit.service.operations.ProductoOperationService;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,6 +28,9 @@ class ReservaMapperTest {
     @Mock
     private ProductoOperationService productoOperationService;
 
+    @Spy
+    private UsuarioMapper usuarioMapper;
+
     @InjectMocks
     private ReservaMapper mapper;
 
@@ -93,4 +99,50 @@ class ReservaMapperTest {
         assertEquals("Silla de playa", dto.getProductos().get(0).getNombreProducto());
         assertEquals(2, dto.getProductos().get(0).getCantidad());
     }
+
+    @Test
+    @DisplayName("Debe mapear Reserva a ReservaAdminGetDTO incluyendo el usuario")
+    void toAdminGetDTO_DeberiaMapearCamposYUsuario() {
+        var producto = new Producto();
+        producto.setNombre("Carpa");
+
+        var pc = new ProductoCantidad();
+        pc.setProducto(producto);
+        pc.setCantidad(1);
+
+        var usuario = new UserSec();
+        usuario.setId(9L);
+        usuario.setUsername("ana");
+
+        var reserva = new Reserva();
+        reserva.setId(8L);
+        reserva.setCodigoReserva("RES-9-0001");
+        reserva.setEstado(EstadoReserva.PENDIENTE);
+        reserva.setPagado(false);
+        reserva.setProductos(List.of(pc));
+        reserva.setPrecioTotal(BigDecimal.valueOf(300));
+        reserva.setUsuario(usuario);
+
+        ReservaAdminGetDTO dto = mapper.toAdminGetDTO(reserva);
+
+        assertEquals(8L, dto.getId());
+        assertEquals("RES-9-0001", dto.getCodigoReserva());
+        assertEquals("PENDIENTE", dto.getEstado());
+        assertEquals(BigDecimal.valueOf(300), dto.getPrecioTotal());
+        assertEquals("Carpa", dto.getProductos().get(0).getNombreProducto());
+        assertEquals(9L, dto.getUsuario().getId());
+        assertEquals("ana", dto.getUsuario().getUsername());
+    }
+
+    @Test
+    @DisplayName("Debe dejar el usuario en null si la reserva no tiene usuario")
+    void toAdminGetDTO_DeberiaTolerarUsuarioNulo() {
+        var reserva = new Reserva();
+        reserva.setId(1L);
+
+        ReservaAdminGetDTO dto = mapper.toAdminGetDTO(reserva);
+
+        assertNull(dto.getUsuario());
+        assertTrue(dto.getProductos().isEmpty());
+    }
 }
@@ -0,0 +1,160 @@
+package com.patojunit.helpers.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationCacheTest {
+
+    private MutableClock clock;
+    private AtomicInteger verificaciones;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+        verificaciones = new AtomicInteger();
+    }
+
+    private Function<String, DecodedJWT> verificador(String username, Instant expira) {
+        return token -> {
+            verificaciones.incrementAndGet();
+            DecodedJWT decoded = mock(DecodedJWT.class);
+            Claim claim = mock(Claim.class);
+            when(claim.asString()).thenReturn("ROLE_USER");
+            when(decoded.getSubject()).thenReturn(username);
+            when(decoded.getClaim("authorities")).thenReturn(claim);
+            when(decoded.getExpiresAt()).thenReturn(Date.from(expira));
+            return decoded;
+        };
+    }
+
+    @Test
+    @DisplayName("Debe verificar una sola vez el mismo token mientras no expire")
+    void obtener_DeberiaCachearTokenVerificado() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, 300, clock);
+        var verificador = verificador("juan", clock.instant().plus(Duration.ofMinutes(30)));
+
+        JwtAuthenticationCache.Entrada primera = cache.obtener("token-a", verificador);
+        JwtAuthenticationCache.Entrada segunda = cache.obtener("token-a", verificador);
+
+        assertSame(primera, segunda);
+        assertEquals("juan", segunda.username());
+        assertEquals("ROLE_USER", segunda.authorities().get(0).getAuthority());
+        assertEquals(1, verificaciones.get());
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    @DisplayName("Debe volver a verificar cuando el token expira")
+    void obtener_DeberiaRespetarExpiracionDelToken() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, 300, clock);
+        var verificador = verificador("juan", clock.instant().plusSeconds(60));
+
+        cache.obtener("token-a", verificador);
+        clock.avanzar(Duration.ofSeconds(61));
+        cache.obtener("token-a", verificador);
+
+        assertEquals(2, verificaciones.get());
+    }
+
+    @Test
+    @DisplayName("Debe acotar la vida de la entrada al TTL máximo configurado")
+    void obtener_DeberiaRespetarTtlMaximo() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, 5, clock);
+        var verificador = verificador("juan", clock.instant().plus(Duration.ofMinutes(30)));
+
+        JwtAuthenticationCache.Entrada entrada = cache.obtener("token-a", verificador);
+
+        assertEquals(clock.millis() + 5_000, entrada.expiraEn());
+    }
+
+    @Test
+    @DisplayName("No debe cachear tokens inválidos")
+    void obtener_NoDeberiaCachearTokenInvalido() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, 300, clock);
+        Function<String, DecodedJWT> invalido = token -> {
+            throw new JWTVerificationException("Invalid token. Not authorized");
+        };
+
+        assertThrows(JWTVerificationException.class, () -> cache.obtener("malo", invalido));
+        assertThrows(JWTVerificationException.class, () -> cache.obtener("malo", invalido));
+        assertEquals(0, cache.getTamanio());
+        assertEquals(2, cache.getFallos());
+    }
+
+    @Test
+    @DisplayName("No debe superar la cantidad máxima de entradas")
+    void obtener_DeberiaRespetarCapacidadMaxima() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(2, 300, clock);
+        var verificador = verificador("juan", clock.instant().plusSeconds(60));
+
+        cache.obtener("token-a", verificador);
+        cache.obtener("token-b", verificador);
+        cache.obtener("token-c", verificador);
+        assertEquals(2, cache.getTamanio());
+
+        // Al expirar las anteriores se libera lugar para las nuevas
+        clock.avanzar(Duration.ofSeconds(61));
+        cache.obtener("token-d", verificador("ana", clock.instant().plusSeconds(60)));
+        assertEquals(1, cache.getTamanio());
+    }
+
+    @Test
+    @DisplayName("Debe publicar aciertos, fallos y tamaño del cache como métricas")
+    void metricas_DeberianReflejarElUsoDelCache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(registry, 10, 300);
+        var verificador = verificador("juan", Instant.now().plus(Duration.ofMinutes(30)));
+
+        cache.obtener("token-a", verificador);
+        cache.obtener("token-a", verificador);
+        cache.obtener("token-b", verificador);
+
+        assertEquals(1.0, registry.get("seguridad.jwt.cache.consultas").tag("resultado", "acierto").functionCounter().count());
+        assertEquals(2.0, registry.get("seguridad.jwt.cache.consultas").tag("resultado", "fallo").functionCounter().count());
+        assertEquals(2.0, registry.get("seguridad.jwt.cache.tamanio").gauge().value());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant ahora;
+
+        MutableClock(Instant ahora) {
+            this.ahora = ahora;
+        }
+
+        void avanzar(Duration duracion) {
+            ahora = ahora.plus(duracion);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.patojunit.helpers.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtRoleValidatorTest {
+
+    private final JwtRoleValidator validator = new JwtRoleValidator();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void autenticar(Object principal, String... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, AuthorityUtils.createAuthorityList(authorities)));
+    }
+
+    @Test
+    @DisplayName("Con el principal del JWT debe responder con los roles precalculados")
+    void roles_DeberianSalirDelPrincipal() {
+        // Los bits mandan aunque las authorities digan otra cosa: no se vuelven a recorrer
+        autenticar(new UsuarioAutenticado("juan", UsuarioAutenticado.ADMIN), "ROLE_USER");
+
+        assertTrue(validator.isAdmin());
+        assertFalse(validator.isUser());
+        assertEquals("juan", validator.getUsername());
+    }
+
+    @Test
+    @DisplayName("Con otro principal (HTTP Basic) debe resolver los roles desde las authorities")
+    void roles_DeberianResolverseDesdeAuthorities() {
+        autenticar("maria", "ROLE_USER", "READ_PRIVILEGES");
+
+        assertFalse(validator.isAdmin());
+        assertTrue(validator.isUser());
+    }
+
+    @Test
+    @DisplayName("Sin autenticación no debe tener ningún rol")
+    void roles_SinAutenticacion() {
+        assertFalse(validator.isAdmin());
+        assertFalse(validator.isUser());
+        assertNull(validator.getUsername());
+    }
+
+    @Test
+    @DisplayName("El principal debe calcular los bits una vez desde las authorities")
+    void usuarioAutenticado_DeberiaCalcularBits() {
+        UsuarioAutenticado usuario = UsuarioAutenticado.desde("juan",
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER", "CREATE"));
+
+        assertTrue(usuario.esAdmin());
+        assertTrue(usuario.esUser());
+        assertEquals("juan", usuario.getName());
+        assertEquals("juan", usuario.toString());
+    }
+}
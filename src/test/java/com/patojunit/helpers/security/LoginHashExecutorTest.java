@@ -0,0 +1,94 @@
+package com.patojunit.helpers.security;
+
+import com.patojunit.exception.LoginSaturadoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginHashExecutorTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private LoginHashExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    /** Encoder que queda bloqueado hasta que el test lo libera, para llenar el pool. */
+    private PasswordEncoder encoderBloqueado(CountDownLatch iniciados) {
+        return new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                iniciados.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Debe verificar la contraseña con el encoder en el pool de login")
+    void verificar_DeberiaCompararConElHash() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        executor = new LoginHashExecutor(encoder, 1, 4, 5000);
+        String hash = encoder.encode("secreto");
+
+        assertTrue(executor.verificar("secreto", hash));
+        assertFalse(executor.verificar("otro", hash));
+        assertEquals(0, executor.getRechazos());
+    }
+
+    @Test
+    @DisplayName("Con hilos y cola llenos debe rechazar en el acto")
+    void verificar_DeberiaRechazarCuandoLaColaEstaLlena() throws Exception {
+        CountDownLatch iniciados = new CountDownLatch(1);
+        executor = new LoginHashExecutor(encoderBloqueado(iniciados), 1, 1, 5000);
+
+        CompletableFuture<Boolean> enCurso = CompletableFuture.supplyAsync(() -> executor.verificar("a", "h"));
+        assertTrue(iniciados.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> encolado = CompletableFuture.supplyAsync(() -> executor.verificar("b", "h"));
+        esperarHasta(() -> executor.enCola() == 1);
+
+        long inicio = System.nanoTime();
+        assertThrows(LoginSaturadoException.class, () -> executor.verificar("c", "h"));
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(1), "El rechazo no debe esperar");
+        assertEquals(1, executor.getRechazos());
+
+        liberar.countDown();
+        assertTrue(enCurso.get(5, TimeUnit.SECONDS));
+        assertTrue(encolado.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Si el resultado no llega a tiempo debe rechazar")
+    void verificar_DeberiaRechazarAlVencerLaEspera() {
+        executor = new LoginHashExecutor(encoderBloqueado(new CountDownLatch(1)), 1, 1, 50);
+
+        assertThrows(LoginSaturadoException.class, () -> executor.verificar("a", "h"));
+        assertEquals(1, executor.getRechazos());
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+}
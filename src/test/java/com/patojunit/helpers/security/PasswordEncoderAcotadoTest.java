@@ -0,0 +1,58 @@
+package com.patojunit.helpers.security;
+
+import com.patojunit.exception.LoginSaturadoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordEncoderAcotadoTest {
+
+    @Mock private PasswordEncoder delegado;
+    @Mock private LoginHashExecutor loginHashExecutor;
+
+    private PasswordEncoderAcotado encoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        encoder = new PasswordEncoderAcotado(delegado, loginHashExecutor);
+    }
+
+    @Test
+    @DisplayName("matches debe verificar en el pool de login y no en el hilo que llama")
+    void matches_DeberiaPasarPorElPoolDeLogin() {
+        when(loginHashExecutor.verificar("1234", "hash")).thenReturn(true);
+
+        assertTrue(encoder.matches("1234", "hash"));
+        verify(delegado, never()).matches(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Con el pool saturado matches debe propagar LoginSaturadoException")
+    void matches_DeberiaPropagarSaturacion() {
+        when(loginHashExecutor.verificar("1234", "hash")).thenThrow(new LoginSaturadoException());
+
+        assertThrows(LoginSaturadoException.class, () -> encoder.matches("1234", "hash"));
+    }
+
+    @Test
+    @DisplayName("encode debe delegar sin pasar por el pool")
+    void encode_DeberiaDelegar() {
+        when(delegado.encode("1234")).thenReturn("hash");
+
+        assertEquals("hash", encoder.encode("1234"));
+        verify(loginHashExecutor, never()).verificar(anyString(), anyString());
+    }
+}
@@ -0,0 +1,167 @@
+package com.patojunit.helpers.security;
+
+import com.patojunit.model.Permission;
+import com.patojunit.model.Role;
+import com.patojunit.model.UserSec;
+import com.patojunit.repository.IUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioCacheTest {
+
+    private IUserRepository userRepository;
+    private MutableClock clock;
+    private UsuarioCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(IUserRepository.class);
+        clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+        cache = new UsuarioCache(userRepository, 10, 300, clock);
+
+        Permission permiso = new Permission(1L, "READ_PRIVILEGES");
+        Role rol = new Role(1L, "ADMIN", Set.of(permiso));
+        UserSec juan = new UserSec(7L, "juan", "hash", true, true, true, true, Set.of(rol), null);
+        when(userRepository.findByUsername("juan")).thenReturn(Optional.of(juan));
+    }
+
+    @Test
+    @DisplayName("Debe leer el usuario una sola vez y resolver roles y permisos")
+    void obtener_DeberiaCachearUsuarioConAuthorities() {
+        UsuarioCache.Usuario primero = cache.obtener("juan").orElseThrow();
+        UsuarioCache.Usuario segundo = cache.obtener("juan").orElseThrow();
+
+        assertSame(primero, segundo);
+        assertEquals(7L, segundo.id());
+        assertEquals(Set.of("ROLE_ADMIN", "READ_PRIVILEGES"), segundo.authorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+        verify(userRepository, times(1)).findByUsername("juan");
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    @DisplayName("Un usuario inexistente no debe quedar cacheado")
+    void obtener_NoDeberiaCachearAusencias() {
+        when(userRepository.findByUsername("nadie")).thenReturn(Optional.empty());
+
+        assertTrue(cache.obtener("nadie").isEmpty());
+        assertTrue(cache.obtener("nadie").isEmpty());
+
+        verify(userRepository, times(2)).findByUsername("nadie");
+        assertEquals(0, cache.getTamanio());
+    }
+
+    @Test
+    @DisplayName("Debe volver a leer el usuario al vencer el TTL")
+    void obtener_DeberiaRespetarTtl() {
+        cache.obtener("juan");
+        clock.avanzar(Duration.ofSeconds(301));
+        cache.obtener("juan");
+
+        verify(userRepository, times(2)).findByUsername("juan");
+    }
+
+    @Test
+    @DisplayName("Debe descartar la entrada al invalidar por username o por id")
+    void invalidar_DeberiaDescartarEntrada() {
+        cache.obtener("juan");
+        cache.invalidar("juan");
+        assertEquals(0, cache.getTamanio());
+
+        cache.obtener("juan");
+        cache.invalidarPorId(7L);
+        assertEquals(0, cache.getTamanio());
+
+        verify(userRepository, times(2)).findByUsername("juan");
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción debe invalidar recién al confirmar")
+    void invalidar_DeberiaEsperarAlCommit() {
+        cache.obtener("juan");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidarTodo();
+            assertEquals(1, cache.getTamanio());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, cache.getTamanio());
+    }
+
+    @Test
+    @DisplayName("Una carga que se cruza con una invalidación no debe guardarse")
+    void obtener_NoDeberiaGuardarCargaDesactualizada() {
+        UserSec juan = userRepository.findByUsername("juan").orElseThrow();
+        when(userRepository.findByUsername("juan")).thenAnswer(inv -> {
+            cache.invalidarTodo();
+            return Optional.of(juan);
+        });
+
+        assertTrue(cache.obtener("juan").isPresent());
+        assertEquals(0, cache.getTamanio());
+    }
+
+    @Test
+    @DisplayName("Debe publicar aciertos, fallos y tamaño del cache como métricas")
+    void metricas_DeberianReflejarElUsoDelCache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UsuarioCache cache = new UsuarioCache(registry, userRepository, 10, 300);
+
+        cache.obtener("juan");
+        cache.obtener("juan");
+        cache.obtener("nadie");
+
+        assertEquals(1.0, registry.get("seguridad.usuario.cache.consultas").tag("resultado", "acierto").functionCounter().count());
+        assertEquals(2.0, registry.get("seguridad.usuario.cache.consultas").tag("resultado", "fallo").functionCounter().count());
+        assertEquals(1.0, registry.get("seguridad.usuario.cache.tamanio").gauge().value());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant ahora;
+
+        MutableClock(Instant ahora) {
+            this.ahora = ahora;
+        }
+
+        void avanzar(Duration duracion) {
+            ahora = ahora.plus(duracion);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    }
+}
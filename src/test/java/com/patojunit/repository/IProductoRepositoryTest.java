@@ -0,0 +1,37 @@
+package com.patojunit.repository;
+
+import com.patojunit.model.Producto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class IProductoRepositoryTest {
+
+    @Autowired
+    private IProductoRepository productoRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    @DisplayName("findStockDisponibleById no debe escribir los cambios pendientes de la transacción")
+    void findStockDisponibleById_NoDeberiaHacerFlush() {
+        Producto producto = new Producto();
+        producto.setNombre("reposera");
+        producto.setPrecioHora(BigDecimal.TEN);
+        producto.setStockDisponible(10);
+        Long id = em.persistFlushFind(producto).getId();
+
+        producto = em.find(Producto.class, id);
+        producto.setStockDisponible(3);
+
+        assertThat(productoRepository.findStockDisponibleById(id)).contains(10);
+    }
+}
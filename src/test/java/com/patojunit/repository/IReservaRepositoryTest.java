@@ -0,0 +1,115 @@
+package com.patojunit.repository;
+
+import com.patojunit.model.Reserva;
+import com.patojunit.model.UserSec;
+import com.patojunit.model.enums.EstadoReserva;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class IReservaRepositoryTest {
+
+    @Autowired
+    private IReservaRepository reservaRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 10, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        UserSec juan = usuario("juan");
+        UserSec ana = usuario("ana");
+
+        reserva(juan, EstadoReserva.PENDIENTE, base.plusDays(3), true);
+        reserva(juan, EstadoReserva.ACTIVA, base.plusDays(1), false);
+        reserva(ana, EstadoReserva.PENDIENTE, base.plusDays(2), false);
+        reserva(ana, EstadoReserva.CANCELADA, base.plusDays(1), true);
+        em.flush();
+        em.clear();
+    }
+
+    private UserSec usuario(String username) {
+        UserSec u = new UserSec();
+        u.setUsername(username);
+        return em.persist(u);
+    }
+
+    private void reserva(UserSec usuario, EstadoReserva estado, LocalDateTime inicio, boolean pagado) {
+        Reserva r = new Reserva();
+        r.setUsuario(usuario);
+        r.setEstado(estado);
+        r.setFechaInicio(inicio);
+        r.setFechaFin(inicio.plusHours(2));
+        r.setPagado(pagado);
+        em.persist(r);
+    }
+
+    @Test
+    @DisplayName("Debe paginar por id usando el cursor")
+    void buscarPorId_DeberiaPaginarPorKeyset() {
+        List<Reserva> primera = reservaRepository.buscarPorId(null, null, null, null, null, null, Limit.of(2));
+        List<Reserva> segunda = reservaRepository.buscarPorId(null, null, null, null, null,
+                primera.get(1).getId(), Limit.of(2));
+
+        assertThat(primera).hasSize(2);
+        assertThat(segunda).hasSize(2);
+        assertThat(segunda.get(0).getId()).isGreaterThan(primera.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Debe aplicar los filtros de estado, pagado y usuario")
+    void buscarPorId_DeberiaFiltrar() {
+        assertThat(reservaRepository.buscarPorId(EstadoReserva.PENDIENTE, null, null, null, null, null, Limit.of(10)))
+                .hasSize(2);
+        assertThat(reservaRepository.buscarPorId(null, null, null, true, null, null, Limit.of(10)))
+                .hasSize(2);
+        assertThat(reservaRepository.buscarPorId(null, null, null, null, "ana", null, Limit.of(10)))
+                .allMatch(r -> r.getUsuario().getUsername().equals("ana"))
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Debe paginar por fecha de inicio desempatando por id")
+    void buscarPorFechaInicio_DeberiaOrdenarYPaginar() {
+        List<Reserva> primera = reservaRepository.buscarPorFechaInicio(null, null, null, null, null,
+                null, null, Limit.of(2));
+        Reserva ultima = primera.get(1);
+        List<Reserva> resto = reservaRepository.buscarPorFechaInicio(null, null, null, null, null,
+                ultima.getFechaInicio(), ultima.getId(), Limit.of(10));
+
+        assertThat(primera).extracting(Reserva::getFechaInicio)
+                .containsExactly(base.plusDays(1), base.plusDays(1));
+        assertThat(resto).extracting(Reserva::getFechaInicio)
+                .containsExactly(base.plusDays(2), base.plusDays(3));
+    }
+
+    @Test
+    @DisplayName("Debe filtrar por rango de fechas")
+    void buscarPorFechaInicio_DeberiaFiltrarPorRango() {
+        List<Reserva> resultado = reservaRepository.buscarPorFechaInicio(null, base.plusDays(2), base.plusDays(3),
+                null, null, null, null, Limit.of(10));
+
+        assertThat(resultado).extracting(Reserva::getFechaInicio).containsExactly(base.plusDays(2));
+    }
+
+    @Test
+    @DisplayName("Debe recorrer las reservas filtradas como stream")
+    void streamFiltradas_DeberiaRecorrerResultados() {
+        try (Stream<Reserva> stream = reservaRepository.streamFiltradas(null, null, null, null, "juan")) {
+            assertThat(stream.count()).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.patojunit.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aplica las migraciones sobre una base H2 en modo MySQL vacía, como la de los perfiles prod y
+ * test. Los scripts de MySQL también se corren acá: no reemplaza probarlos contra un MySQL real,
+ * pero detecta errores de sintaxis y de orden entre versiones.
+ *
+ * Que Hibernate acepte el esquema resultante lo verifica cualquier test de integración, porque
+ * la aplicación arranca con ddl-auto=validate.
+ */
+class MigracionesTest {
+
+    private static final Set<String> TABLAS = Set.of(
+            "USERS", "ROLES", "PERMISSIONS", "USER_ROLES", "ROLES_PERMISSIONS",
+            "PRODUCTO", "RESERVA", "PRODUCTO_CANTIDAD");
+
+    private static final Set<String> INDICES = Set.of(
+            "IDX_RESERVA_USUARIO", "IDX_RESERVA_FECHA_INICIO", "IDX_RESERVA_ESTADO",
+            "IDX_RESERVA_ESTADO_FECHA_INICIO", "IDX_RESERVA_ESTADO_FECHA_FIN",
+            "IDX_PRODUCTO_CANTIDAD_PRODUCTO", "IDX_PRODUCTO_NOMBRE");
+
+    @Test
+    @DisplayName("Las migraciones de H2 deben crear todas las tablas e índices")
+    void migrar_H2_DeberiaCrearEsquemaCompleto() throws Exception {
+        String url = "jdbc:h2:mem:migraciones_h2;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+        MigrateResult resultado = migrar(url, "h2");
+
+        assertThat(resultado.success).isTrue();
+        assertThat(resultado.targetSchemaVersion).isEqualTo("2");
+        assertThat(consultar(url, "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'"))
+                .containsAll(TABLAS);
+        assertThat(consultar(url, "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = 'PUBLIC'"))
+                .containsAll(INDICES);
+        assertThat(consultar(url, "SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.SEQUENCES"))
+                .contains("RESERVA_SEQ", "PRODUCTO_SEQ", "PRODUCTO_CANTIDAD_SEQ");
+    }
+
+    @Test
+    @DisplayName("Las migraciones de MySQL deben aplicarse en H2 modo MySQL")
+    void migrar_MySql_DeberiaAplicarseEnModoMySql() throws Exception {
+        String url = "jdbc:h2:mem:migraciones_mysql;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+        MigrateResult resultado = migrar(url, "mysql");
+
+        assertThat(resultado.success).isTrue();
+        assertThat(resultado.migrationsExecuted).isEqualTo(2);
+        assertThat(consultar(url, "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'"))
+                .containsAll(TABLAS)
+                .contains("RESERVA_SEQ", "PRODUCTO_SEQ", "PRODUCTO_CANTIDAD_SEQ");
+        assertThat(consultar(url, "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = 'PUBLIC'"))
+                .containsAll(INDICES);
+    }
+
+    @Test
+    @DisplayName("Migrar dos veces no debe aplicar nada nuevo")
+    void migrar_DeberiaSerIdempotente() {
+        String url = "jdbc:h2:mem:migraciones_repetidas;DB_CLOSE_DELAY=-1;MODE=MySQL";
+        migrar(url, "h2");
+
+        MigrateResult segunda = migrar(url, "h2");
+
+        assertThat(segunda.migrationsExecuted).isZero();
+    }
+
+    private MigrateResult migrar(String url, String vendor) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/comun", "classpath:db/migration/" + vendor)
+                .load()
+                .migrate();
+    }
+
+    private Set<String> consultar(String url, String sql) throws Exception {
+        Set<String> valores = new HashSet<>();
+        try (Connection conexion = DriverManager.getConnection(url, "sa", "");
+             Statement st = conexion.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                valores.add(rs.getString(1));
+            }
+        }
+        return valores;
+    }
+}
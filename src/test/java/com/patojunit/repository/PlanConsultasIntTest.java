@@ -0,0 +1,172 @@
+package com.patojunit.repository;
+
+import com.patojunit.model.enums.EstadoReserva;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Corre EXPLAIN sobre el SQL que genera Hibernate para las consultas del scheduler y de los
+ * caminos calientes, contra el H2 en modo MySQL de la aplicación. Falla si alguna tabla se
+ * recorre completa o si la consulta deja de usar el índice previsto.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PlanConsultasIntTest {
+
+    private static final String RECORRIDO_COMPLETO = "tableScan";
+    /** Un índice sin condición (sin ":" después del nombre en el plan) también se recorre entero. */
+    private static final Pattern INDICE_COMPLETO = Pattern.compile("/\\* PUBLIC\\.[A-Z0-9_]+ \\*/");
+
+    @TestConfiguration
+    static class CapturaConfig {
+
+        @Bean
+        CapturaSql capturaSql() {
+            return new CapturaSql();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer inspectorSql(CapturaSql captura) {
+            return propiedades -> propiedades.put("hibernate.session_factory.statement_inspector", captura);
+        }
+    }
+
+    static class CapturaSql implements StatementInspector {
+        private final List<String> sentencias = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            sentencias.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired private IReservaRepository reservaRepository;
+    @Autowired private IProductoRepository productoRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private CapturaSql captura;
+
+    @BeforeEach
+    void setUp() {
+        captura.sentencias.clear();
+    }
+
+    @Test
+    @DisplayName("findByEstadoAndFechaInicioBefore debe usar el índice (estado, fecha_inicio)")
+    void reservasPorIniciar_DeberianUsarIndiceEstadoFechaInicio() {
+        reservaRepository.findByEstadoAndFechaInicioBefore(EstadoReserva.PENDIENTE, LocalDateTime.now());
+
+        assertThat(planes()).anySatisfy(plan -> assertThat(plan).contains("IDX_RESERVA_ESTADO_FECHA_INICIO"));
+    }
+
+    @Test
+    @DisplayName("findByEstadoAndFechaFinBefore debe usar el índice (estado, fecha_fin)")
+    void reservasPorFinalizar_DeberianUsarIndiceEstadoFechaFin() {
+        reservaRepository.findByEstadoAndFechaFinBefore(EstadoReserva.ACTIVA, LocalDateTime.now());
+
+        assertThat(planes()).anySatisfy(plan -> assertThat(plan).contains("IDX_RESERVA_ESTADO_FECHA_FIN"));
+    }
+
+    @Test
+    @DisplayName("findIdsPorIniciar debe usar el índice (estado, fecha_inicio) también con el corte por id")
+    void idsPorIniciar_DeberianUsarIndiceEstadoFechaInicio() {
+        reservaRepository.findIdsPorIniciar(EstadoReserva.PENDIENTE, LocalDateTime.now(), 0L, Limit.of(500));
+
+        assertThat(planes()).anySatisfy(plan -> assertThat(plan).contains("IDX_RESERVA_ESTADO_FECHA_INICIO"));
+    }
+
+    @Test
+    @DisplayName("findIdsPorFinalizar debe usar el índice (estado, fecha_fin) también con el corte por id")
+    void idsPorFinalizar_DeberianUsarIndiceEstadoFechaFin() {
+        reservaRepository.findIdsPorFinalizar(EstadoReserva.ACTIVA, LocalDateTime.now(), 0L, Limit.of(500));
+
+        assertThat(planes()).anySatisfy(plan -> assertThat(plan).contains("IDX_RESERVA_ESTADO_FECHA_FIN"));
+    }
+
+    @Test
+    @DisplayName("findByUsuario_Username debe entrar por username y llegar a las reservas por usuario_id")
+    void reservasDeUsuario_DeberianUsarIndiceUsuario() {
+        reservaRepository.findByUsuario_Username("juan");
+
+        // H2 crea su propio índice para cada FK y puede elegirlo en lugar de idx_reserva_usuario
+        // (MySQL usa el declarado); lo que importa es que el acceso a reserva tenga esa condición.
+        assertThat(planes()).anySatisfy(plan -> assertThat(plan)
+                .contains("USERNAME = ?1")
+                .containsPattern("(_INDEX_[A-Z0-9]+|IDX_RESERVA_USUARIO): USUARIO_ID = \\(SELECT"));
+    }
+
+    @Test
+    @DisplayName("existsByProductos_Producto_Id debe usar el índice de producto_cantidad por producto")
+    void productoReservado_DeberiaUsarIndiceProductoCantidad() {
+        reservaRepository.existsByProductos_Producto_Id(1L);
+
+        // Igual que con usuario_id: H2 también indexa la FK y puede preferir ese índice.
+        assertThat(planes()).anySatisfy(plan -> assertThat(plan)
+                .containsPattern("(_INDEX_[A-Z0-9]+|IDX_PRODUCTO_CANTIDAD_PRODUCTO): ID_PRODUCTO = \\?1")
+                .doesNotContain("\"RESERVA\""));
+    }
+
+    @Test
+    @DisplayName("existsByNombre debe usar el índice de producto por nombre")
+    void productoPorNombre_DeberiaUsarIndiceNombre() {
+        productoRepository.existsByNombre("reposera");
+
+        assertThat(planes()).anySatisfy(plan -> assertThat(plan).contains("IDX_PRODUCTO_NOMBRE"));
+    }
+
+    /**
+     * Plan de cada SELECT capturado desde el último {@link #setUp()}. Ya verifica que ninguno
+     * recorra una tabla completa; los tests agregan el índice esperado.
+     */
+    private List<String> planes() {
+        List<String> planes = new ArrayList<>();
+        for (String sql : captura.sentencias) {
+            if (sql.stripLeading().toLowerCase().startsWith("select")) {
+                String plan = explicar(sql);
+                assertThat(plan).as("Plan de: %s", sql)
+                        .doesNotContain(RECORRIDO_COMPLETO)
+                        .doesNotContainPattern(INDICE_COMPLETO);
+                planes.add(plan);
+            }
+        }
+        assertThat(planes).isNotEmpty();
+        return planes;
+    }
+
+    /** H2 arma el plan sin mirar los valores, así que los parámetros van en null. */
+    private String explicar(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) conexion -> {
+            try (PreparedStatement explain = conexion.prepareStatement("EXPLAIN " + sql)) {
+                int parametros = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parametros; i++) {
+                    explain.setObject(i, null);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+}
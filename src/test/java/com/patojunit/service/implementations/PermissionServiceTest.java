@@ -1,5 +1,6 @@
 package com.patojunit.service.implementations;
 
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.model.Permission;
 import com.patojunit.repository.IPermissionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +21,9 @@ class PermissionServiceTest {
     @Mock
     private IPermissionRepository permissionRepository;
 
+    @Mock
+    private UsuarioCache usuarioCache;
+
     @InjectMocks
     private PermissionService permissionService;
 
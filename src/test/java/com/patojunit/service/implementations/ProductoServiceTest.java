@@ -3,12 +3,17 @@ package com.patojunit.service.implementations;
 import com.patojunit.dto.request.ProductoCrearEditarDTO;
 import com.patojunit.dto.response.ProductoAdminGetDTO;
 import com.patojunit.dto.response.ProductoUserGetDTO;
+import com.patojunit.helpers.codigo.CodigoIdCache;
 import com.patojunit.helpers.logger.producto.ProductoLogger;
+import com.patojunit.helpers.metricas.MetricasDePrueba;
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.producto.ProductoCatalogoCache;
 import com.patojunit.helpers.security.JwtRoleValidator;
 import com.patojunit.helpers.security.RoleBasedMapper;
 import com.patojunit.model.Producto;
 import com.patojunit.repository.IProductoRepository;
 import com.patojunit.service.operations.ProductoOperationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +36,10 @@ class ProductoServiceTest {
     @Mock private RoleBasedMapper roleBasedMapper;
     @Mock private ProductoLogger productoLogger;
     @Mock private IProductoRepository productoRepository;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    @Spy private ProductoCatalogoCache catalogoCache = new ProductoCatalogoCache(registry, 100, 60);
+    @Spy private MetricasService metricas = MetricasDePrueba.enMemoria();
+    @Spy private CodigoIdCache codigoIdCache = new CodigoIdCache(new SimpleMeterRegistry(), 100);
 
     @InjectMocks
     private ProductoService productoService;
@@ -192,6 +201,48 @@ class ProductoServiceTest {
         verify(productoLogger).logErrorGeneral(contains("Error al obtener producto"), any());
     }
 
+    @Test
+    @DisplayName("Un código consultado seguido debe resolverse sin ir a la base")
+    void getPorCodigo_DeberiaUsarCodigoYCatalogoCacheados() {
+        Producto p = new Producto();
+        p.setId(10L);
+        ProductoUserGetDTO dtoResponse = new ProductoUserGetDTO();
+        when(productoRepository.findIdByCodigoProducto("PROD-REP-0D2X7Q9K3M1B4")).thenReturn(Optional.of(10L));
+        when(productoRepository.findById(10L)).thenReturn(Optional.of(p));
+        when(roleBasedMapper.mapByRole(eq(p), any(), any())).thenReturn(dtoResponse);
+        when(operationService.getMapper()).thenReturn(mock(com.patojunit.helpers.producto.ProductoMapper.class));
+
+        ProductoUserGetDTO primero = productoService.getPorCodigo("PROD-REP-0D2X7Q9K3M1B4");
+        ProductoUserGetDTO segundo = productoService.getPorCodigo("PROD-REP-0D2X7Q9K3M1B4");
+
+        assertThat(primero).isSameAs(dtoResponse);
+        assertThat(segundo).isSameAs(dtoResponse);
+        verify(productoRepository, times(1)).findIdByCodigoProducto("PROD-REP-0D2X7Q9K3M1B4");
+        verify(productoRepository, times(1)).findById(10L);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar EntityNotFoundException si no hay producto con ese código")
+    void getPorCodigo_DeberiaLanzarExcepcionSiNoExiste() {
+        when(productoRepository.findIdByCodigoProducto("PROD-XXX-NADA")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productoService.getPorCodigo("PROD-XXX-NADA"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("No existe producto con código");
+        verify(productoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Debe descartar el código cacheado si el producto ya no existe")
+    void getPorCodigo_DeberiaDescartarCodigoDeProductoBorrado() {
+        when(productoRepository.findIdByCodigoProducto("PROD-REP-1")).thenReturn(Optional.of(11L));
+        when(productoRepository.findById(11L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> productoService.getPorCodigo("PROD-REP-1"));
+
+        assertThat(codigoIdCache.getTamanio()).isZero();
+    }
+
     @Test
     @DisplayName("Debe loguear error y relanzar excepción al fallar en crear()")
     void crear_DeberiaLanzarExcepcionYLoguear() {
@@ -266,4 +317,44 @@ class ProductoServiceTest {
         assertEquals("Solo los administradores pueden realizar esta acción.", ex.getMessage());
         verify(productoLogger).logAdvertencia(contains("Intento de acceso no autorizado"));
     }
+
+    @Test
+    @DisplayName("Una segunda consulta del mismo producto y rol debe salir del cache")
+    void get_DeberiaUsarElCacheEnLaSegundaConsulta() {
+        Producto p = new Producto();
+        p.setId(10L);
+        ProductoUserGetDTO dtoUsuario = new ProductoUserGetDTO();
+        when(productoRepository.findById(10L)).thenReturn(Optional.of(p));
+        when(roleBasedMapper.mapByRole(eq(p), any(), any())).thenReturn(dtoUsuario);
+        when(operationService.getMapper()).thenReturn(mock(com.patojunit.helpers.producto.ProductoMapper.class));
+
+        productoService.get(10L);
+        ProductoUserGetDTO result = productoService.get(10L);
+
+        assertThat(result).isSameAs(dtoUsuario);
+        verify(productoRepository, times(1)).findById(10L);
+        assertThat(registry.get("producto.catalogo.cache.consultas").tag("resultado", "acierto").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("El cache debe separar el catálogo de usuario del de admin")
+    void getAll_DeberiaSepararLasVistasPorRol() {
+        Producto p1 = new Producto();
+        p1.setId(1L);
+        when(productoRepository.findAll()).thenReturn(List.of(p1));
+        when(roleBasedMapper.mapByRole(eq(p1), any(), any()))
+                .thenReturn(new ProductoUserGetDTO(), new ProductoAdminGetDTO());
+        when(operationService.getMapper()).thenReturn(mock(com.patojunit.helpers.producto.ProductoMapper.class));
+
+        when(jwtRoleValidator.isAdmin()).thenReturn(false);
+        List<ProductoUserGetDTO> comoUsuario = productoService.getAll();
+        when(jwtRoleValidator.isAdmin()).thenReturn(true);
+        List<ProductoUserGetDTO> comoAdmin = productoService.getAll();
+        productoService.getAll();
+
+        assertThat(comoUsuario.get(0)).isNotInstanceOf(ProductoAdminGetDTO.class);
+        assertThat(comoAdmin.get(0)).isInstanceOf(ProductoAdminGetDTO.class);
+        verify(productoRepository, times(2)).findAll();
+    }
 }
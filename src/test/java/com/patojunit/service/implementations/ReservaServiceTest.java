@@ -1,8 +1,14 @@
 package com.patojunit.service.implementations;
 
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
+import com.patojunit.dto.request.ReservaFiltroDTO;
+import com.patojunit.dto.response.ReservaPaginaDTO;
 import com.patojunit.dto.response.ReservaUserGetDTO;
 import com.patojunit.helpers.logger.reserva.ReservaLogger;
+import com.patojunit.helpers.codigo.CodigoIdCache;
+import com.patojunit.helpers.metricas.MetricasDePrueba;
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
 import com.patojunit.helpers.reserva.ReservaPermissionValidator;
 import com.patojunit.helpers.security.JwtRoleValidator;
 import com.patojunit.helpers.security.JwtUserProvider;
@@ -12,17 +18,24 @@ import com.patojunit.model.UserSec;
 import com.patojunit.repository.IReservaRepository;
 import com.patojunit.service.interfaces.IUserService;
 import com.patojunit.service.operations.ReservaOperationService;
+import com.patojunit.service.scheduler.ReservaTransicionPlanificador;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -38,6 +51,11 @@ class ReservaServiceTest {
     @Mock private JwtRoleValidator jwtRoleValidator;
     @Mock private ReservaOperationService operationService;
     @Mock private ReservaLogger reservaLogger;
+    @Mock private ReservaDisponibilidadIndex disponibilidadIndex;
+    @Mock private ReservaTransicionPlanificador transicionPlanificador;
+    @Mock private EntityManager entityManager;
+    @Spy private MetricasService metricas = MetricasDePrueba.enMemoria();
+    @Spy private CodigoIdCache codigoIdCache = new CodigoIdCache(new SimpleMeterRegistry(), 100);
 
     @InjectMocks
     private ReservaService reservaService;
@@ -65,7 +83,7 @@ class ReservaServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("juan");
         SecurityContextHolder.setContext(securityContext);
-        when(userService.findByUsername("juan")).thenReturn(usuario);
+        when(userService.findReferenciaByUsername("juan")).thenReturn(usuario);
     }
 
     @Test
@@ -76,7 +94,7 @@ class ReservaServiceTest {
         ReservaUserGetDTO dtoResponse = new ReservaUserGetDTO();
         UserSec usuario = new UserSec();
 
-        when(userService.findByUsername(any())).thenReturn(usuario);
+        when(userService.findReferenciaByUsername(any())).thenReturn(usuario);
         when(operationService.crearReserva(dto, usuario)).thenReturn(reserva);
         when(reservaRepository.save(reserva)).thenReturn(reserva);
         when(roleBasedMapper.mapByRole(any(), any(), any())).thenReturn(dtoResponse);
@@ -92,6 +110,8 @@ class ReservaServiceTest {
         verify(permisoValidator).validarPermisosGenerales();
         verify(operationService).crearReserva(dto, usuario);
         verify(reservaRepository).save(reserva);
+        verify(disponibilidadIndex).registrar(reserva);
+        verify(transicionPlanificador).programar(reserva);
         verify(reservaLogger).logCreacionExitosa(reserva);
         assertThat(result).isEqualTo(dtoResponse);
     }
@@ -135,6 +155,8 @@ class ReservaServiceTest {
         ReservaUserGetDTO result = reservaService.cancelarReserva(5L);
 
         verify(permisoValidator).validarAccesoAReserva(any());
+        verify(disponibilidadIndex).registrar(reserva);
+        verify(transicionPlanificador).programar(reserva);
         verify(reservaLogger).logCancelacionExitosa(reserva);
         assertThat(result).isEqualTo(dtoResponse);
     }
@@ -151,6 +173,8 @@ class ReservaServiceTest {
 
         verify(permisoValidator).validarAccesoAReserva(any());
         verify(reservaRepository).delete(reserva);
+        verify(disponibilidadIndex).quitar(7L);
+        verify(transicionPlanificador).quitar(7L);
         verify(reservaLogger).logEliminacionExitosa(7L);
     }
 
@@ -159,12 +183,12 @@ class ReservaServiceTest {
     void getAll_DeberiaRetornarTodasLasReservas() {
         Reserva r1 = new Reserva();
         when(jwtRoleValidator.isAdmin()).thenReturn(true);
-        when(reservaRepository.findAll()).thenReturn(List.of(r1));
+        when(reservaRepository.streamFiltradas(null, null, null, null, null)).thenReturn(Stream.of(r1));
         when(roleBasedMapper.mapByRole(any(), any(), any())).thenReturn(new ReservaUserGetDTO());
 
         List<ReservaUserGetDTO> result = reservaService.getAll();
 
-        verify(reservaRepository).findAll();
+        verify(reservaRepository).streamFiltradas(null, null, null, null, null);
         assertThat(result).hasSize(1);
     }
 
@@ -174,15 +198,74 @@ class ReservaServiceTest {
         Reserva r1 = new Reserva();
         when(jwtRoleValidator.isAdmin()).thenReturn(false);
         when(jwtUserProvider.getUsuarioAutenticadoUsername()).thenReturn("user1");
-        when(reservaRepository.findByUsuario_Username("user1")).thenReturn(List.of(r1));
+        when(reservaRepository.streamFiltradas(null, null, null, null, "user1")).thenReturn(Stream.of(r1));
         when(roleBasedMapper.mapByRole(any(), any(), any())).thenReturn(new ReservaUserGetDTO());
 
         List<ReservaUserGetDTO> result = reservaService.getAll();
 
-        verify(reservaRepository).findByUsuario_Username("user1");
+        verify(reservaRepository).streamFiltradas(null, null, null, null, "user1");
         assertThat(result).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Debe devolver una página y el cursor siguiente cuando hay más resultados")
+    void buscar_DeberiaPaginarYCalcularCursor() {
+        Reserva r1 = new Reserva(); r1.setId(1L);
+        Reserva r2 = new Reserva(); r2.setId(2L);
+        Reserva r3 = new Reserva(); r3.setId(3L);
+        ReservaFiltroDTO filtro = new ReservaFiltroDTO();
+        filtro.setLimite(2);
+        filtro.setUsername("ana");
+
+        when(jwtRoleValidator.isAdmin()).thenReturn(true);
+        when(reservaRepository.buscarPorId(null, null, null, null, "ana", null, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(r1, r2, r3)));
+        when(roleBasedMapper.mapByRole(any(), any(), any())).thenReturn(new ReservaUserGetDTO());
+
+        ReservaPaginaDTO pagina = reservaService.buscar(filtro);
+
+        assertThat(pagina.getContenido()).hasSize(2);
+        assertThat(pagina.isHayMas()).isTrue();
+        assertThat(pagina.getSiguienteCursorId()).isEqualTo(2L);
+        assertThat(pagina.getSiguienteCursorFecha()).isNull();
+    }
+
+    @Test
+    @DisplayName("Un usuario no admin solo puede listar sus propias reservas")
+    void buscar_DeberiaForzarUsernameParaUsuarios() {
+        ReservaFiltroDTO filtro = new ReservaFiltroDTO();
+        filtro.setUsername("otro");
+        filtro.setOrdenarPor("fechaInicio");
+
+        when(jwtRoleValidator.isAdmin()).thenReturn(false);
+        when(jwtUserProvider.getUsuarioAutenticadoUsername()).thenReturn("juan");
+        when(reservaRepository.buscarPorFechaInicio(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        ReservaPaginaDTO pagina = reservaService.buscar(filtro);
+
+        verify(reservaRepository).buscarPorFechaInicio(null, null, null, null, "juan", null, null, Limit.of(51));
+        assertThat(pagina.isHayMas()).isFalse();
+        assertThat(pagina.getContenido()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe exportar cada reserva y desacoplarla del contexto de persistencia")
+    void exportar_DeberiaEntregarYDesacoplarCadaReserva() {
+        Reserva r1 = new Reserva(); r1.setId(1L);
+        Reserva r2 = new Reserva(); r2.setId(2L);
+        when(jwtRoleValidator.isAdmin()).thenReturn(true);
+        when(reservaRepository.streamFiltradas(null, null, null, null, null)).thenReturn(Stream.of(r1, r2));
+        when(roleBasedMapper.mapByRole(any(), any(), any())).thenReturn(new ReservaUserGetDTO());
+
+        List<ReservaUserGetDTO> exportadas = new ArrayList<>();
+        reservaService.exportar(new ReservaFiltroDTO(), exportadas::add);
+
+        assertThat(exportadas).hasSize(2);
+        verify(entityManager).detach(r1);
+        verify(entityManager).detach(r2);
+    }
+
     @Test
     @DisplayName("Debe devolver una reserva por ID")
     void get_DeberiaRetornarReservaPorId() {
@@ -197,6 +280,48 @@ class ReservaServiceTest {
         assertThat(result).isNotNull();
     }
 
+    @Test
+    @DisplayName("Debe devolver una reserva por código validando el acceso")
+    void getPorCodigo_DeberiaRetornarReserva() {
+        UserSec duenio = new UserSec();
+        duenio.setUsername("ana");
+        Reserva reserva = new Reserva();
+        reserva.setUsuario(duenio);
+        when(reservaRepository.findIdByCodigoReserva("RES-0ABC")).thenReturn(Optional.of(9L));
+        when(reservaRepository.findById(9L)).thenReturn(Optional.of(reserva));
+        when(roleBasedMapper.mapByRole(any(), any(), any())).thenReturn(new ReservaUserGetDTO());
+
+        ReservaUserGetDTO result = reservaService.getPorCodigo("RES-0ABC");
+        reservaService.getPorCodigo("RES-0ABC");
+
+        verify(permisoValidator, times(2)).validarAccesoAReserva("ana");
+        verify(reservaRepository, times(1)).findIdByCodigoReserva("RES-0ABC");
+        verify(reservaRepository, times(2)).findById(9L);
+        assertThat(result).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Debe descartar el código cacheado si la reserva ya no existe")
+    void getPorCodigo_DeberiaDescartarCodigoDeReservaBorrada() {
+        when(reservaRepository.findIdByCodigoReserva("RES-0ABC")).thenReturn(Optional.of(9L));
+        when(reservaRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> reservaService.getPorCodigo("RES-0ABC"));
+        assertThrows(EntityNotFoundException.class, () -> reservaService.getPorCodigo("RES-0ABC"));
+
+        verify(reservaRepository, times(2)).findIdByCodigoReserva("RES-0ABC");
+        assertThat(codigoIdCache.getTamanio()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe lanzar EntityNotFoundException si no hay reserva con ese código")
+    void getPorCodigo_DeberiaLanzarEntityNotFound() {
+        when(reservaRepository.findIdByCodigoReserva("RES-NADA")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> reservaService.getPorCodigo("RES-NADA"));
+        verifyNoInteractions(permisoValidator);
+    }
+
     @Test
     @DisplayName("Debe lanzar excepción si la reserva no existe")
     void getEntity_DeberiaLanzarEntityNotFound() {
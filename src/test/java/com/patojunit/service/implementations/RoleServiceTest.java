@@ -1,5 +1,6 @@
 package com.patojunit.service.implementations;
 
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.model.Permission;
 import com.patojunit.model.Role;
 import com.patojunit.repository.IRoleRepository;
@@ -19,6 +20,9 @@ class RoleServiceTest {
     @Mock
     private IRoleRepository roleRepository;
 
+    @Mock
+    private UsuarioCache usuarioCache;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -102,6 +106,7 @@ class RoleServiceTest {
 
         // Assert
         verify(roleRepository, times(1)).deleteById(1L);
+        verify(usuarioCache).invalidarTodo();
     }
 
     @Test
@@ -116,5 +121,6 @@ class RoleServiceTest {
         // Assert
         assertEquals("ADMIN_UPDATED", result.getName());
         verify(roleRepository, times(1)).save(updated);
+        verify(usuarioCache).invalidarTodo();
     }
 }
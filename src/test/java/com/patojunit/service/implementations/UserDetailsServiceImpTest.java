@@ -2,20 +2,22 @@ package com.patojunit.service.implementations;
 
 import com.patojunit.dto.request.AuthLoginRequestDTO;
 import com.patojunit.dto.response.AuthResponseDTO;
+import com.patojunit.exception.LoginSaturadoException;
+import com.patojunit.helpers.security.LoginHashExecutor;
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.model.Permission;
 import com.patojunit.model.Role;
 import com.patojunit.model.UserSec;
 import com.patojunit.repository.IUserRepository;
 import com.patojunit.utils.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 import java.util.Set;
@@ -32,9 +34,8 @@ class UserDetailsServiceImpTest {
     private JwtUtils jwtUtils;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private LoginHashExecutor loginHashExecutor;
 
-    @InjectMocks
     private UserDetailsServiceImp userDetailsService;
 
     private UserSec userSec;
@@ -42,6 +43,7 @@ class UserDetailsServiceImpTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        userDetailsService = new UserDetailsServiceImp(new UsuarioCache(new SimpleMeterRegistry(), userRepo, 100, 300), jwtUtils, loginHashExecutor);
 
         Permission permiso1 = new Permission();
         permiso1.setPermissionName("READ_PRIVILEGES");
@@ -79,6 +81,21 @@ class UserDetailsServiceImpTest {
         verify(userRepo, times(1)).findByUsername("juan");
     }
 
+    @Test
+    void loadUserByUsername_DeberiaUsarElCacheEnLlamadasSiguientes() {
+        // Arrange
+        when(userRepo.findByUsername("juan")).thenReturn(Optional.of(userSec));
+
+        // Act
+        UserDetails primero = userDetailsService.loadUserByUsername("juan");
+        UserDetails segundo = userDetailsService.loadUserByUsername("juan");
+
+        // Assert
+        verify(userRepo, times(1)).findByUsername("juan");
+        assertNotSame(primero, segundo, "Cada llamada debe devolver su propio UserDetails");
+        assertEquals(primero.getAuthorities(), segundo.getAuthorities());
+    }
+
     @Test
     void loadUserByUsername_DeberiaLanzarExcepcionSiNoExisteUsuario() {
         // Arrange
@@ -93,7 +110,7 @@ class UserDetailsServiceImpTest {
     void authenticate_DeberiaRetornarAuthenticationCuandoCredencialesSonValidas() {
         // Arrange
         when(userRepo.findByUsername("juan")).thenReturn(Optional.of(userSec));
-        when(passwordEncoder.matches("1234", "encoded123")).thenReturn(true);
+        when(loginHashExecutor.verificar("1234", "encoded123")).thenReturn(true);
 
         // Act
         var auth = userDetailsService.authenticate("juan", "1234");
@@ -107,7 +124,7 @@ class UserDetailsServiceImpTest {
     void authenticate_DeberiaLanzarExcepcionCuandoPasswordInvalido() {
         // Arrange
         when(userRepo.findByUsername("juan")).thenReturn(Optional.of(userSec));
-        when(passwordEncoder.matches("wrong", "encoded123")).thenReturn(false);
+        when(loginHashExecutor.verificar("wrong", "encoded123")).thenReturn(false);
 
         // Act & Assert
         assertThrows(BadCredentialsException.class,
@@ -130,7 +147,7 @@ class UserDetailsServiceImpTest {
         AuthLoginRequestDTO loginDTO = new AuthLoginRequestDTO("juan", "1234");
 
         when(userRepo.findByUsername("juan")).thenReturn(Optional.of(userSec));
-        when(passwordEncoder.matches("1234", "encoded123")).thenReturn(true);
+        when(loginHashExecutor.verificar("1234", "encoded123")).thenReturn(true);
         when(jwtUtils.createToken(any())).thenReturn("token123");
 
         // Act
@@ -143,4 +160,16 @@ class UserDetailsServiceImpTest {
         assertTrue(response.status());
         verify(jwtUtils, times(1)).createToken(any());
     }
+
+    @Test
+    void authenticate_DeberiaPropagarRechazoCuandoElPoolDeLoginEstaSaturado() {
+        // Arrange
+        when(userRepo.findByUsername("juan")).thenReturn(Optional.of(userSec));
+        when(loginHashExecutor.verificar("1234", "encoded123")).thenThrow(new LoginSaturadoException());
+
+        // Act & Assert
+        assertThrows(LoginSaturadoException.class,
+                () -> userDetailsService.authenticate("juan", "1234"));
+        verify(jwtUtils, never()).createToken(any());
+    }
 }
@@ -1,13 +1,17 @@
 package com.patojunit.service.implementations;
 
+import com.patojunit.helpers.security.UsuarioCache;
 import com.patojunit.model.UserSec;
 import com.patojunit.repository.IUserRepository;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +26,12 @@ class UserServiceTest {
     @Mock
     private IUserRepository userRepository;
 
+    @Mock
+    private UsuarioCache usuarioCache;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
     @InjectMocks
     private UserService userService;
 
@@ -85,6 +95,7 @@ class UserServiceTest {
     void deleteById_DeberiaLlamarAlRepositorio() {
         userService.deleteById(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(usuarioCache).invalidarPorId(1L);
     }
 
     @Test
@@ -95,6 +106,8 @@ class UserServiceTest {
         userService.update(updated);
 
         verify(userRepository, times(1)).save(updated);
+        verify(usuarioCache).invalidar(updated.getUsername());
+        verify(usuarioCache).invalidarPorId(updated.getId());
     }
 
     @Test
@@ -108,4 +121,24 @@ class UserServiceTest {
         assertTrue(new BCryptPasswordEncoder().matches(rawPassword, encodedPassword),
                 "La contraseña debería ser válida al comparar con el hash generado");
     }
+
+    @Test
+    void findReferenciaByUsername_DeberiaArmarElUsuarioDesdeElCache() {
+        when(usuarioCache.obtener("juan")).thenReturn(Optional.of(new UsuarioCache.Usuario(
+                1L, "juan", "hash", true, true, true, true, List.of())));
+
+        UserSec referencia = userService.findReferenciaByUsername("juan");
+
+        assertEquals(1L, referencia.getId());
+        assertEquals("juan", referencia.getUsername());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void findReferenciaByUsername_DeberiaLanzarExcepcionSiNoExiste() {
+        when(usuarioCache.obtener("nadie")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> userService.findReferenciaByUsername("nadie"));
+    }
 }
@@ -3,7 +3,9 @@ package com.patojunit.service.operations;
 import com.patojunit.dto.request.ProductoCrearEditarDTO;
 import com.patojunit.factory.ProductoFactory;
 import com.patojunit.helpers.logger.producto.ProductoLogger;
+import com.patojunit.helpers.producto.ProductoCatalogoCache;
 import com.patojunit.helpers.producto.ProductoMapper;
+import com.patojunit.helpers.producto.ProductoStockLedger;
 import com.patojunit.helpers.producto.ProductoStockService;
 import com.patojunit.helpers.producto.ProductoValidator;
 import com.patojunit.model.Producto;
@@ -40,6 +42,12 @@ class ProductoOperationServiceTest {
     @Mock
     private ProductoStockService stockService;
 
+    @Mock
+    private ProductoStockLedger stockLedger;
+
+    @Mock
+    private ProductoCatalogoCache catalogoCache;
+
     @Mock
     private ProductoMapper mapper;
 
@@ -3,6 +3,7 @@ package com.patojunit.service.operations;
 import com.patojunit.dto.request.ReservaCrearEditarDTO;
 import com.patojunit.factory.ReservaFactory;
 import com.patojunit.helpers.reserva.ReservaCalculoService;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
 import com.patojunit.helpers.reserva.ReservaMapper;
 import com.patojunit.helpers.reserva.ReservaStockHandler;
 import com.patojunit.validation.ReservaValidator;
@@ -32,6 +33,7 @@ class ReservaOperationServiceTest {
     @Mock private ReservaLogger reservaLogger;
     @Mock private ProductoOperationService productoOperationService;
     @Mock private IReservaRepository reservaRepository;
+    @Mock private ReservaDisponibilidadIndex disponibilidadIndex;
 
     @InjectMocks
     private ReservaOperationService reservaOperationService;
@@ -57,6 +59,7 @@ class ReservaOperationServiceTest {
         verify(reservaLogger).logCreacionInicio(usuario);
         verify(reservaLogger).logCreacionExitosa(reserva);
         verify(stockHandler).generarProductosConValidacion(dto, reserva);
+        verify(disponibilidadIndex).validarDisponibilidad(reserva);
         verify(calculoService).calcularPrecioTotal(reserva);
         assertThat(result.getPrecioTotal()).isEqualByComparingTo("2000");
     }
@@ -78,10 +81,29 @@ class ReservaOperationServiceTest {
         verify(reservaLogger).logEdicionInicio(10L);
         verify(validator).validarProductosNoCambiados(any(), any());
         verify(mapper).actualizarDatosBasicos(reserva, dto);
+        verify(disponibilidadIndex).validarDisponibilidad(reserva);
         verify(reservaLogger).logEdicionExitosa(reserva);
         assertThat(result.getPrecioTotal()).isEqualByComparingTo("5000");
     }
 
+    @Test
+    @DisplayName("No debe calcular el precio si no hay disponibilidad para el horario")
+    void crearReserva_DeberiaFallarSinDisponibilidad() {
+        ReservaCrearEditarDTO dto = new ReservaCrearEditarDTO();
+        UserSec usuario = new UserSec();
+
+        Reserva reserva = new Reserva();
+        when(reservaFactory.crearReserva(dto, usuario)).thenReturn(reserva);
+        when(stockHandler.generarProductosConValidacion(dto, reserva)).thenReturn(List.of(new ProductoCantidad()));
+        doThrow(new IllegalArgumentException("No hay disponibilidad suficiente"))
+                .when(disponibilidadIndex).validarDisponibilidad(reserva);
+
+        assertThatThrownBy(() -> reservaOperationService.crearReserva(dto, usuario))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("disponibilidad");
+        verify(calculoService, never()).calcularPrecioTotal(any());
+    }
+
     @Test
     @DisplayName("Debe cancelar una reserva correctamente y restablecer stock")
     void cancelarReserva_DeberiaActualizarEstadoYLoguear() {
@@ -1,18 +1,29 @@
 package com.patojunit.service.scheduler;
 
+import com.patojunit.helpers.metricas.MetricasDePrueba;
+import com.patojunit.helpers.metricas.MetricasService;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
 import com.patojunit.helpers.reserva.ReservaStockHandler;
 import com.patojunit.model.Reserva;
 import com.patojunit.model.enums.EstadoReserva;
 import com.patojunit.repository.IReservaRepository;
+import com.patojunit.utils.ReintentoConBackoff;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.config.EmbeddedValueResolver;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 class ReservaSchedulerTest {
@@ -23,6 +34,18 @@ class ReservaSchedulerTest {
     @Mock
     private ReservaStockHandler stockHandler;
 
+    @Mock
+    private ReservaDisponibilidadIndex disponibilidadIndex;
+
+    @Mock
+    private ReservaTransicionLoteService transicionLoteService;
+
+    @Spy
+    private ReintentoConBackoff reintento = new ReintentoConBackoff(3, 1, 5);
+
+    @Spy
+    private MetricasService metricas = MetricasDePrueba.enMemoria();
+
     @Mock
     private Logger log;
 
@@ -75,6 +98,7 @@ class ReservaSchedulerTest {
         // Assert
         verify(stockHandler).restablecerStockProductos(reservaActiva);
         verify(reservaRepository).save(reservaActiva);
+        verify(disponibilidadIndex).registrar(reservaActiva);
         assert(reservaActiva.getEstado() == EstadoReserva.FINALIZADA);
     }
 
@@ -95,6 +119,8 @@ class ReservaSchedulerTest {
         reservaScheduler.manejarReservasPorFecha();
 
         verify(reservaRepository, never()).save(reservaPendiente);
+        verify(metricas).contar("reserva.scheduler.reservas", "activacion", "fallidas", 1);
+        verify(metricas).registrar(any(), eq("reserva.scheduler"), eq("activacion"), eq("error"), eq("SISTEMA"));
     }
 
     @Test
@@ -115,4 +141,109 @@ class ReservaSchedulerTest {
 
         verify(reservaRepository, never()).save(reservaActiva);
     }
+
+    @Test
+    @DisplayName("En modo lote debe recorrer las reservas vencidas por cursor y acumular resultados")
+    void activarEnLotes_DeberiaProcesarPorLotes() {
+        ReflectionTestUtils.setField(reservaScheduler, "tamanioLote", 2);
+        LocalDateTime ahora = LocalDateTime.now();
+
+        when(reservaRepository.findIdsPorIniciar(EstadoReserva.PENDIENTE, ahora, 0L, Limit.of(2)))
+                .thenReturn(List.of(1L, 2L));
+        when(reservaRepository.findIdsPorIniciar(EstadoReserva.PENDIENTE, ahora, 2L, Limit.of(2)))
+                .thenReturn(List.of(5L));
+        when(transicionLoteService.activarLote(List.of(1L, 2L)))
+                .thenReturn(new ReservaTransicionLoteService.ResultadoLote(1, 1));
+        when(transicionLoteService.activarLote(List.of(5L)))
+                .thenReturn(new ReservaTransicionLoteService.ResultadoLote(1, 0));
+
+        ReservaScheduler.ResultadoTransicion resultado = reservaScheduler.activarEnLotes(ahora);
+
+        assertEquals(2, resultado.procesadas());
+        assertEquals(1, resultado.fallidas());
+        assertEquals(2, resultado.lotes());
+        verifyNoInteractions(stockHandler);
+    }
+
+    @Test
+    @DisplayName("En modo lote un lote fallido no debe detener los siguientes")
+    void finalizarEnLotes_DeberiaContinuarSiUnLoteFalla() {
+        ReflectionTestUtils.setField(reservaScheduler, "tamanioLote", 1);
+        LocalDateTime ahora = LocalDateTime.now();
+
+        when(reservaRepository.findIdsPorFinalizar(EstadoReserva.ACTIVA, ahora, 0L, Limit.of(1)))
+                .thenReturn(List.of(3L));
+        when(reservaRepository.findIdsPorFinalizar(EstadoReserva.ACTIVA, ahora, 3L, Limit.of(1)))
+                .thenReturn(List.of(4L));
+        when(reservaRepository.findIdsPorFinalizar(EstadoReserva.ACTIVA, ahora, 4L, Limit.of(1)))
+                .thenReturn(List.of());
+        when(transicionLoteService.finalizarLote(List.of(3L))).thenThrow(new IllegalStateException("error de datos"));
+        when(transicionLoteService.finalizarLote(List.of(4L)))
+                .thenReturn(new ReservaTransicionLoteService.ResultadoLote(1, 0));
+
+        ReservaScheduler.ResultadoTransicion resultado = reservaScheduler.finalizarEnLotes(ahora);
+
+        assertEquals(1, resultado.procesadas());
+        assertEquals(1, resultado.fallidas());
+        verify(transicionLoteService).finalizarLote(List.of(4L));
+    }
+
+    @Test
+    @DisplayName("En modo lote debe reintentar un lote con conflicto de concurrencia")
+    void activarEnLotes_DeberiaReintentarLoteConConflicto() {
+        ReflectionTestUtils.setField(reservaScheduler, "tamanioLote", 10);
+        LocalDateTime ahora = LocalDateTime.now();
+
+        when(reservaRepository.findIdsPorIniciar(EstadoReserva.PENDIENTE, ahora, 0L, Limit.of(10)))
+                .thenReturn(List.of(1L));
+        when(transicionLoteService.activarLote(List.of(1L)))
+                .thenThrow(new OptimisticLockingFailureException("stock modificado"))
+                .thenReturn(new ReservaTransicionLoteService.ResultadoLote(1, 0));
+
+        ReservaScheduler.ResultadoTransicion resultado = reservaScheduler.activarEnLotes(ahora);
+
+        assertEquals(1, resultado.procesadas());
+        assertEquals(0, resultado.fallidas());
+        verify(transicionLoteService, times(2)).activarLote(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Con el modo lote habilitado el scheduler no debe usar el recorrido por entidad")
+    void manejarReservasPorFecha_DeberiaUsarModoLote() {
+        ReflectionTestUtils.setField(reservaScheduler, "loteHabilitado", true);
+        ReflectionTestUtils.setField(reservaScheduler, "tamanioLote", 500);
+        when(reservaRepository.findIdsPorIniciar(any(), any(), any(), any())).thenReturn(List.of());
+        when(reservaRepository.findIdsPorFinalizar(any(), any(), any(), any())).thenReturn(List.of());
+
+        reservaScheduler.manejarReservasPorFecha();
+
+        verify(reservaRepository, never()).findByEstadoAndFechaInicioBefore(any(), any());
+        verify(reservaRepository, never()).findByEstadoAndFechaFinBefore(any(), any());
+        verifyNoInteractions(transicionLoteService);
+    }
+
+    @Test
+    @DisplayName("El barrido debe usar el intervalo largo solo con el planificador habilitado")
+    void intervaloBarrido_DeberiaDependerDelPlanificador() {
+        MockEnvironment conPlanificador = new MockEnvironment()
+                .withProperty("reserva.scheduler.planificador.barrido-ms", "600000")
+                .withProperty("reserva.scheduler.barrido-ms", "60000");
+        MockEnvironment sinPlanificador = new MockEnvironment()
+                .withProperty("reserva.scheduler.planificador.habilitado", "false")
+                .withProperty("reserva.scheduler.planificador.barrido-ms", "600000")
+                .withProperty("reserva.scheduler.barrido-ms", "60000");
+
+        assertEquals("600000", resolverIntervalo(conPlanificador));
+        assertEquals("60000", resolverIntervalo(sinPlanificador));
+    }
+
+    /** Resuelve la expresión como lo hace @Scheduled al registrar la tarea. */
+    private static String resolverIntervalo(MockEnvironment environment) {
+        try (GenericApplicationContext contexto = new GenericApplicationContext()) {
+            contexto.setEnvironment(environment);
+            contexto.refresh();
+            return new EmbeddedValueResolver(contexto.getBeanFactory())
+                    .resolveStringValue(ReservaScheduler.INTERVALO_BARRIDO);
+        }
+    }
 }
@@ -0,0 +1,174 @@
+package com.patojunit.service.scheduler;
+
+import com.patojunit.helpers.producto.ProductoCatalogoCache;
+import com.patojunit.helpers.producto.ProductoStockLedger;
+import com.patojunit.helpers.reserva.ReservaDisponibilidadIndex;
+import com.patojunit.model.Producto;
+import com.patojunit.model.ProductoCantidad;
+import com.patojunit.model.Reserva;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IProductoRepository;
+import com.patojunit.repository.IReservaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ReservaTransicionLoteService.class, ProductoStockLedger.class, ProductoCatalogoCache.class, SimpleMeterRegistry.class})
+class ReservaTransicionLoteServiceTest {
+
+    @Autowired
+    private ReservaTransicionLoteService transicionLoteService;
+
+    @Autowired
+    private IReservaRepository reservaRepository;
+
+    @Autowired
+    private IProductoRepository productoRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ReservaDisponibilidadIndex disponibilidadIndex;
+
+    private Statistics statistics;
+    private Producto sombrilla;
+    private Producto reposera;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        sombrilla = producto("sombrilla", 5);
+        reposera = producto("reposera", 10);
+    }
+
+    private Producto producto(String nombre, int stock) {
+        Producto p = new Producto();
+        p.setNombre(nombre);
+        p.setPrecioHora(BigDecimal.TEN);
+        p.setStockDisponible(stock);
+        return em.persist(p);
+    }
+
+    private Long reserva(EstadoReserva estado, int sombrillas, int reposeras) {
+        Reserva r = new Reserva();
+        r.setEstado(estado);
+        r.setFechaInicio(LocalDateTime.now().minusHours(2));
+        r.setFechaFin(LocalDateTime.now().minusHours(1));
+        linea(r, sombrilla, sombrillas);
+        linea(r, reposera, reposeras);
+        return em.persist(r).getId();
+    }
+
+    private void linea(Reserva r, Producto producto, int cantidad) {
+        ProductoCantidad pc = new ProductoCantidad();
+        pc.setProducto(producto);
+        pc.setReserva(r);
+        pc.setCantidad(cantidad);
+        r.getProductos().add(pc);
+    }
+
+    private List<Long> reservas(EstadoReserva estado, int cantidad) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            ids.add(reserva(estado, 1, 2));
+        }
+        em.flush();
+        em.clear();
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Debe activar el lote con un UPDATE por producto y uno para las reservas")
+    void activarLote_DeberiaAgregarDescuentosPorProducto() {
+        List<Long> ids = reservas(EstadoReserva.PENDIENTE, 4);
+        statistics.clear();
+
+        ReservaTransicionLoteService.ResultadoLote resultado = transicionLoteService.activarLote(ids);
+
+        assertThat(resultado.procesadas()).isEqualTo(4);
+        // 1 SELECT del lote + 2 UPDATE de producto + 1 UPDATE de reservas
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        assertThat(productoRepository.findById(sombrilla.getId()).orElseThrow())
+                .extracting(Producto::getStockDisponible, Producto::getCantidadReservadaActual)
+                .containsExactly(1, 4);
+        assertThat(productoRepository.findById(reposera.getId()).orElseThrow())
+                .extracting(Producto::getStockDisponible, Producto::getCantidadReservadaActual)
+                .containsExactly(2, 8);
+        assertThat(reservaRepository.findAllById(ids))
+                .allMatch(r -> r.getEstado() == EstadoReserva.ACTIVA);
+    }
+
+    @Test
+    @DisplayName("Debe dejar pendientes las reservas que ya no entran en el stock del lote")
+    void activarLote_DeberiaRechazarReservasSinStock() {
+        List<Long> ids = reservas(EstadoReserva.PENDIENTE, 6);
+
+        ReservaTransicionLoteService.ResultadoLote resultado = transicionLoteService.activarLote(ids);
+
+        // reposera tiene 10 unidades y cada reserva toma 2: solo entran 5
+        assertThat(resultado.procesadas()).isEqualTo(5);
+        assertThat(resultado.rechazadas()).isEqualTo(1);
+        assertThat(reservaRepository.findById(ids.get(5)).orElseThrow().getEstado())
+                .isEqualTo(EstadoReserva.PENDIENTE);
+        assertThat(productoRepository.findById(reposera.getId()).orElseThrow().getStockDisponible())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Debe finalizar el lote, reponer stock y actualizar el índice de disponibilidad")
+    void finalizarLote_DeberiaReponerStock() {
+        sombrilla.setCantidadReservadaActual(3);
+        reposera.setCantidadReservadaActual(6);
+        List<Long> ids = reservas(EstadoReserva.ACTIVA, 3);
+        statistics.clear();
+
+        ReservaTransicionLoteService.ResultadoLote resultado = transicionLoteService.finalizarLote(ids);
+
+        assertThat(resultado.procesadas()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(productoRepository.findById(sombrilla.getId()).orElseThrow())
+                .extracting(Producto::getStockDisponible, Producto::getCantidadReservadaActual)
+                .containsExactly(8, 0);
+        assertThat(reservaRepository.findAllById(ids))
+                .allMatch(r -> r.getEstado() == EstadoReserva.FINALIZADA);
+        verify(disponibilidadIndex, times(3)).registrar(any());
+    }
+
+    @Test
+    @DisplayName("Debe ignorar las reservas del lote que cambiaron de estado")
+    void activarLote_DeberiaIgnorarReservasQueYaNoEstanPendientes() {
+        Long cancelada = reserva(EstadoReserva.CANCELADA, 1, 1);
+        List<Long> ids = new ArrayList<>(reservas(EstadoReserva.PENDIENTE, 1));
+        ids.add(cancelada);
+
+        ReservaTransicionLoteService.ResultadoLote resultado = transicionLoteService.activarLote(ids);
+
+        assertThat(resultado.procesadas()).isEqualTo(1);
+        assertThat(reservaRepository.findById(cancelada).orElseThrow().getEstado())
+                .isEqualTo(EstadoReserva.CANCELADA);
+    }
+}
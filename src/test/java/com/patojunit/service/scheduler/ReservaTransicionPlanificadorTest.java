@@ -0,0 +1,115 @@
+package com.patojunit.service.scheduler;
+
+import com.patojunit.model.Reserva;
+import com.patojunit.model.enums.EstadoReserva;
+import com.patojunit.repository.IReservaRepository;
+import com.patojunit.utils.ReintentoConBackoff;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ReservaTransicionPlanificadorTest {
+
+    @Mock
+    private IReservaRepository reservaRepository;
+
+    @Mock
+    private ReservaTransicionLoteService transicionLoteService;
+
+    @Spy
+    private ReintentoConBackoff reintento = new ReintentoConBackoff(3, 1, 5);
+
+    @InjectMocks
+    private ReservaTransicionPlanificador planificador;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(planificador, "habilitado", true);
+        when(transicionLoteService.activarLote(any())).thenReturn(new ReservaTransicionLoteService.ResultadoLote(1, 0));
+        when(transicionLoteService.finalizarLote(any())).thenReturn(new ReservaTransicionLoteService.ResultadoLote(1, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        planificador.detener();
+    }
+
+    private Reserva reserva(Long id, EstadoReserva estado, LocalDateTime inicio, LocalDateTime fin) {
+        Reserva r = new Reserva();
+        r.setId(id);
+        r.setEstado(estado);
+        r.setFechaInicio(inicio);
+        r.setFechaFin(fin);
+        return r;
+    }
+
+    @Test
+    @DisplayName("Debe activar y finalizar la reserva al llegar a cada fecha")
+    void programar_DeberiaDispararTransicionesAHorario() {
+        when(reservaRepository.findVencimientosByEstadoIn(any())).thenReturn(List.of());
+        planificador.iniciar();
+
+        LocalDateTime ahora = LocalDateTime.now();
+        planificador.programar(reserva(1L, EstadoReserva.PENDIENTE, ahora.plusNanos(100_000_000), ahora.plusNanos(300_000_000)));
+
+        verify(transicionLoteService, timeout(2000)).activarLote(List.of(1L));
+        verify(transicionLoteService, timeout(2000)).finalizarLote(List.of(1L));
+        assertEquals(0, planificador.getCantidadProgramadas());
+    }
+
+    @Test
+    @DisplayName("Debe cargar al iniciar las reservas vigentes y disparar las ya vencidas")
+    void iniciar_DeberiaSembrarDesdeElRepositorio() {
+        LocalDateTime ahora = LocalDateTime.now();
+        IReservaRepository.Vencimiento vencida = mock(IReservaRepository.Vencimiento.class);
+        when(vencida.getId()).thenReturn(2L);
+        when(vencida.getEstado()).thenReturn(EstadoReserva.ACTIVA);
+        when(vencida.getFechaInicio()).thenReturn(ahora.minusHours(2));
+        when(vencida.getFechaFin()).thenReturn(ahora.minusMinutes(1));
+        when(reservaRepository.findVencimientosByEstadoIn(any())).thenReturn(List.of(vencida));
+
+        planificador.iniciar();
+
+        verify(transicionLoteService, timeout(2000)).finalizarLote(List.of(2L));
+        verify(transicionLoteService, never()).activarLote(any());
+    }
+
+    @Test
+    @DisplayName("Al reprogramar una reserva los disparos anteriores deben ignorarse")
+    void disparar_DeberiaIgnorarDisparosObsoletos() {
+        LocalDateTime inicioOriginal = LocalDateTime.now().minusMinutes(5);
+        LocalDateTime fin = LocalDateTime.now().plusHours(2);
+        planificador.programar(reserva(3L, EstadoReserva.PENDIENTE, inicioOriginal, fin));
+        planificador.programar(reserva(3L, EstadoReserva.PENDIENTE, inicioOriginal.plusDays(1), fin.plusDays(1)));
+
+        planificador.disparar(List.of(
+                new ReservaTransicionPlanificador.Disparo(3L, ReservaTransicionPlanificador.Transicion.ACTIVAR, inicioOriginal)));
+
+        verifyNoInteractions(transicionLoteService);
+        assertEquals(1, planificador.getCantidadProgramadas());
+    }
+
+    @Test
+    @DisplayName("Una reserva cancelada no debe dispararse")
+    void programar_DeberiaDescartarReservasCanceladas() {
+        LocalDateTime inicio = LocalDateTime.now().minusMinutes(1);
+        planificador.programar(reserva(4L, EstadoReserva.PENDIENTE, inicio, inicio.plusHours(1)));
+        planificador.programar(reserva(4L, EstadoReserva.CANCELADA, inicio, inicio.plusHours(1)));
+
+        planificador.disparar(List.of(
+                new ReservaTransicionPlanificador.Disparo(4L, ReservaTransicionPlanificador.Transicion.ACTIVAR, inicio)));
+
+        verifyNoInteractions(transicionLoteService);
+        assertEquals(0, planificador.getCantidadProgramadas());
+    }
+}
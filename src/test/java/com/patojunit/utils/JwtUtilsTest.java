@@ -45,6 +45,24 @@ class JwtUtilsTest {
         assertNotNull(decoded.getClaim("authorities"));
     }
 
+    @Test
+    void validateToken_DeberiaReutilizarElMismoVerifier() {
+        // Arrange
+        var authentication = new UsernamePasswordAuthenticationToken("juan", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtUtils.createToken(authentication);
+
+        // Act
+        jwtUtils.validateToken(token);
+        Object primero = ReflectionTestUtils.getField(jwtUtils, "verifier");
+        jwtUtils.validateToken(token);
+        Object segundo = ReflectionTestUtils.getField(jwtUtils, "verifier");
+
+        // Assert
+        assertNotNull(primero);
+        assertSame(primero, segundo);
+    }
+
     @Test
     void validateToken_DeberiaLanzarExcepcionSiTokenInvalido() {
         // Arrange
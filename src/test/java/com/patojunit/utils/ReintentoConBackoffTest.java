@@ -0,0 +1,65 @@
+package com.patojunit.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReintentoConBackoffTest {
+
+    private final ReintentoConBackoff reintento = new ReintentoConBackoff(3, 1, 4);
+
+    @Test
+    @DisplayName("Debe reintentar ante conflictos de concurrencia hasta obtener resultado")
+    void ejecutar_DeberiaReintentarConflictos() {
+        AtomicInteger intentos = new AtomicInteger();
+
+        String resultado = reintento.ejecutar("prueba", () -> {
+            if (intentos.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("lock ocupado");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(3, intentos.get());
+    }
+
+    @Test
+    @DisplayName("Debe propagar el conflicto al agotar los intentos")
+    void ejecutar_DeberiaPropagarAlAgotarIntentos() {
+        AtomicInteger intentos = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> reintento.ejecutar("prueba", () -> {
+            intentos.incrementAndGet();
+            throw new OptimisticLockingFailureException("versión desactualizada");
+        }));
+        assertEquals(3, intentos.get());
+    }
+
+    @Test
+    @DisplayName("No debe reintentar errores que no son de concurrencia")
+    void ejecutar_NoDeberiaReintentarOtrosErrores() {
+        AtomicInteger intentos = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> reintento.ejecutar("prueba", () -> {
+            intentos.incrementAndGet();
+            throw new IllegalArgumentException("Error de stock: no puede quedar stock negativo.");
+        }));
+        assertEquals(1, intentos.get());
+    }
+
+    @Test
+    @DisplayName("La espera debe crecer exponencialmente sin superar el máximo")
+    void calcularEspera_DeberiaSerExponencialYAcotada() {
+        ReintentoConBackoff backoff = new ReintentoConBackoff(10, 10, 100);
+
+        assertTrue(backoff.calcularEspera(1) >= 5 && backoff.calcularEspera(1) <= 10);
+        assertTrue(backoff.calcularEspera(3) >= 20 && backoff.calcularEspera(3) <= 40);
+        assertTrue(backoff.calcularEspera(9) <= 100);
+    }
+}